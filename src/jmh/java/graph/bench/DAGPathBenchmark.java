@@ -0,0 +1,37 @@
+package graph.bench;
+
+import graph.dagsp.CriticalPathResult;
+import graph.dagsp.DAGShortestPath;
+import graph.dagsp.ParallelDAGShortestPath;
+import graph.dagsp.PathResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DAGPathBenchmark {
+
+    @Benchmark
+    public PathResult shortestPath(GraphState state) {
+        return new DAGShortestPath().findShortestPath(state.condensation, 0);
+    }
+
+    @Benchmark
+    public PathResult longestPath(GraphState state) {
+        return new DAGShortestPath().findLongestPath(state.condensation, 0);
+    }
+
+    @Benchmark
+    public PathResult parallelShortestPath(GraphState state) {
+        return new ParallelDAGShortestPath().findShortestPath(state.condensation, 0);
+    }
+
+    @Benchmark
+    public CriticalPathResult criticalPath(GraphState state) {
+        return new DAGShortestPath().findCriticalPath(state.condensation);
+    }
+}
@@ -0,0 +1,44 @@
+package graph.bench;
+
+import graph.Graph;
+import graph.GraphParser;
+import graph.util.DatasetGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GraphParserBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"CHAIN", "LAYERED_DAG", "DENSE_CYCLIC"})
+    public String shape;
+
+    private File file;
+
+    @Setup(Level.Trial)
+    public void writeInput() throws IOException {
+        file = File.createTempFile("bench-" + shape + "-" + size, ".json");
+        file.deleteOnExit();
+        DatasetGenerator.writeJson(GraphState.generate(shape, size), 0, file);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteInput() {
+        file.delete();
+    }
+
+    @Benchmark
+    public Graph parseFromJson() throws IOException {
+        return GraphParser.parseFromJson(file.getPath());
+    }
+}
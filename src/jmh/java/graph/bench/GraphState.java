@@ -0,0 +1,52 @@
+package graph.bench;
+
+import graph.Graph;
+import graph.Metrics;
+import graph.scc.TarjanSCC;
+import graph.util.DatasetGenerator;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Input graphs shared by the benchmarks. The DAG algorithms run on the condensation
+ * of the generated graph, exactly as Main does.
+ */
+@State(Scope.Benchmark)
+public class GraphState {
+    private static final long SEED = 42;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"CHAIN", "LAYERED_DAG", "DENSE_CYCLIC"})
+    public String shape;
+
+    @Param({"OFF"})
+    public String metrics;
+
+    public Graph graph;
+    public Graph condensation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Metrics.setDefaultMode(Metrics.Mode.valueOf(metrics));
+        graph = generate(shape, size);
+        condensation = new TarjanSCC().findSCCs(graph).getCondensationGraph();
+    }
+
+    static Graph generate(String shape, int size) {
+        switch (shape) {
+            case "CHAIN":
+                return DatasetGenerator.chain(size, SEED);
+            case "LAYERED_DAG":
+                return DatasetGenerator.layeredDag(size, (int) Math.max(2, Math.sqrt(size)), 4, SEED);
+            case "DENSE_CYCLIC":
+                return DatasetGenerator.denseCyclic(size, 8, SEED);
+            default:
+                throw new IllegalArgumentException("Unknown shape " + shape);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package graph.bench;
+
+import graph.scc.SCCAlgorithm;
+import graph.scc.SCCResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SCCBenchmark {
+
+    @Param({"tarjan", "kosaraju", "gabow", "parallel"})
+    public String algorithm;
+
+    private SCCAlgorithm engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = SCCAlgorithm.named(algorithm);
+    }
+
+    @Benchmark
+    public SCCResult findSCCs(GraphState state) {
+        return engine.findSCCs(state.graph);
+    }
+}
@@ -0,0 +1,20 @@
+package graph.bench;
+
+import graph.topo.TopoResult;
+import graph.topo.TopologicalSort;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TopologicalSortBenchmark {
+
+    @Benchmark
+    public TopoResult kahn(GraphState state) {
+        return new TopologicalSort().kahnAlgorithm(state.condensation);
+    }
+}
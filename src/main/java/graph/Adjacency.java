@@ -0,0 +1,25 @@
+package graph;
+
+/**
+ * Read-only CSR-style view of a graph's out-edges. Edge ids of node u are the
+ * contiguous range edgeStart(u) .. edgeEnd(u) - 1, so algorithms can walk them
+ * with primitive index loops whatever storage backs the view.
+ */
+public interface Adjacency {
+
+    int getNodeCount();
+
+    int getEdgeCount();
+
+    int edgeStart(int u);
+
+    int edgeEnd(int u);
+
+    int target(int e);
+
+    int weight(int e);
+
+    default int outDegree(int u) {
+        return edgeEnd(u) - edgeStart(u);
+    }
+}
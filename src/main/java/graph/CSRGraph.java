@@ -0,0 +1,108 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * Immutable compressed sparse row adjacency: the out-edges of node u are the
+ * entries offsets[u] .. offsets[u + 1] - 1 of targets/weights.
+ */
+public final class CSRGraph implements Adjacency {
+    private final int n;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+
+    // Takes ownership of the arrays, callers must not modify them afterwards
+    public CSRGraph(int n, int[] offsets, int[] targets, int[] weights) {
+        if (offsets.length != n + 1) {
+            throw new IllegalArgumentException("Offsets array must have n + 1 entries");
+        }
+        if (targets.length < offsets[n] || weights.length < offsets[n]) {
+            throw new IllegalArgumentException("Targets and weights must cover all edges");
+        }
+        this.n = n;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Builds a CSR graph from the first edgeCount entries of parallel edge arrays.
+     * The counting sort is stable, so every node keeps its edges in insertion order.
+     */
+    public static CSRGraph fromEdges(int n, int[] sources, int[] edgeTargets, int[] edgeWeights, int edgeCount) {
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < edgeCount; i++) {
+            offsets[sources[i] + 1]++;
+        }
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+
+        int[] cursor = Arrays.copyOf(offsets, n);
+        int[] targets = new int[edgeCount];
+        int[] weights = new int[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            int slot = cursor[sources[i]]++;
+            targets[slot] = edgeTargets[i];
+            weights[slot] = edgeWeights[i];
+        }
+        return new CSRGraph(n, offsets, targets, weights);
+    }
+
+    // Reverses every edge without going through Graph.Edge objects
+    public CSRGraph reverse() {
+        return reverseOf(this);
+    }
+
+    public static CSRGraph reverseOf(Adjacency adjacency) {
+        int n = adjacency.getNodeCount();
+        int m = adjacency.getEdgeCount();
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        for (int u = 0; u < n; u++) {
+            for (int e = adjacency.edgeStart(u), end = adjacency.edgeEnd(u); e < end; e++) {
+                sources[e] = adjacency.target(e);
+                targets[e] = u;
+                weights[e] = adjacency.weight(e);
+            }
+        }
+        return fromEdges(n, sources, targets, weights, m);
+    }
+
+    @Override
+    public int getNodeCount() {
+        return n;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return offsets[n];
+    }
+
+    @Override
+    public int edgeStart(int u) {
+        return offsets[u];
+    }
+
+    @Override
+    public int edgeEnd(int u) {
+        return offsets[u + 1];
+    }
+
+    @Override
+    public int outDegree(int u) {
+        return offsets[u + 1] - offsets[u];
+    }
+
+    @Override
+    public int target(int e) {
+        return targets[e];
+    }
+
+    @Override
+    public int weight(int e) {
+        return weights[e];
+    }
+}
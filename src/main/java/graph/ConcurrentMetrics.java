@@ -0,0 +1,45 @@
+package graph;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Thread-safe counters for the parallel engines; LongAdder keeps contended increments cheap
+public final class ConcurrentMetrics extends Metrics {
+    private final LongAdder operationCount = new LongAdder();
+    private final LongAdder dfsVisits = new LongAdder();
+    private final LongAdder edgeRelaxations = new LongAdder();
+    private final LongAdder kahnOperations = new LongAdder();
+
+    @Override
+    public void incrementOperation() { operationCount.increment(); }
+    @Override
+    public void incrementDfsVisits() { dfsVisits.increment(); }
+    @Override
+    public void incrementEdgeRelaxations() { edgeRelaxations.increment(); }
+    @Override
+    public void incrementKahnOperations() { kahnOperations.increment(); }
+
+    @Override
+    protected void add(long operations, long dfsVisits, long edgeRelaxations, long kahnOperations) {
+        this.operationCount.add(operations);
+        this.dfsVisits.add(dfsVisits);
+        this.edgeRelaxations.add(edgeRelaxations);
+        this.kahnOperations.add(kahnOperations);
+    }
+
+    @Override
+    public long getOperationCount() { return operationCount.sum(); }
+    @Override
+    public long getDfsVisits() { return dfsVisits.sum(); }
+    @Override
+    public long getEdgeRelaxations() { return edgeRelaxations.sum(); }
+    @Override
+    public long getKahnOperations() { return kahnOperations.sum(); }
+
+    @Override
+    protected void resetCounters() {
+        operationCount.reset();
+        dfsVisits.reset();
+        edgeRelaxations.reset();
+        kahnOperations.reset();
+    }
+}
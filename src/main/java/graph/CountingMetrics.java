@@ -0,0 +1,40 @@
+package graph;
+
+// Plain long counters for single-threaded algorithms
+public final class CountingMetrics extends Metrics {
+    private long operationCount;
+    private long dfsVisits;
+    private long edgeRelaxations;
+    private long kahnOperations;
+
+    @Override
+    public void incrementOperation() { operationCount++; }
+    @Override
+    public void incrementDfsVisits() { dfsVisits++; }
+    @Override
+    public void incrementEdgeRelaxations() { edgeRelaxations++; }
+    @Override
+    public void incrementKahnOperations() { kahnOperations++; }
+
+    @Override
+    protected void add(long operations, long dfsVisits, long edgeRelaxations, long kahnOperations) {
+        this.operationCount += operations;
+        this.dfsVisits += dfsVisits;
+        this.edgeRelaxations += edgeRelaxations;
+        this.kahnOperations += kahnOperations;
+    }
+
+    @Override
+    public long getOperationCount() { return operationCount; }
+    @Override
+    public long getDfsVisits() { return dfsVisits; }
+    @Override
+    public long getEdgeRelaxations() { return edgeRelaxations; }
+    @Override
+    public long getKahnOperations() { return kahnOperations; }
+
+    @Override
+    protected void resetCounters() {
+        operationCount = dfsVisits = edgeRelaxations = kahnOperations = 0;
+    }
+}
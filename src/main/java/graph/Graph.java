@@ -3,28 +3,46 @@ package graph;
 import java.util.*;
 
 public class Graph {
+    private static final int INITIAL_EDGE_CAPACITY = 16;
+
     private final int n;
-    private final List<List<Edge>> adjacencyList;
     private final boolean directed;
     private final String weightModel; // "edge" or "node" AS REQUIRED
     private int[] nodeDurations; // For node duration model
 
+    // Edges added since the last CSR build, kept in insertion order
+    private int[] pendingSources;
+    private int[] pendingTargets;
+    private int[] pendingWeights;
+    private int pendingCount;
+
+    // Immutable CSR snapshot (or a wrapped external view) used by the algorithms, rebuilt lazily after addEdge
+    private Adjacency csr;
+
     public Graph(int n, boolean directed, String weightModel) {
         this.n = n;
         this.directed = directed;
         this.weightModel = weightModel;
-        this.adjacencyList = new ArrayList<>();
         this.nodeDurations = new int[n]; // Initialize with zeros
-        for (int i = 0; i < n; i++) {
-            adjacencyList.add(new ArrayList<>());
+        this.pendingSources = new int[INITIAL_EDGE_CAPACITY];
+        this.pendingTargets = new int[INITIAL_EDGE_CAPACITY];
+        this.pendingWeights = new int[INITIAL_EDGE_CAPACITY];
+    }
+
+    // Wraps an already built adjacency (in-heap CSR or a mapped file) without copying it
+    public Graph(Adjacency csr, boolean directed, String weightModel, int[] nodeDurations) {
+        if (nodeDurations.length != csr.getNodeCount()) {
+            throw new IllegalArgumentException("Node durations array must match graph size");
         }
+        this.n = csr.getNodeCount();
+        this.directed = directed;
+        this.weightModel = weightModel;
+        this.nodeDurations = nodeDurations;
+        this.csr = csr;
     }
 
     public int getEdgesCount() {
-        int count = 0;
-        for (List<Edge> edges : adjacencyList) {
-            count += edges.size();
-        }
+        int count = csr != null ? csr.getEdgeCount() : pendingCount;
         return directed ? count : count / 2;
     }
 
@@ -35,12 +53,63 @@ public class Graph {
     }
 
     public void addEdge(int u, int v, int weight) {
-        adjacencyList.get(u).add(new Edge(u, v, weight));
+        Objects.checkIndex(u, n);
+        Objects.checkIndex(v, n);
+        if (csr != null) {
+            unpackCsr();
+        }
+        appendPending(u, v, weight);
         if (!directed) {
-            adjacencyList.get(v).add(new Edge(v, u, weight));
+            appendPending(v, u, weight);
         }
     }
 
+    /**
+     * Primitive adjacency of the current edge set. Algorithms should iterate this
+     * instead of {@link #getEdges(int)}, which allocates Edge objects.
+     */
+    public Adjacency adjacency() {
+        Adjacency current = csr;
+        if (current == null) {
+            current = CSRGraph.fromEdges(n, pendingSources, pendingTargets, pendingWeights, pendingCount);
+            csr = current;
+            pendingSources = pendingTargets = pendingWeights = null;
+            pendingCount = 0;
+        }
+        return current;
+    }
+
+    private void appendPending(int u, int v, int weight) {
+        if (pendingCount == pendingSources.length) {
+            int capacity = pendingSources.length * 2;
+            pendingSources = Arrays.copyOf(pendingSources, capacity);
+            pendingTargets = Arrays.copyOf(pendingTargets, capacity);
+            pendingWeights = Arrays.copyOf(pendingWeights, capacity);
+        }
+        pendingSources[pendingCount] = u;
+        pendingTargets[pendingCount] = v;
+        pendingWeights[pendingCount] = weight;
+        pendingCount++;
+    }
+
+    // Turns the current adjacency back into an edge buffer so more edges can be appended
+    private void unpackCsr() {
+        int m = csr.getEdgeCount();
+        int capacity = Math.max(INITIAL_EDGE_CAPACITY, m * 2);
+        pendingSources = new int[capacity];
+        pendingTargets = new int[capacity];
+        pendingWeights = new int[capacity];
+        for (int u = 0; u < n; u++) {
+            for (int e = csr.edgeStart(u), end = csr.edgeEnd(u); e < end; e++) {
+                pendingSources[e] = u;
+                pendingTargets[e] = csr.target(e);
+                pendingWeights[e] = csr.weight(e);
+            }
+        }
+        pendingCount = m;
+        csr = null;
+    }
+
     // ADD: Method to set node durations
     public void setNodeDurations(int[] durations) {
         if (durations.length != n) {
@@ -68,10 +137,21 @@ public class Graph {
     }
 
     public List<Edge> getEdges(int u) {
-        return Collections.unmodifiableList(adjacencyList.get(u));
+        Adjacency adj = adjacency();
+        int start = adj.edgeStart(u);
+        int end = adj.edgeEnd(u);
+        List<Edge> edges = new ArrayList<>(end - start);
+        for (int e = start; e < end; e++) {
+            edges.add(new Edge(u, adj.target(e), adj.weight(e)));
+        }
+        return Collections.unmodifiableList(edges);
     }
 
     public List<List<Edge>> getAdjacencyList() {
+        List<List<Edge>> adjacencyList = new ArrayList<>(n);
+        for (int u = 0; u < n; u++) {
+            adjacencyList.add(getEdges(u));
+        }
         return Collections.unmodifiableList(adjacencyList);
     }
 
@@ -88,13 +168,7 @@ public class Graph {
             return this;
         }
 
-        Graph transposed = new Graph(n, true, weightModel, nodeDurations);
-        for (int u = 0; u < n; u++) {
-            for (Edge edge : adjacencyList.get(u)) {
-                transposed.addEdge(edge.v, edge.u, edge.weight);
-            }
-        }
-        return transposed;
+        return new Graph(CSRGraph.reverseOf(adjacency()), true, weightModel, nodeDurations.clone());
     }
 
     public static class Edge {
@@ -113,4 +187,4 @@ public class Graph {
             return String.format("(%d -> %d, w=%d)", u, v, weight);
         }
     }
-}
\ No newline at end of file
+}
@@ -1,25 +1,86 @@
 package graph;
 
+import graph.batch.BatchRunner;
+import graph.batch.BatchSummary;
 import graph.dagsp.CriticalPathResult;
 import graph.dagsp.DAGShortestPath;
 import graph.dagsp.PathResult;
+import graph.external.ExternalPipeline;
+import graph.external.ExternalResult;
 import graph.io.CSVReportGenerator;
+import graph.io.LoadedGraph;
+import graph.scc.SCCAlgorithm;
 import graph.scc.SCCResult;
 import graph.scc.TarjanSCC;
+import graph.server.AnalysisServer;
+import graph.server.GraphCache;
 import graph.topo.TopoResult;
 import graph.topo.TopologicalSort;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 
 public class Main {
 
     public static void main(String[] args) {
         // ИСПОЛЬЗУЕМ tasks.json КАК ОСНОВНОЙ ВХОД
         String inputFile = "tasks.json";
-        if (args.length >= 1) {
-            inputFile = args[0];
+        String batchDirectory = null;
+        int servePort = -1;
+        long cacheMegabytes = 256;
+        String historyFile = null;
+        String externalDirectory = null;
+        long memoryMegabytes = 256;
+        SCCAlgorithm sccAlgorithm = new TarjanSCC();
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (String arg : args) {
+            if (arg.startsWith("--metrics=")) {
+                // off | count | concurrent
+                Metrics.setDefaultMode(parseMetricsMode(arg.substring("--metrics=".length())));
+            } else if (arg.startsWith("--batch=")) {
+                batchDirectory = arg.substring("--batch=".length());
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring("--threads=".length()));
+            } else if (arg.equals("--serve")) {
+                servePort = 8080;
+            } else if (arg.startsWith("--serve=")) {
+                servePort = Integer.parseInt(arg.substring("--serve=".length()));
+            } else if (arg.startsWith("--scc=")) {
+                // tarjan | kosaraju | gabow | parallel
+                sccAlgorithm = SCCAlgorithm.named(arg.substring("--scc=".length()));
+            } else if (arg.equals("--history")) {
+                historyFile = "reports/performance_history.csv";
+            } else if (arg.startsWith("--history=")) {
+                // appended on every run; a .gz name is compressed
+                historyFile = arg.substring("--history=".length());
+            } else if (arg.startsWith("--cache-mb=")) {
+                cacheMegabytes = Long.parseLong(arg.substring("--cache-mb=".length()));
+            } else if (arg.startsWith("--external=")) {
+                externalDirectory = arg.substring("--external=".length());
+            } else if (arg.startsWith("--memory-mb=")) {
+                memoryMegabytes = Long.parseLong(arg.substring("--memory-mb=".length()));
+            } else {
+                inputFile = arg;
+            }
+        }
+
+        if (batchDirectory != null) {
+            runBatch(batchDirectory, threads);
+            return;
+        }
+        if (servePort >= 0) {
+            serve(servePort, threads, cacheMegabytes);
+            return;
+        }
+        if (externalDirectory != null) {
+            runExternal(inputFile, externalDirectory, memoryMegabytes);
+            return;
         }
 
         try {
@@ -27,18 +88,18 @@ public class Main {
             System.out.println("Processing: " + inputFile);
 
             // Parse graph
-            Graph graph = GraphParser.parseFromJson(inputFile);
-            int source = getSourceFromJson(inputFile);
+            LoadedGraph input = GraphParser.load(inputFile);
+            Graph graph = input.getGraph();
+            int source = input.getSource();
 
             System.out.println("Graph loaded: " + graph.getNodeCount() + " nodes, " +
-                    getEdgesCount(graph) + " edges, directed: " + graph.isDirected());
+                    graph.getEdgesCount() + " edges, directed: " + graph.isDirected());
             System.out.println("Weight model: " + graph.getWeightModel());
             System.out.println("Source node: " + source);
 
             // 1. SCC Detection
             System.out.println("\n--- 1. Strongly Connected Components ---");
-            TarjanSCC tarjan = new TarjanSCC();
-            SCCResult sccResult = tarjan.findSCCs(graph);
+            SCCResult sccResult = sccAlgorithm.findSCCs(graph);
 
             // OUTPUT SCC SIZES AS REQUIRED
             List<List<Integer>> components = sccResult.getComponents();
@@ -72,40 +133,40 @@ public class Main {
             DAGShortestPath dagSP = new DAGShortestPath();
 
             // Use source from JSON or default to 0
-            int sourceComponent = findSourceComponent(source, components);
+            int sourceComponent = findSourceComponent(source, sccResult, graph.getNodeCount());
             System.out.println("Source node " + source + " belongs to component: " + sourceComponent);
 
             if (!topoResult.hasCycle()) {
                 System.out.println("Using condensation graph (DAG) for shortest paths...");
 
                 // SHORTEST PATHS НА CONDENSATION GRAPH
-                PathResult shortestResult = dagSP.findShortestPath(condensationGraph, sourceComponent);
+                PathResult shortestResult = dagSP.findShortestPath(condensationGraph, sourceComponent, topoResult);
                 System.out.println("Shortest distances from source component " + sourceComponent + ":");
-                int[] distances = shortestResult.getDistances();
-                for (int i = 0; i < distances.length; i++) {
-                    if (distances[i] == Integer.MAX_VALUE) {
+                int[] representatives = smallestNodes(components);
+                for (int i = 0, count = shortestResult.getNodeCount(); i < count; i++) {
+                    if (!shortestResult.isReachable(i)) {
                         System.out.println("  Component " + i + ": unreachable");
                     } else {
-                        System.out.println("  Component " + i + ": " + distances[i]);
+                        System.out.println("  Component " + i + ": " + shortestResult.distanceAt(i));
                         // RECONSTRUCT OPTIMAL PATH МЕЖДУ КОМПОНЕНТАМИ
-                        List<Integer> path = shortestResult.reconstructPath(i);
-                        if (!path.isEmpty() && path.get(0) == sourceComponent && i != sourceComponent) {
-                            System.out.println("    Component path: " + path);
+                        int[] path = shortestResult.reconstructPathArray(i);
+                        if (path.length > 0 && path[0] == sourceComponent && i != sourceComponent) {
+                            System.out.println("    Component path: " + Arrays.toString(path));
                             // ПОКАЗЫВАЕМ СООТВЕТСТВУЮЩИЕ ОРИГИНАЛЬНЫЕ НОДЫ
-                            System.out.println("    Original nodes path: " + getOriginalNodesPath(path, components));
+                            System.out.println("    Original nodes path: " + getOriginalNodesPath(path, representatives));
                         }
                     }
                 }
 
                 // CRITICAL PATH НА CONDENSATION GRAPH
-                CriticalPathResult criticalResult = dagSP.findCriticalPath(condensationGraph);
+                CriticalPathResult criticalResult = dagSP.findCriticalPath(condensationGraph, topoResult);
                 System.out.println("Critical Path Length: " + criticalResult.getLength());
                 System.out.println("Critical Path (components): " + criticalResult.getCriticalPath());
-                System.out.println("Critical Path (original nodes): " + getOriginalNodesPath(criticalResult.getCriticalPath(), components));
+                System.out.println("Critical Path (original nodes): " + getOriginalNodesPath(criticalResult.getCriticalPath(), representatives));
 
                 // 4. GENERATE CSV REPORTS
                 System.out.println("\n--- 4. Generating Analysis Reports ---");
-                generateCSVReports(inputFile, graph, sccResult, topoResult, criticalResult);
+                generateCSVReports(inputFile, graph, sccResult, topoResult, criticalResult, historyFile);
             } else {
                 System.out.println("Original graph contains cycles - using condensation graph for DAG algorithms");
                 System.out.println("Note: Shortest paths are computed between SCC components, not original nodes");
@@ -119,23 +180,63 @@ public class Main {
         }
     }
 
-    private static int getSourceFromJson(String filePath) {
+    // Every file below the directory in this JVM, rows collected in reports/batch_performance.csv
+    private static void runBatch(String directory, int threads) {
+        System.out.println("=== Smart Campus Scheduling - Batch Mode ===");
+        System.out.println("Processing directory: " + directory + " with " + threads + " threads");
         try {
-            java.util.Map<String, Object> graphData = new com.fasterxml.jackson.databind.ObjectMapper()
-                    .readValue(new java.io.File(filePath),
-                            new com.fasterxml.jackson.core.type.TypeReference<java.util.Map<String, Object>>() {});
-            return (Integer) graphData.get("source");
-        } catch (Exception e) {
-            return 0;
+            BatchSummary summary = new BatchRunner(threads).run(Paths.get(directory),
+                    Paths.get("reports", "batch_performance.csv"));
+            for (String failure : summary.getFailures()) {
+                System.err.println("Failed: " + failure);
+            }
+            System.out.println(summary);
+            System.out.println("Aggregated report: reports/batch_performance.csv");
+        } catch (IOException e) {
+            System.err.println("Error running batch: " + e.getMessage());
         }
     }
 
-    private static int getEdgesCount(Graph graph) {
-        int count = 0;
-        for (int i = 0; i < graph.getNodeCount(); i++) {
-            count += graph.getEdges(i).size();
+    // Keeps answering queries for files below the working directory until the JVM is stopped
+    private static void serve(int port, int threads, long cacheMegabytes) {
+        try {
+            AnalysisServer server = new AnalysisServer(port, threads,
+                    new GraphCache(cacheMegabytes * 1024 * 1024), Paths.get(""));
+            Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+            server.start();
+            System.out.println("Analysis server listening on http://127.0.0.1:" + server.getPort()
+                    + " (" + threads + " workers, " + cacheMegabytes + " MB cache)");
+        } catch (IOException e) {
+            System.err.println("Error starting server: " + e.getMessage());
+        }
+    }
+
+    // Writes the condensation and its topological order below directory instead of printing them
+    private static void runExternal(String inputFile, String directory, long memoryMegabytes) {
+        System.out.println("=== Smart Campus Scheduling - External Memory ===");
+        System.out.println("Processing: " + inputFile + " with a " + memoryMegabytes + " MB budget");
+        try {
+            ExternalResult result = new ExternalPipeline(Paths.get(directory), memoryMegabytes * 1024 * 1024)
+                    .run(inputFile);
+            System.out.println("Components: " + result.getComponentCount()
+                    + ", condensation edges: " + result.getCondensationEdgeCount());
+            System.out.println("Partitions: " + result.getPartitionCount()
+                    + ", partition loads: " + result.getPartitionLoads()
+                    + ", edge bytes read: " + result.getBytesRead());
+            System.out.println("Condensation: " + result.getCondensationFile());
+            System.out.println("Topological order: " + result.getTopologicalOrderFile());
+            System.out.println("Time: " + result.getMetrics().getElapsedTimeNanos() / 1_000_000 + " ms");
+        } catch (IOException e) {
+            System.err.println("Error running external pipeline: " + e.getMessage());
+        }
+    }
+
+    private static Metrics.Mode parseMetricsMode(String value) {
+        try {
+            return Metrics.Mode.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown metrics mode '" + value + "', expected off, count or concurrent");
         }
-        return graph.isDirected() ? count : count / 2;
     }
 
     private static List<Integer> deriveOriginalTaskOrder(List<Integer> componentOrder,
@@ -153,43 +254,50 @@ public class Main {
     /**
      * Find which component contains the source node
      */
-    private static int findSourceComponent(int sourceNode, List<List<Integer>> components) {
-        for (int i = 0; i < components.size(); i++) {
-            if (components.get(i).contains(sourceNode)) {
-                System.out.println("Debug: Source node " + sourceNode + " found in component " + i + ": " + components.get(i));
-                return i;
-            }
+    private static int findSourceComponent(int sourceNode, SCCResult sccResult, int nodeCount) {
+        if (sourceNode < 0 || sourceNode >= nodeCount) {
+            return 0; // fallback
+        }
+        int component = sccResult.getComponentOf(sourceNode);
+        System.out.println("Debug: Source node " + sourceNode + " found in component " + component + ": "
+                + sccResult.getComponents().get(component));
+        return component;
+    }
+
+    // Smallest original node of every component, computed once instead of per path
+    private static int[] smallestNodes(List<List<Integer>> components) {
+        int[] smallest = new int[components.size()];
+        for (int c = 0; c < smallest.length; c++) {
+            smallest[c] = components.get(c).isEmpty() ? -1 : Collections.min(components.get(c));
         }
-        return 0; // fallback
+        return smallest;
     }
 
     /**
      * Convert component path to original nodes path
      */
-    private static List<Integer> getOriginalNodesPath(List<Integer> componentPath, List<List<Integer>> components) {
-        List<Integer> originalPath = new ArrayList<>();
-        if (componentPath.isEmpty()) {
-            return originalPath;
-        }
-
+    private static List<Integer> getOriginalNodesPath(int[] componentPath, int[] representatives) {
+        List<Integer> originalPath = new ArrayList<>(componentPath.length);
         for (int compId : componentPath) {
-            if (!components.get(compId).isEmpty()) {
-                List<Integer> sortedNodes = new ArrayList<>(components.get(compId));
-                Collections.sort(sortedNodes);
-                originalPath.add(sortedNodes.get(0));
+            if (representatives[compId] != -1) {
+                originalPath.add(representatives[compId]);
             }
         }
         return originalPath;
     }
 
+    private static List<Integer> getOriginalNodesPath(List<Integer> componentPath, int[] representatives) {
+        return getOriginalNodesPath(componentPath.stream().mapToInt(Integer::intValue).toArray(), representatives);
+    }
+
     private static void generateCSVReports(String inputFile, Graph graph,
                                            SCCResult sccResult, TopoResult topoResult,
-                                           CriticalPathResult criticalResult) {
+                                           CriticalPathResult criticalResult, String historyFile) {
         try {
             // Create reports directory
             new java.io.File("reports").mkdirs();
 
-            String baseName = inputFile.replace(".json", "").replace("data/", "");
+            String baseName = inputFile.replace(".json", "").replace(".bin", "").replace("data/", "");
             if (baseName.equals("tasks")) {
                 baseName = "analysis";
             }
@@ -199,7 +307,7 @@ public class Main {
                     "reports/" + baseName + "_performance.csv",
                     inputFile,
                     graph.getNodeCount(),
-                    getEdgesCount(graph),
+                    graph.getEdgesCount(),
                     sccResult,
                     topoResult,
                     criticalResult
@@ -216,6 +324,21 @@ public class Main {
             System.out.println("  - " + baseName + "_performance.csv");
             System.out.println("  - " + baseName + "_scc.csv");
 
+            // 3. Optional time series across runs
+            if (historyFile != null) {
+                CSVReportGenerator.appendPerformanceHistory(
+                        historyFile,
+                        Instant.now(),
+                        inputFile,
+                        graph.getNodeCount(),
+                        graph.getEdgesCount(),
+                        sccResult,
+                        topoResult,
+                        criticalResult
+                );
+                System.out.println("Performance history appended to " + historyFile);
+            }
+
         } catch (Exception e) {
             System.err.println("Error generating CSV reports: " + e.getMessage());
         }
@@ -1,12 +1,48 @@
 package graph;
 
-public class Metrics {
+/**
+ * Instrumentation surface of the algorithms. Timing is always recorded; what the
+ * counters do depends on the implementation picked by {@link #create()}:
+ * OFF hands out {@link NoOpMetrics}, whose empty methods the JIT inlines away,
+ * COUNT uses plain long counters and CONCURRENT uses LongAdders.
+ */
+public abstract class Metrics {
+
+    public enum Mode {
+        OFF,
+        COUNT,
+        CONCURRENT
+    }
+
+    private static volatile Mode defaultMode = Mode.COUNT;
+
     private long startTime;
     private long endTime;
-    private int operationCount;
-    private int dfsVisits;
-    private int edgeRelaxations;
-    private int kahnOperations;
+
+    public static void setDefaultMode(Mode mode) {
+        defaultMode = mode;
+    }
+
+    public static Mode getDefaultMode() {
+        return defaultMode;
+    }
+
+    // Metrics for single-threaded use in the configured mode
+    public static Metrics create() {
+        switch (defaultMode) {
+            case OFF:
+                return new NoOpMetrics();
+            case CONCURRENT:
+                return new ConcurrentMetrics();
+            default:
+                return new CountingMetrics();
+        }
+    }
+
+    // Metrics that several threads may update at once (unless counting is off)
+    public static Metrics createConcurrent() {
+        return defaultMode == Mode.OFF ? new NoOpMetrics() : new ConcurrentMetrics();
+    }
 
     public void startTimer() {
         this.startTime = System.nanoTime();
@@ -20,26 +56,27 @@ public class Metrics {
         return endTime - startTime;
     }
 
-    public void incrementOperation() { operationCount++; }
-    public void incrementDfsVisits() { dfsVisits++; }
-    public void incrementEdgeRelaxations() { edgeRelaxations++; }
-    public void incrementKahnOperations() { kahnOperations++; }
+    public abstract void incrementOperation();
+    public abstract void incrementDfsVisits();
+    public abstract void incrementEdgeRelaxations();
+    public abstract void incrementKahnOperations();
+
+    protected abstract void add(long operations, long dfsVisits, long edgeRelaxations, long kahnOperations);
 
     public void addAll(Metrics other) {
-        this.operationCount += other.operationCount;
-        this.dfsVisits += other.dfsVisits;
-        this.edgeRelaxations += other.edgeRelaxations;
-        this.kahnOperations += other.kahnOperations;
+        add(other.getOperationCount(), other.getDfsVisits(), other.getEdgeRelaxations(), other.getKahnOperations());
     }
 
     // Getters
-    public int getOperationCount() { return operationCount; }
-    public int getDfsVisits() { return dfsVisits; }
-    public int getEdgeRelaxations() { return edgeRelaxations; }
-    public int getKahnOperations() { return kahnOperations; }
+    public abstract long getOperationCount();
+    public abstract long getDfsVisits();
+    public abstract long getEdgeRelaxations();
+    public abstract long getKahnOperations();
+
+    protected abstract void resetCounters();
 
     public void reset() {
-        operationCount = dfsVisits = edgeRelaxations = kahnOperations = 0;
+        resetCounters();
         startTime = endTime = 0;
     }
 
@@ -47,7 +84,8 @@ public class Metrics {
     public String toString() {
         return String.format(
                 "Metrics{time=%.3fms, operations=%d, dfsVisits=%d, relaxations=%d, kahnOps=%d}",
-                getElapsedTimeNanos() / 1_000_000.0, operationCount, dfsVisits, edgeRelaxations, kahnOperations
+                getElapsedTimeNanos() / 1_000_000.0, getOperationCount(), getDfsVisits(),
+                getEdgeRelaxations(), getKahnOperations()
         );
     }
-}
\ No newline at end of file
+}
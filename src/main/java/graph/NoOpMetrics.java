@@ -0,0 +1,51 @@
+package graph;
+
+/**
+ * Counters that do nothing. When every Metrics in the process is a NoOpMetrics the
+ * increment call sites stay monomorphic and the JIT removes them entirely.
+ */
+public final class NoOpMetrics extends Metrics {
+    @Override
+    public void incrementOperation() {
+    }
+
+    @Override
+    public void incrementDfsVisits() {
+    }
+
+    @Override
+    public void incrementEdgeRelaxations() {
+    }
+
+    @Override
+    public void incrementKahnOperations() {
+    }
+
+    @Override
+    protected void add(long operations, long dfsVisits, long edgeRelaxations, long kahnOperations) {
+    }
+
+    @Override
+    public long getOperationCount() {
+        return 0;
+    }
+
+    @Override
+    public long getDfsVisits() {
+        return 0;
+    }
+
+    @Override
+    public long getEdgeRelaxations() {
+        return 0;
+    }
+
+    @Override
+    public long getKahnOperations() {
+        return 0;
+    }
+
+    @Override
+    protected void resetCounters() {
+    }
+}
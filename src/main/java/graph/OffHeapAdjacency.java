@@ -0,0 +1,149 @@
+package graph;
+
+import graph.util.OffHeapIntArray;
+
+/**
+ * CSR adjacency stored off the Java heap in chunked direct buffers, for graphs whose
+ * edges do not fit the heap or would make full GCs too long. Wrap it in
+ * {@link Graph#Graph(Adjacency, boolean, String, int[])} and every algorithm runs on it
+ * unchanged. The memory is freed by close(); the graph must not be used afterwards.
+ */
+public final class OffHeapAdjacency implements Adjacency, AutoCloseable {
+    private final int n;
+    private final OffHeapIntArray offsets;
+    private final OffHeapIntArray targets;
+    private final OffHeapIntArray weights;
+
+    private OffHeapAdjacency(int n, OffHeapIntArray offsets, OffHeapIntArray targets, OffHeapIntArray weights) {
+        this.n = n;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    public static OffHeapAdjacency copyOf(Adjacency source) {
+        return copyOf(source, OffHeapIntArray.DEFAULT_CHUNK_SHIFT);
+    }
+
+    public static OffHeapAdjacency copyOf(Adjacency source, int chunkShift) {
+        int n = source.getNodeCount();
+        int m = source.getEdgeCount();
+        Builder builder = new Builder(n, m, chunkShift);
+        for (int u = 0; u < n; u++) {
+            for (int e = source.edgeStart(u), end = source.edgeEnd(u); e < end; e++) {
+                builder.addEdge(u, source.target(e), source.weight(e));
+            }
+        }
+        return builder.build();
+    }
+
+    public static Builder builder(int n) {
+        return new Builder(n, 0, OffHeapIntArray.DEFAULT_CHUNK_SHIFT);
+    }
+
+    // chunkShift sets the chunk size to 2^chunkShift ints, see OffHeapIntArray
+    public static Builder builder(int n, int chunkShift) {
+        return new Builder(n, 0, chunkShift);
+    }
+
+    @Override
+    public int getNodeCount() {
+        return n;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return offsets.get(n);
+    }
+
+    @Override
+    public int edgeStart(int u) {
+        return offsets.get(u);
+    }
+
+    @Override
+    public int edgeEnd(int u) {
+        return offsets.get(u + 1);
+    }
+
+    @Override
+    public int target(int e) {
+        return targets.get(e);
+    }
+
+    @Override
+    public int weight(int e) {
+        return weights.get(e);
+    }
+
+    public long getAllocatedBytes() {
+        return offsets.getAllocatedBytes() + targets.getAllocatedBytes() + weights.getAllocatedBytes();
+    }
+
+    @Override
+    public void close() {
+        offsets.close();
+        targets.close();
+        weights.close();
+    }
+
+    /**
+     * Streams edges straight into off-heap memory, so the graph never exists on the heap.
+     * Edges must arrive grouped by source in ascending source order, as a CSR file or a
+     * generator sorted by source produces them.
+     */
+    public static final class Builder {
+        private final int n;
+        private final OffHeapIntArray offsets;
+        private final OffHeapIntArray targets;
+        private final OffHeapIntArray weights;
+        private int lastSource;
+        private long edgeCount;
+        private boolean built;
+
+        private Builder(int n, int expectedEdges, int chunkShift) {
+            if (n < 0) {
+                throw new IllegalArgumentException("Node count must not be negative");
+            }
+            this.n = n;
+            this.offsets = new OffHeapIntArray(n + 1L, chunkShift);
+            this.targets = new OffHeapIntArray(expectedEdges, chunkShift);
+            this.weights = new OffHeapIntArray(expectedEdges, chunkShift);
+        }
+
+        public Builder addEdge(int u, int v, int weight) {
+            if (built) {
+                throw new IllegalStateException("Adjacency already built");
+            }
+            if (u < lastSource || u >= n || v < 0 || v >= n) {
+                throw new IllegalArgumentException("Edge " + u + " -> " + v
+                        + " is out of range or not in ascending source order");
+            }
+            if (edgeCount == Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Adjacency holds at most " + Integer.MAX_VALUE + " edges");
+            }
+            // Close the offsets of every source passed since the previous edge
+            for (int w = lastSource + 1; w <= u; w++) {
+                offsets.set(w, (int) edgeCount);
+            }
+            lastSource = u;
+            targets.ensureLength(edgeCount + 1);
+            weights.ensureLength(edgeCount + 1);
+            targets.set(edgeCount, v);
+            weights.set(edgeCount, weight);
+            edgeCount++;
+            return this;
+        }
+
+        public OffHeapAdjacency build() {
+            if (built) {
+                throw new IllegalStateException("Adjacency already built");
+            }
+            built = true;
+            for (int w = lastSource + 1; w <= n; w++) {
+                offsets.set(w, (int) edgeCount);
+            }
+            return new OffHeapAdjacency(n, offsets, targets, weights);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package graph.batch;
+
+import graph.Graph;
+import graph.GraphParser;
+import graph.dagsp.CriticalPathResult;
+import graph.dagsp.DAGShortestPath;
+import graph.dagsp.PathResult;
+import graph.io.CSVReportGenerator;
+import graph.io.LoadedGraph;
+import graph.io.StreamingCSVWriter;
+import graph.scc.SCCResult;
+import graph.scc.TarjanSCC;
+import graph.topo.TopoResult;
+import graph.topo.TopologicalSort;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs the Main pipeline (parse, SCC, topological sort, shortest and critical path)
+ * over every .json and .bin file below a directory inside one JVM. Files are processed
+ * on a fixed pool, and each finished file appends its rows to a single performance CSV
+ * straight away, so the report grows while the batch runs. A failing file is recorded
+ * in the summary and does not stop the others.
+ */
+public class BatchRunner {
+    private final int threads;
+
+    public BatchRunner(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1");
+        }
+        this.threads = threads;
+    }
+
+    public BatchSummary run(Path directory, Path report) throws IOException {
+        List<Path> files = findInputs(directory);
+        long start = System.nanoTime();
+        AtomicInteger processed = new AtomicInteger();
+        AtomicLong totalNodes = new AtomicLong();
+        AtomicLong totalEdges = new AtomicLong();
+        List<String> failures = new ArrayList<>();
+
+        Path parent = report.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try (StreamingCSVWriter writer = new StreamingCSVWriter(report, CSVReportGenerator.PERFORMANCE_HEADER, false)) {
+            writer.flush();
+
+            List<Future<?>> tasks = new ArrayList<>(files.size());
+            for (Path file : files) {
+                tasks.add(pool.submit(() -> {
+                    try {
+                        Graph graph = analyze(file.toString(), writer);
+                        processed.incrementAndGet();
+                        totalNodes.addAndGet(graph.getNodeCount());
+                        totalEdges.addAndGet(graph.getEdgesCount());
+                    } catch (Exception e) {
+                        synchronized (failures) {
+                            failures.add(file + ": " + e.getMessage());
+                        }
+                    }
+                }));
+            }
+            // Errors such as OutOfMemoryError escape the task; they still only fail their own file
+            for (int i = 0; i < tasks.size(); i++) {
+                try {
+                    tasks.get(i).get();
+                } catch (ExecutionException e) {
+                    synchronized (failures) {
+                        failures.add(files.get(i) + ": " + e.getCause());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Batch interrupted", e);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        failures.sort(null);
+        return new BatchSummary(files.size(), processed.get(), failures, totalNodes.get(), totalEdges.get(),
+                System.nanoTime() - start);
+    }
+
+    // One file through the pipeline; its rows are written to the shared report in one piece
+    private Graph analyze(String file, StreamingCSVWriter report) throws IOException {
+        LoadedGraph input = GraphParser.load(file);
+        Graph graph = input.getGraph();
+        int nodes = graph.getNodeCount();
+        int edges = graph.getEdgesCount();
+
+        SCCResult sccResult = new TarjanSCC().findSCCs(graph);
+        Graph condensation = sccResult.getCondensationGraph();
+        TopoResult topoResult = new TopologicalSort().kahnAlgorithm(condensation);
+
+        int source = input.getSource();
+        int sourceComponent = source >= 0 && source < nodes ? sccResult.getComponentOf(source) : 0;
+        DAGShortestPath dagSP = new DAGShortestPath();
+        PathResult shortest = dagSP.findShortestPath(condensation, sourceComponent, topoResult);
+        CriticalPathResult critical = dagSP.findCriticalPath(condensation, topoResult);
+
+        synchronized (report) {
+            CSVReportGenerator.writePerformanceRow(report, file, nodes, edges, "SCC", sccResult.getMetrics());
+            CSVReportGenerator.writePerformanceRow(report, file, nodes, edges, "TopologicalSort",
+                    topoResult.getMetrics());
+            CSVReportGenerator.writePerformanceRow(report, file, nodes, edges, "ShortestPath", shortest.getMetrics());
+            CSVReportGenerator.writePerformanceRow(report, file, nodes, edges, "CriticalPath", critical.getMetrics());
+            report.flush();
+        }
+        return graph;
+    }
+
+    private static List<Path> findInputs(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            throw new IOException("Not a directory: " + directory);
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.endsWith(".json") || name.endsWith(".bin");
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package graph.batch;
+
+import java.util.List;
+
+public class BatchSummary {
+    private final int fileCount;
+    private final int processedCount;
+    private final List<String> failures;
+    private final long totalNodes;
+    private final long totalEdges;
+    private final long elapsedNanos;
+
+    public BatchSummary(int fileCount, int processedCount, List<String> failures,
+                        long totalNodes, long totalEdges, long elapsedNanos) {
+        this.fileCount = fileCount;
+        this.processedCount = processedCount;
+        this.failures = failures;
+        this.totalNodes = totalNodes;
+        this.totalEdges = totalEdges;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    public int getProcessedCount() {
+        return processedCount;
+    }
+
+    // One "path: message" entry per failed file, sorted by path
+    public List<String> getFailures() {
+        return failures;
+    }
+
+    public long getTotalNodes() {
+        return totalNodes;
+    }
+
+    public long getTotalEdges() {
+        return totalEdges;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getFilesPerSecond() {
+        return elapsedNanos == 0 ? 0 : processedCount * 1e9 / elapsedNanos;
+    }
+
+    public double getEdgesPerSecond() {
+        return elapsedNanos == 0 ? 0 : totalEdges * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Processed %d of %d files (%d failed) in %.3f s%n" +
+                        "Throughput: %.1f files/s, %.0f edges/s (%d nodes, %d edges total)",
+                processedCount, fileCount, failures.size(), elapsedNanos / 1e9,
+                getFilesPerSecond(), getEdgesPerSecond(), totalNodes, totalEdges);
+    }
+}
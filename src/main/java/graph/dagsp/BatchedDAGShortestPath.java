@@ -0,0 +1,214 @@
+package graph.dagsp;
+
+import graph.Adjacency;
+import graph.Graph;
+import graph.Metrics;
+import graph.topo.TopoResult;
+import graph.topo.TopologicalSort;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Distances from many sources over one shared topological order. Sources are relaxed
+ * together in tiles: inside a tile the distances of node v for all tile sources sit in
+ * adjacent ints, so one edge relaxation is a short branch-free loop the JIT can
+ * vectorize. Tiles are independent and are spread over a ForkJoinPool.
+ */
+public class BatchedDAGShortestPath {
+    public static final int DEFAULT_TILE_SIZE = 16;
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final int tileSize;
+    private final int parallelism;
+
+    public BatchedDAGShortestPath() {
+        this(DEFAULT_TILE_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchedDAGShortestPath(int tileSize, int parallelism) {
+        if (tileSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Tile size and parallelism must be at least 1");
+        }
+        this.tileSize = tileSize;
+        this.parallelism = parallelism;
+    }
+
+    public DistanceMatrix findShortestPaths(Graph graph, int[] sources) {
+        return solve(graph, sources, null, true);
+    }
+
+    public DistanceMatrix findShortestPaths(Graph graph, int[] sources, TopoResult topoResult) {
+        return solve(graph, sources, topoResult, true);
+    }
+
+    public DistanceMatrix findLongestPaths(Graph graph, int[] sources) {
+        return solve(graph, sources, null, false);
+    }
+
+    public DistanceMatrix findLongestPaths(Graph graph, int[] sources, TopoResult topoResult) {
+        return solve(graph, sources, topoResult, false);
+    }
+
+    private DistanceMatrix solve(Graph graph, int[] sources, TopoResult topoResult, boolean shortest) {
+        Metrics metrics = Metrics.createConcurrent();
+        metrics.startTimer();
+
+        int n = graph.getNodeCount();
+        for (int source : sources) {
+            if (source < 0 || source >= n) {
+                throw new IllegalArgumentException("Invalid source node " + source);
+            }
+        }
+
+        // One topological sort for the whole batch, unless the caller already has one
+        if (topoResult == null) {
+            topoResult = new TopologicalSort().kahnAlgorithm(graph);
+            metrics.addAll(topoResult.getMetrics());
+        }
+        if (topoResult.hasCycle()) {
+            throw new IllegalArgumentException("Graph contains cycles - cannot compute paths in cyclic graph");
+        }
+        if (topoResult.getOrderSize() != n) {
+            throw new IllegalArgumentException("Topological order does not cover the graph's " + n + " nodes");
+        }
+        int[] order = topoResult.getOrder();
+
+        int[][] rows = new int[sources.length][];
+        int width = tileWidth(n, tileSize);
+        int tileCount = (int) (((long) sources.length + width - 1) / width);
+        int[] durations = DAGShortestPath.nodeDurations(graph);
+        TileTask root = new TileTask(graph.adjacency(), durations, order, sources, rows, shortest, metrics,
+                width, 0, tileCount);
+
+        if (parallelism == 1 || tileCount == 1) {
+            root.compute();
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.invoke(root);
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        metrics.stopTimer();
+        return new DistanceMatrix(sources.clone(), rows, shortest, metrics);
+    }
+
+    /**
+     * Sources per tile: the requested size, shrunk so that the n * width tile still fits
+     * in one array. With n * width at most MAX_ARRAY_LENGTH, v * width + s stays in int range.
+     */
+    static int tileWidth(int n, int tileSize) {
+        if (n > MAX_ARRAY_LENGTH) {
+            throw new IllegalArgumentException("Too many nodes for a distance tile: " + n);
+        }
+        return (int) Math.min(tileSize, MAX_ARRAY_LENGTH / Math.max(1, n));
+    }
+
+    private final class TileTask extends RecursiveAction {
+        private final Adjacency adjacency;
+        private final int[] durations;
+        private final int[] order;
+        private final int[] sources;
+        private final int[][] rows;
+        private final boolean shortest;
+        private final Metrics metrics;
+        private final int tileWidth;
+        private final int fromTile;
+        private final int toTile;
+
+        TileTask(Adjacency adjacency, int[] durations, int[] order, int[] sources, int[][] rows,
+                 boolean shortest, Metrics metrics, int tileWidth, int fromTile, int toTile) {
+            this.adjacency = adjacency;
+            this.durations = durations;
+            this.order = order;
+            this.sources = sources;
+            this.rows = rows;
+            this.shortest = shortest;
+            this.metrics = metrics;
+            this.tileWidth = tileWidth;
+            this.fromTile = fromTile;
+            this.toTile = toTile;
+        }
+
+        @Override
+        protected void compute() {
+            if (toTile - fromTile > 1) {
+                int mid = (fromTile + toTile) >>> 1;
+                invokeAll(new TileTask(adjacency, durations, order, sources, rows, shortest, metrics,
+                                tileWidth, fromTile, mid),
+                        new TileTask(adjacency, durations, order, sources, rows, shortest, metrics,
+                                tileWidth, mid, toTile));
+                return;
+            }
+            if (fromTile < toTile) {
+                Metrics local = Metrics.create();
+                int firstSource = fromTile * tileWidth;
+                relaxTile(firstSource, firstSource + Math.min(tileWidth, sources.length - firstSource), local);
+                metrics.addAll(local);
+            }
+        }
+
+        private void relaxTile(int firstSource, int endSource, Metrics local) {
+            int n = adjacency.getNodeCount();
+            int width = endSource - firstSource;
+            int unreachable = shortest ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+
+            // tile[v * width + s] = distance from sources[firstSource + s] to v
+            int[] tile = new int[n * width];
+            Arrays.fill(tile, unreachable);
+            for (int s = 0; s < width; s++) {
+                int source = sources[firstSource + s];
+                tile[source * width + s] = durations != null ? durations[source] : 0;
+            }
+
+            for (int u : order) {
+                local.incrementOperation();
+                int ub = u * width;
+                if (!anyReachable(tile, ub, width, unreachable)) {
+                    continue;
+                }
+                for (int e = adjacency.edgeStart(u), end = adjacency.edgeEnd(u); e < end; e++) {
+                    int v = adjacency.target(e);
+                    int vb = v * width;
+                    int weight = durations != null ? durations[v] : adjacency.weight(e);
+                    local.incrementEdgeRelaxations();
+                    if (shortest) {
+                        for (int s = 0; s < width; s++) {
+                            int du = tile[ub + s];
+                            int candidate = du == unreachable ? unreachable : du + weight;
+                            tile[vb + s] = Math.min(tile[vb + s], candidate);
+                        }
+                    } else {
+                        for (int s = 0; s < width; s++) {
+                            int du = tile[ub + s];
+                            int candidate = du == unreachable ? unreachable : du + weight;
+                            tile[vb + s] = Math.max(tile[vb + s], candidate);
+                        }
+                    }
+                }
+            }
+
+            // Back to one row per source
+            for (int s = 0; s < width; s++) {
+                int[] row = new int[n];
+                for (int v = 0; v < n; v++) {
+                    row[v] = tile[v * width + s];
+                }
+                rows[firstSource + s] = row;
+            }
+        }
+
+        private boolean anyReachable(int[] tile, int base, int width, int unreachable) {
+            for (int s = 0; s < width; s++) {
+                if (tile[base + s] != unreachable) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package graph.dagsp;
+
+import graph.Metrics;
+
+/**
+ * Earliest and latest start of every task. Slack is latest minus earliest start;
+ * critical tasks have zero slack and critical edges have zero float.
+ */
+public class CPMResult {
+    private final int[] earliestStart;
+    private final int[] latestStart;
+    private final int projectLength;
+    private final int[] criticalTasks;
+    private final int[] criticalEdgeSources;
+    private final int[] criticalEdgeTargets;
+    private final Metrics metrics;
+
+    public CPMResult(int[] earliestStart, int[] latestStart, int projectLength, int[] criticalTasks,
+                     int[] criticalEdgeSources, int[] criticalEdgeTargets, Metrics metrics) {
+        this.earliestStart = earliestStart;
+        this.latestStart = latestStart;
+        this.projectLength = projectLength;
+        this.criticalTasks = criticalTasks;
+        this.criticalEdgeSources = criticalEdgeSources;
+        this.criticalEdgeTargets = criticalEdgeTargets;
+        this.metrics = metrics;
+    }
+
+    public int getProjectLength() {
+        return projectLength;
+    }
+
+    public int getEarliestStart(int node) {
+        return earliestStart[node];
+    }
+
+    public int getLatestStart(int node) {
+        return latestStart[node];
+    }
+
+    public int getSlack(int node) {
+        return latestStart[node] - earliestStart[node];
+    }
+
+    public boolean isCritical(int node) {
+        return earliestStart[node] == latestStart[node];
+    }
+
+    public int[] getEarliestStarts() {
+        return earliestStart.clone();
+    }
+
+    public int[] getLatestStarts() {
+        return latestStart.clone();
+    }
+
+    // Zero-slack tasks in topological order
+    public int[] getCriticalTasks() {
+        return criticalTasks.clone();
+    }
+
+    public int getCriticalEdgeCount() {
+        return criticalEdgeSources.length;
+    }
+
+    public int getCriticalEdgeSource(int index) {
+        return criticalEdgeSources[index];
+    }
+
+    public int getCriticalEdgeTarget(int index) {
+        return criticalEdgeTargets[index];
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+}
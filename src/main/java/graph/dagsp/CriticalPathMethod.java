@@ -0,0 +1,115 @@
+package graph.dagsp;
+
+import graph.Adjacency;
+import graph.Graph;
+import graph.Metrics;
+import graph.topo.TopoResult;
+import graph.topo.TopologicalSort;
+import graph.util.IntList;
+
+/**
+ * Critical path method over one topological order. The forward sweep computes
+ * earliest starts; the backward sweep walks the order in reverse and pulls latest
+ * starts over each node's out-edges, so no transposed graph is needed. Every node
+ * starts at time 0 at the earliest, matching {@link DAGShortestPath#findCriticalPath}.
+ * In the "node" weight model a task occupies its duration and an edge u -> v means v
+ * starts after u finishes; in the edge model the edge weight is the lag between starts.
+ */
+public class CriticalPathMethod {
+    private static final String CYCLE_MESSAGE = "Graph contains cycles - cannot compute critical path";
+
+    public CPMResult analyze(Graph graph) {
+        Metrics metrics = Metrics.create();
+        metrics.startTimer();
+        TopoResult topoResult = new TopologicalSort().kahnAlgorithm(graph);
+        if (topoResult.hasCycle()) {
+            throw new IllegalArgumentException(CYCLE_MESSAGE);
+        }
+        metrics.addAll(topoResult.getMetrics());
+        return sweep(graph, topoResult, metrics);
+    }
+
+    public CPMResult analyze(Graph graph, TopoResult topoResult) {
+        if (topoResult.hasCycle()) {
+            throw new IllegalArgumentException(CYCLE_MESSAGE);
+        }
+        if (topoResult.getOrderSize() != graph.getNodeCount()) {
+            throw new IllegalArgumentException("Topological order does not cover the graph's "
+                    + graph.getNodeCount() + " nodes");
+        }
+        Metrics metrics = Metrics.create();
+        metrics.startTimer();
+        return sweep(graph, topoResult, metrics);
+    }
+
+    private CPMResult sweep(Graph graph, TopoResult topoResult, Metrics metrics) {
+        int n = graph.getNodeCount();
+        Adjacency adjacency = graph.adjacency();
+        int[] durations = DAGShortestPath.nodeDurations(graph);
+        int[] earliest = new int[n];
+        int[] latest = new int[n];
+
+        // Forward: earliest start is the longest path ending at the node
+        for (int i = 0; i < n; i++) {
+            int u = topoResult.getNodeAt(i);
+            metrics.incrementOperation();
+            for (int e = adjacency.edgeStart(u), end = adjacency.edgeEnd(u); e < end; e++) {
+                int v = adjacency.target(e);
+                metrics.incrementEdgeRelaxations();
+                int start = earliest[u] + lag(durations, adjacency, u, e);
+                if (start > earliest[v]) {
+                    earliest[v] = start;
+                }
+            }
+        }
+
+        int projectLength = 0;
+        for (int v = 0; v < n; v++) {
+            projectLength = Math.max(projectLength, earliest[v] + duration(durations, v));
+        }
+
+        // Backward: successors are finished before their predecessors in reverse order
+        for (int i = n - 1; i >= 0; i--) {
+            int u = topoResult.getNodeAt(i);
+            metrics.incrementOperation();
+            int start = projectLength - duration(durations, u);
+            for (int e = adjacency.edgeStart(u), end = adjacency.edgeEnd(u); e < end; e++) {
+                metrics.incrementEdgeRelaxations();
+                start = Math.min(start, latest[adjacency.target(e)] - lag(durations, adjacency, u, e));
+            }
+            latest[u] = start;
+        }
+
+        // Zero-slack tasks in topological order, and the zero-float edges between them
+        IntList criticalTasks = new IntList();
+        IntList edgeSources = new IntList();
+        IntList edgeTargets = new IntList();
+        for (int i = 0; i < n; i++) {
+            int u = topoResult.getNodeAt(i);
+            if (earliest[u] != latest[u]) {
+                continue;
+            }
+            criticalTasks.add(u);
+            for (int e = adjacency.edgeStart(u), end = adjacency.edgeEnd(u); e < end; e++) {
+                int v = adjacency.target(e);
+                if (earliest[u] + lag(durations, adjacency, u, e) == latest[v] && earliest[v] == latest[v]) {
+                    edgeSources.add(u);
+                    edgeTargets.add(v);
+                }
+            }
+        }
+
+        metrics.stopTimer();
+        return new CPMResult(earliest, latest, projectLength, criticalTasks.toArray(),
+                edgeSources.toArray(), edgeTargets.toArray(), metrics);
+    }
+
+    // Minimum distance between the starts of u and the target of edge e
+    private static int lag(int[] durations, Adjacency adjacency, int u, int e) {
+        return durations != null ? durations[u] : adjacency.weight(e);
+    }
+
+    private static int duration(int[] durations, int node) {
+        return durations != null ? durations[node] : 0;
+    }
+}
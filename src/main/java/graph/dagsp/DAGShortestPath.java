@@ -1,45 +1,60 @@
 package graph.dagsp;
 
+import graph.Adjacency;
 import graph.Graph;
 import graph.Metrics;
-import graph.topo.TopologicalSort;
 import graph.topo.TopoResult;
+import graph.topo.TopologicalSort;
 
 import java.util.*;
 
 public class DAGShortestPath {
 
+    private static final String SHORTEST_CYCLE_MESSAGE =
+            "Graph contains cycles - cannot compute shortest paths in cyclic graph";
+    private static final String LONGEST_CYCLE_MESSAGE =
+            "Graph contains cycles - cannot compute longest paths in cyclic graph";
+    private static final String CRITICAL_CYCLE_MESSAGE =
+            "Graph contains cycles - cannot compute critical path";
+
     public PathResult findShortestPath(Graph graph, int source) {
-        Metrics metrics = new Metrics();
+        Metrics metrics = Metrics.create();
         metrics.startTimer();
 
         // First get topological order
-        TopologicalSort topo = new TopologicalSort();
-        TopoResult topoResult = topo.kahnAlgorithm(graph);
-
-        if (topoResult.hasCycle()) {
-            throw new IllegalArgumentException("Graph contains cycles - cannot compute shortest paths in cyclic graph");
-        }
+        TopoResult topoResult = sort(graph, metrics, SHORTEST_CYCLE_MESSAGE);
+        return relaxShortest(graph, source, topoResult, metrics);
+    }
 
-        List<Integer> topologicalOrder = topoResult.getTopologicalOrder();
-        metrics.addAll(topoResult.getMetrics());
+    // Reuses an order already computed for this graph, e.g. the one Main prints
+    public PathResult findShortestPath(Graph graph, int source, TopoResult topoResult) {
+        Metrics metrics = Metrics.create();
+        metrics.startTimer();
+        checkOrder(graph, topoResult, SHORTEST_CYCLE_MESSAGE);
+        return relaxShortest(graph, source, topoResult, metrics);
+    }
 
+    private PathResult relaxShortest(Graph graph, int source, TopoResult topoResult, Metrics metrics) {
         int n = graph.getNodeCount();
+        Adjacency adjacency = graph.adjacency();
         int[] distances = new int[n];
         int[] predecessors = new int[n];
 
+        int[] durations = nodeDurations(graph);
+
         Arrays.fill(distances, Integer.MAX_VALUE);
         Arrays.fill(predecessors, -1);
-        distances[source] = 0;
+        distances[source] = durations != null ? durations[source] : 0;
 
         // Process nodes in topological order
-        for (int u : topologicalOrder) {
+        for (int i = 0, size = topoResult.getOrderSize(); i < size; i++) {
+            int u = topoResult.getNodeAt(i);
             metrics.incrementOperation();
 
             if (distances[u] != Integer.MAX_VALUE) {
-                for (Graph.Edge edge : graph.getEdges(u)) {
-                    int v = edge.v;
-                    int weight = edge.weight;
+                for (int e = adjacency.edgeStart(u), end = adjacency.edgeEnd(u); e < end; e++) {
+                    int v = adjacency.target(e);
+                    int weight = durations != null ? durations[v] : adjacency.weight(e);
                     metrics.incrementOperation();
                     metrics.incrementEdgeRelaxations();
 
@@ -53,40 +68,46 @@ public class DAGShortestPath {
         }
 
         metrics.stopTimer();
-        return new PathResult(distances, predecessors, source, true, metrics);
+        return new PathResult(distances, predecessors, source, true, metrics, false);
     }
 
     public PathResult findLongestPath(Graph graph, int source) {
-        Metrics metrics = new Metrics();
+        Metrics metrics = Metrics.create();
         metrics.startTimer();
 
         // For longest path, we process in topological order with max
-        TopologicalSort topo = new TopologicalSort();
-        TopoResult topoResult = topo.kahnAlgorithm(graph);
-
-        if (topoResult.hasCycle()) {
-            throw new IllegalArgumentException("Graph contains cycles - cannot compute longest paths in cyclic graph");
-        }
+        TopoResult topoResult = sort(graph, metrics, LONGEST_CYCLE_MESSAGE);
+        return relaxLongest(graph, source, topoResult, metrics);
+    }
 
-        List<Integer> topologicalOrder = topoResult.getTopologicalOrder();
-        metrics.addAll(topoResult.getMetrics());
+    public PathResult findLongestPath(Graph graph, int source, TopoResult topoResult) {
+        Metrics metrics = Metrics.create();
+        metrics.startTimer();
+        checkOrder(graph, topoResult, LONGEST_CYCLE_MESSAGE);
+        return relaxLongest(graph, source, topoResult, metrics);
+    }
 
+    private PathResult relaxLongest(Graph graph, int source, TopoResult topoResult, Metrics metrics) {
         int n = graph.getNodeCount();
+        Adjacency adjacency = graph.adjacency();
         int[] distances = new int[n];
         int[] predecessors = new int[n];
 
+        int[] durations = nodeDurations(graph);
+
         Arrays.fill(distances, Integer.MIN_VALUE);
         Arrays.fill(predecessors, -1);
-        distances[source] = 0;
+        distances[source] = durations != null ? durations[source] : 0;
 
         // Process nodes in topological order for LONGEST path
-        for (int u : topologicalOrder) {
+        for (int i = 0, size = topoResult.getOrderSize(); i < size; i++) {
+            int u = topoResult.getNodeAt(i);
             metrics.incrementOperation();
 
             if (distances[u] != Integer.MIN_VALUE) {
-                for (Graph.Edge edge : graph.getEdges(u)) {
-                    int v = edge.v;
-                    int weight = edge.weight;
+                for (int e = adjacency.edgeStart(u), end = adjacency.edgeEnd(u); e < end; e++) {
+                    int v = adjacency.target(e);
+                    int weight = durations != null ? durations[v] : adjacency.weight(e);
                     metrics.incrementOperation();
                     metrics.incrementEdgeRelaxations();
 
@@ -100,37 +121,46 @@ public class DAGShortestPath {
         }
 
         metrics.stopTimer();
-        return new PathResult(distances, predecessors, source, false, metrics);
+        return new PathResult(distances, predecessors, source, false, metrics, false);
     }
 
     public CriticalPathResult findCriticalPath(Graph graph) {
-        Metrics metrics = new Metrics();
+        Metrics metrics = Metrics.create();
         metrics.startTimer();
 
-        TopologicalSort topo = new TopologicalSort();
-        TopoResult topoResult = topo.kahnAlgorithm(graph);
-
-        if (topoResult.hasCycle()) {
-            throw new IllegalArgumentException("Graph contains cycles - cannot compute critical path");
-        }
+        TopoResult topoResult = sort(graph, metrics, CRITICAL_CYCLE_MESSAGE);
+        return relaxCritical(graph, topoResult, metrics);
+    }
 
-        List<Integer> topologicalOrder = topoResult.getTopologicalOrder();
-        metrics.addAll(topoResult.getMetrics());
+    public CriticalPathResult findCriticalPath(Graph graph, TopoResult topoResult) {
+        Metrics metrics = Metrics.create();
+        metrics.startTimer();
+        checkOrder(graph, topoResult, CRITICAL_CYCLE_MESSAGE);
+        return relaxCritical(graph, topoResult, metrics);
+    }
 
+    private CriticalPathResult relaxCritical(Graph graph, TopoResult topoResult, Metrics metrics) {
         int n = graph.getNodeCount();
+        Adjacency adjacency = graph.adjacency();
         int[] dist = new int[n];
         int[] pred = new int[n];
 
-        Arrays.fill(dist, 0); // Start with 0 for all nodes
+        int[] durations = nodeDurations(graph);
+
+        // Start with 0 for all nodes, or with the node's own duration in the node model
+        if (durations != null) {
+            System.arraycopy(durations, 0, dist, 0, n);
+        }
         Arrays.fill(pred, -1);
 
         // Standard longest path in DAG algorithm
-        for (int u : topologicalOrder) {
+        for (int i = 0, size = topoResult.getOrderSize(); i < size; i++) {
+            int u = topoResult.getNodeAt(i);
             metrics.incrementOperation();
 
-            for (Graph.Edge edge : graph.getEdges(u)) {
-                int v = edge.v;
-                int weight = edge.weight;
+            for (int e = adjacency.edgeStart(u), end = adjacency.edgeEnd(u); e < end; e++) {
+                int v = adjacency.target(e);
+                int weight = durations != null ? durations[v] : adjacency.weight(e);
                 metrics.incrementOperation();
                 metrics.incrementEdgeRelaxations();
 
@@ -152,13 +182,14 @@ public class DAGShortestPath {
             }
         }
 
-        // Reconstruct the critical path
+        // Reconstruct the critical path back to front, then reverse it once
         List<Integer> criticalPath = new ArrayList<>();
         int current = endNode;
         while (current != -1) {
-            criticalPath.add(0, current);
+            criticalPath.add(current);
             current = pred[current];
         }
+        Collections.reverse(criticalPath);
 
         // If no path found (graph with no edges), return single node
         if (criticalPath.isEmpty() && n > 0) {
@@ -168,4 +199,35 @@ public class DAGShortestPath {
         metrics.stopTimer();
         return new CriticalPathResult(criticalPath, maxDist, metrics);
     }
-}
\ No newline at end of file
+
+    /**
+     * Durations for the "node" weight model, null for the edge model. In the node model
+     * a path costs the sum of the durations of its nodes, so edge u -> v costs duration[v]
+     * and the path starts with the duration of its first node; edge weights are ignored.
+     */
+    static int[] nodeDurations(Graph graph) {
+        return "node".equals(graph.getWeightModel()) ? graph.getNodeDurations() : null;
+    }
+
+    private TopoResult sort(Graph graph, Metrics metrics, String cycleMessage) {
+        TopologicalSort topo = new TopologicalSort();
+        TopoResult topoResult = topo.kahnAlgorithm(graph);
+
+        if (topoResult.hasCycle()) {
+            throw new IllegalArgumentException(cycleMessage);
+        }
+
+        metrics.addAll(topoResult.getMetrics());
+        return topoResult;
+    }
+
+    private void checkOrder(Graph graph, TopoResult topoResult, String cycleMessage) {
+        if (topoResult.hasCycle()) {
+            throw new IllegalArgumentException(cycleMessage);
+        }
+        if (topoResult.getOrderSize() != graph.getNodeCount()) {
+            throw new IllegalArgumentException("Topological order does not cover the graph's "
+                    + graph.getNodeCount() + " nodes");
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package graph.dagsp;
+
+import graph.Metrics;
+
+/**
+ * Distances from a batch of sources: row i holds the distance from sources[i] to every node.
+ * Unreachable nodes hold Integer.MAX_VALUE for shortest and Integer.MIN_VALUE for longest paths.
+ */
+public class DistanceMatrix {
+    private final int[] sources;
+    private final int[][] rows;
+    private final boolean isShortest;
+    private final Metrics metrics;
+
+    public DistanceMatrix(int[] sources, int[][] rows, boolean isShortest, Metrics metrics) {
+        this.sources = sources;
+        this.rows = rows;
+        this.isShortest = isShortest;
+        this.metrics = metrics;
+    }
+
+    public int getSourceCount() {
+        return sources.length;
+    }
+
+    public int getSource(int sourceIndex) {
+        return sources[sourceIndex];
+    }
+
+    public int getDistance(int sourceIndex, int node) {
+        return rows[sourceIndex][node];
+    }
+
+    public int[] getDistances(int sourceIndex) {
+        return rows[sourceIndex].clone();
+    }
+
+    public boolean isReachable(int sourceIndex, int node) {
+        return rows[sourceIndex][node] != (isShortest ? Integer.MAX_VALUE : Integer.MIN_VALUE);
+    }
+
+    public boolean isShortest() {
+        return isShortest;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+}
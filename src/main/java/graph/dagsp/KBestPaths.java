@@ -0,0 +1,314 @@
+package graph.dagsp;
+
+import graph.Adjacency;
+import graph.CSRGraph;
+import graph.Graph;
+import graph.Metrics;
+import graph.topo.TopoResult;
+import graph.topo.TopologicalSort;
+
+import java.util.Arrays;
+
+/**
+ * K best paths in a DAG by a per-node top-K merge in topological order. Every node keeps
+ * the K best paths that end in it, best first. A node's list is the K-way merge of its
+ * predecessors' lists shifted by the edge weight, driven by a primitive heap holding one
+ * cursor per in-edge, so only K + in-degree labels are looked at per node. A label stores
+ * its cost and the label it extends, which makes the K paths distinct and lets them be
+ * rebuilt without storing node lists. Total cost is O(m + n K log d) time and n K labels
+ * instead of K full passes. Weights follow {@link DAGShortestPath}, including the node model.
+ */
+public class KBestPaths {
+    private static final String CYCLE_MESSAGE = "Graph contains cycles - cannot compute paths in cyclic graph";
+    private static final int ALL_STARTS = -1;
+
+    private final int k;
+
+    public KBestPaths(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("K must be at least 1");
+        }
+        this.k = k;
+    }
+
+    public KPathsResult findShortestPaths(Graph graph, int source, int target) {
+        Metrics metrics = Metrics.create();
+        metrics.startTimer();
+        return sourceToTarget(graph, source, target, sort(graph, metrics), true, metrics);
+    }
+
+    public KPathsResult findShortestPaths(Graph graph, int source, int target, TopoResult topoResult) {
+        Metrics metrics = Metrics.create();
+        metrics.startTimer();
+        checkOrder(graph, topoResult);
+        return sourceToTarget(graph, source, target, topoResult, true, metrics);
+    }
+
+    public KPathsResult findLongestPaths(Graph graph, int source, int target) {
+        Metrics metrics = Metrics.create();
+        metrics.startTimer();
+        return sourceToTarget(graph, source, target, sort(graph, metrics), false, metrics);
+    }
+
+    public KPathsResult findLongestPaths(Graph graph, int source, int target, TopoResult topoResult) {
+        Metrics metrics = Metrics.create();
+        metrics.startTimer();
+        checkOrder(graph, topoResult);
+        return sourceToTarget(graph, source, target, topoResult, false, metrics);
+    }
+
+    /**
+     * The K longest chains overall, each running from a node without predecessors to a
+     * node without successors. The first one has the length of the critical path.
+     */
+    public KPathsResult findLongestChains(Graph graph) {
+        Metrics metrics = Metrics.create();
+        metrics.startTimer();
+        return longestChains(graph, sort(graph, metrics), metrics);
+    }
+
+    public KPathsResult findLongestChains(Graph graph, TopoResult topoResult) {
+        Metrics metrics = Metrics.create();
+        metrics.startTimer();
+        checkOrder(graph, topoResult);
+        return longestChains(graph, topoResult, metrics);
+    }
+
+    private KPathsResult sourceToTarget(Graph graph, int source, int target, TopoResult topoResult,
+                                        boolean shortest, Metrics metrics) {
+        int n = graph.getNodeCount();
+        if (source < 0 || source >= n || target < 0 || target >= n) {
+            throw new IllegalArgumentException("Source and target must be between 0 and " + (n - 1));
+        }
+        Labels labels = merge(graph, topoResult, source, target, shortest, metrics);
+        int[] paths = new int[labels.count[target]];
+        for (int r = 0; r < paths.length; r++) {
+            paths[r] = target * k + r;
+        }
+        metrics.stopTimer();
+        return new KPathsResult(labels.cost, labels.parent, k, paths, shortest, metrics);
+    }
+
+    private KPathsResult longestChains(Graph graph, TopoResult topoResult, Metrics metrics) {
+        Adjacency adjacency = graph.adjacency();
+        int n = graph.getNodeCount();
+        Labels labels = merge(graph, topoResult, ALL_STARTS, -1, false, metrics);
+
+        // K-way merge once more, over the lists of all sinks
+        int sinks = 0;
+        for (int v = 0; v < n; v++) {
+            if (adjacency.outDegree(v) == 0) {
+                sinks++;
+            }
+        }
+        LabelHeap heap = new LabelHeap(sinks, false);
+        for (int v = 0; v < n; v++) {
+            if (adjacency.outDegree(v) == 0 && labels.count[v] > 0) {
+                heap.push(labels.cost[v * k], v, 0);
+            }
+        }
+        int[] paths = new int[k];
+        int found = 0;
+        while (heap.size > 0 && found < k) {
+            int v = heap.topKey();
+            int rank = heap.topRank();
+            heap.pop();
+            paths[found++] = v * k + rank;
+            if (rank + 1 < labels.count[v]) {
+                heap.push(labels.cost[v * k + rank + 1], v, rank + 1);
+            }
+        }
+
+        metrics.stopTimer();
+        return new KPathsResult(labels.cost, labels.parent, k, Arrays.copyOf(paths, found), false, metrics);
+    }
+
+    /**
+     * Fills the top-K lists in topological order. Paths start at source, or at every
+     * node without predecessors for ALL_STARTS; the sweep stops after stopAt.
+     */
+    private Labels merge(Graph graph, TopoResult topoResult, int source, int stopAt,
+                         boolean shortest, Metrics metrics) {
+        int n = graph.getNodeCount();
+        if ((long) n * k > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many labels: " + n + " nodes times K = " + k);
+        }
+        // In-edges of v are the out-edges of v in the reversed graph, ordered by predecessor
+        Adjacency reverse = CSRGraph.reverseOf(graph.adjacency());
+        int[] durations = DAGShortestPath.nodeDurations(graph);
+        Labels labels = new Labels(n * k, n);
+
+        int maxInDegree = 0;
+        for (int v = 0; v < n; v++) {
+            maxInDegree = Math.max(maxInDegree, reverse.outDegree(v));
+        }
+        LabelHeap heap = new LabelHeap(maxInDegree + 1, shortest);
+
+        for (int i = 0, size = topoResult.getOrderSize(); i < size; i++) {
+            int v = topoResult.getNodeAt(i);
+            metrics.incrementOperation();
+
+            // The empty extension: a path that starts at v
+            if (v == source || (source == ALL_STARTS && reverse.outDegree(v) == 0)) {
+                heap.push(durations != null ? durations[v] : 0, -1, 0);
+            }
+            for (int e = reverse.edgeStart(v), end = reverse.edgeEnd(v); e < end; e++) {
+                int u = reverse.target(e);
+                if (labels.count[u] > 0) {
+                    int weight = durations != null ? durations[v] : reverse.weight(e);
+                    heap.push(labels.cost[u * k] + weight, e, 0);
+                    metrics.incrementEdgeRelaxations();
+                }
+            }
+
+            int found = 0;
+            while (heap.size > 0 && found < k) {
+                int e = heap.topKey();
+                int rank = heap.topRank();
+                int label = v * k + found++;
+                labels.cost[label] = heap.topCost();
+                heap.pop();
+                metrics.incrementOperation();
+                if (e < 0) {
+                    labels.parent[label] = -1;
+                    continue;
+                }
+                int u = reverse.target(e);
+                labels.parent[label] = u * k + rank;
+                if (rank + 1 < labels.count[u]) {
+                    int weight = durations != null ? durations[v] : reverse.weight(e);
+                    heap.push(labels.cost[u * k + rank + 1] + weight, e, rank + 1);
+                }
+            }
+            heap.clear();
+            labels.count[v] = found;
+
+            if (v == stopAt) {
+                break;
+            }
+        }
+        return labels;
+    }
+
+    private static TopoResult sort(Graph graph, Metrics metrics) {
+        TopoResult topoResult = new TopologicalSort().kahnAlgorithm(graph);
+        if (topoResult.hasCycle()) {
+            throw new IllegalArgumentException(CYCLE_MESSAGE);
+        }
+        metrics.addAll(topoResult.getMetrics());
+        return topoResult;
+    }
+
+    private static void checkOrder(Graph graph, TopoResult topoResult) {
+        if (topoResult.hasCycle()) {
+            throw new IllegalArgumentException(CYCLE_MESSAGE);
+        }
+        if (topoResult.getOrderSize() != graph.getNodeCount()) {
+            throw new IllegalArgumentException("Topological order does not cover the graph's "
+                    + graph.getNodeCount() + " nodes");
+        }
+    }
+
+    // Label v * k + r is the r-th best path ending in v; parent is the label it extends or -1
+    private static final class Labels {
+        final int[] cost;
+        final int[] parent;
+        final int[] count;
+
+        Labels(int capacity, int n) {
+            this.cost = new int[capacity];
+            this.parent = new int[capacity];
+            this.count = new int[n];
+        }
+    }
+
+    /**
+     * Binary heap of (cost, key, rank) in parallel int arrays, best cost on top. Equal
+     * costs are ordered by key, so results do not depend on insertion order.
+     */
+    private static final class LabelHeap {
+        private final int[] costs;
+        private final int[] keys;
+        private final int[] ranks;
+        private final boolean smallestFirst;
+        int size;
+
+        LabelHeap(int capacity, boolean smallestFirst) {
+            this.costs = new int[capacity];
+            this.keys = new int[capacity];
+            this.ranks = new int[capacity];
+            this.smallestFirst = smallestFirst;
+        }
+
+        int topCost() {
+            return costs[0];
+        }
+
+        int topKey() {
+            return keys[0];
+        }
+
+        int topRank() {
+            return ranks[0];
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        void push(int cost, int key, int rank) {
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!before(cost, key, costs[parent], keys[parent])) {
+                    break;
+                }
+                move(parent, i);
+                i = parent;
+            }
+            set(i, cost, key, rank);
+        }
+
+        void pop() {
+            int last = --size;
+            int cost = costs[last];
+            int key = keys[last];
+            int rank = ranks[last];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && before(costs[child + 1], keys[child + 1], costs[child], keys[child])) {
+                    child++;
+                }
+                if (!before(costs[child], keys[child], cost, key)) {
+                    break;
+                }
+                move(child, i);
+                i = child;
+            }
+            if (size > 0) {
+                set(i, cost, key, rank);
+            }
+        }
+
+        private boolean before(int cost, int key, int otherCost, int otherKey) {
+            if (cost != otherCost) {
+                return smallestFirst ? cost < otherCost : cost > otherCost;
+            }
+            return key < otherKey;
+        }
+
+        private void move(int from, int to) {
+            set(to, costs[from], keys[from], ranks[from]);
+        }
+
+        private void set(int i, int cost, int key, int rank) {
+            costs[i] = cost;
+            keys[i] = key;
+            ranks[i] = rank;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package graph.dagsp;
+
+import graph.Metrics;
+
+/**
+ * Up to K paths, best first. Paths are kept as labels of {@link KBestPaths}: label
+ * v * k + r ends in node v and points at the label it extends, so a path is rebuilt
+ * in O(length) only when asked for.
+ */
+public class KPathsResult {
+    private final int[] costs;
+    private final int[] parents;
+    private final int k;
+    private final int[] paths;
+    private final boolean isShortest;
+    private final Metrics metrics;
+
+    KPathsResult(int[] costs, int[] parents, int k, int[] paths, boolean isShortest, Metrics metrics) {
+        this.costs = costs;
+        this.parents = parents;
+        this.k = k;
+        this.paths = paths;
+        this.isShortest = isShortest;
+        this.metrics = metrics;
+    }
+
+    // Fewer than K when there are fewer distinct paths
+    public int getPathCount() {
+        return paths.length;
+    }
+
+    public int getCost(int index) {
+        return costs[paths[index]];
+    }
+
+    public int[] getPath(int index) {
+        int length = 0;
+        for (int label = paths[index]; label != -1; label = parents[label]) {
+            length++;
+        }
+        int[] path = new int[length];
+        int label = paths[index];
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = label / k;
+            label = parents[label];
+        }
+        return path;
+    }
+
+    public boolean isShortest() {
+        return isShortest;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,254 @@
+package graph.dagsp;
+
+import graph.Adjacency;
+import graph.Graph;
+import graph.Metrics;
+import graph.topo.TopoResult;
+import graph.topo.TopologicalSort;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Single-source shortest and longest paths relaxed one topological level at a time.
+ * Nodes of a level cannot reach each other, so each of them pulls its distance from
+ * its predecessors in parallel and only ever writes its own entry. In-edges are laid
+ * out in the order the sequential sweep would push them (by the predecessor's position
+ * in the topological order, then by edge), and only a strictly better candidate wins,
+ * so distances and predecessors equal {@link DAGShortestPath} for the same order.
+ */
+public class ParallelDAGShortestPath {
+    public static final int DEFAULT_GRAIN = 4096;
+
+    private static final String CYCLE_MESSAGE = "Graph contains cycles - cannot compute paths in cyclic graph";
+
+    private final int parallelism;
+    private final int grain;
+
+    public ParallelDAGShortestPath() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_GRAIN);
+    }
+
+    // grain is the number of nodes below which a level is relaxed on the calling thread
+    public ParallelDAGShortestPath(int parallelism, int grain) {
+        if (parallelism < 1 || grain < 1) {
+            throw new IllegalArgumentException("Parallelism and grain must be at least 1");
+        }
+        this.parallelism = parallelism;
+        this.grain = grain;
+    }
+
+    public PathResult findShortestPath(Graph graph, int source) {
+        return solve(graph, source, null, true);
+    }
+
+    public PathResult findShortestPath(Graph graph, int source, TopoResult topoResult) {
+        return solve(graph, source, topoResult, true);
+    }
+
+    public PathResult findLongestPath(Graph graph, int source) {
+        return solve(graph, source, null, false);
+    }
+
+    public PathResult findLongestPath(Graph graph, int source, TopoResult topoResult) {
+        return solve(graph, source, topoResult, false);
+    }
+
+    private PathResult solve(Graph graph, int source, TopoResult topoResult, boolean shortest) {
+        Metrics metrics = Metrics.createConcurrent();
+        metrics.startTimer();
+
+        int n = graph.getNodeCount();
+        if (source < 0 || source >= n) {
+            throw new IllegalArgumentException("Invalid source node " + source);
+        }
+        // Same order as the sequential solver, unless the caller already has one
+        if (topoResult == null) {
+            topoResult = new TopologicalSort().kahnAlgorithm(graph);
+            metrics.addAll(topoResult.getMetrics());
+        }
+        if (topoResult.hasCycle()) {
+            throw new IllegalArgumentException(CYCLE_MESSAGE);
+        }
+        if (topoResult.getOrderSize() != n) {
+            throw new IllegalArgumentException("Topological order does not cover the graph's " + n + " nodes");
+        }
+
+        Adjacency adjacency = graph.adjacency();
+        Levels levels = new Levels(adjacency, topoResult);
+        int[] durations = DAGShortestPath.nodeDurations(graph);
+        int unreachable = shortest ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+
+        int[] distances = new int[n];
+        int[] predecessors = new int[n];
+        Arrays.fill(distances, unreachable);
+        Arrays.fill(predecessors, -1);
+        distances[source] = durations != null ? durations[source] : 0;
+
+        // Nothing before the source's level can be reached, and nothing else on it either
+        ForkJoinPool pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+        try {
+            for (int level = levels.levelOf[source] + 1; level < levels.count(); level++) {
+                int from = levels.offsets[level];
+                int to = levels.offsets[level + 1];
+                int chunks = chunkCount(to - from);
+                int chunkSize = (to - from + chunks - 1) / chunks;
+                IntConsumer body = chunk -> {
+                    Metrics local = Metrics.create();
+                    int end = Math.min(to, from + (chunk + 1) * chunkSize);
+                    for (int i = from + chunk * chunkSize; i < end; i++) {
+                        pull(levels, levels.nodes[i], durations, shortest, unreachable,
+                                distances, predecessors, local);
+                    }
+                    metrics.addAll(local);
+                };
+                if (chunks == 1 || pool == null) {
+                    for (int chunk = 0; chunk < chunks; chunk++) {
+                        body.accept(chunk);
+                    }
+                } else {
+                    pool.invoke(new ChunkAction(body, 0, chunks));
+                }
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+
+        metrics.stopTimer();
+        return new PathResult(distances, predecessors, source, shortest, metrics, false);
+    }
+
+    private static void pull(Levels levels, int v, int[] durations, boolean shortest, int unreachable,
+                             int[] distances, int[] predecessors, Metrics local) {
+        local.incrementOperation();
+        int best = distances[v];
+        int bestPredecessor = predecessors[v];
+        for (int i = levels.inStart[v], end = levels.inStart[v + 1]; i < end; i++) {
+            int u = levels.inSource[i];
+            int du = distances[u];
+            if (du == unreachable) {
+                continue;
+            }
+            int weight = durations != null ? durations[v] : levels.inWeight[i];
+            local.incrementOperation();
+            local.incrementEdgeRelaxations();
+            int candidate = du + weight;
+            if (shortest ? candidate < best : candidate > best) {
+                best = candidate;
+                bestPredecessor = u;
+                local.incrementOperation();
+            }
+        }
+        distances[v] = best;
+        predecessors[v] = bestPredecessor;
+    }
+
+    private int chunkCount(int size) {
+        if (size < grain) {
+            return 1;
+        }
+        return Math.min(parallelism * 4, (size + grain - 1) / grain);
+    }
+
+    /**
+     * Nodes grouped by topological level (the wavefront levels of the TopoResult when it
+     * has them, longest distance from a root otherwise) and the in-edges of every node in
+     * CSR form, ordered by the predecessor's position in the order and then by edge.
+     */
+    private static final class Levels {
+        final int[] nodes;
+        final int[] offsets;
+        final int[] levelOf;
+        final int[] inStart;
+        final int[] inSource;
+        final int[] inWeight;
+
+        Levels(Adjacency adjacency, TopoResult topoResult) {
+            int n = adjacency.getNodeCount();
+            levelOf = new int[n];
+            if (topoResult.hasLevels()) {
+                nodes = topoResult.getOrder();
+                offsets = topoResult.getLevelOffsets();
+                for (int level = 0; level + 1 < offsets.length; level++) {
+                    for (int i = offsets[level]; i < offsets[level + 1]; i++) {
+                        levelOf[nodes[i]] = level;
+                    }
+                }
+            } else {
+                int count = 0;
+                for (int i = 0; i < n; i++) {
+                    int u = topoResult.getNodeAt(i);
+                    count = Math.max(count, levelOf[u] + 1);
+                    for (int e = adjacency.edgeStart(u), end = adjacency.edgeEnd(u); e < end; e++) {
+                        int v = adjacency.target(e);
+                        levelOf[v] = Math.max(levelOf[v], levelOf[u] + 1);
+                    }
+                }
+                // Counting sort by level keeps the topological order inside a level
+                offsets = new int[count + 1];
+                for (int v = 0; v < n; v++) {
+                    offsets[levelOf[v] + 1]++;
+                }
+                for (int level = 0; level < count; level++) {
+                    offsets[level + 1] += offsets[level];
+                }
+                nodes = new int[n];
+                int[] cursor = Arrays.copyOf(offsets, count);
+                for (int i = 0; i < n; i++) {
+                    int u = topoResult.getNodeAt(i);
+                    nodes[cursor[levelOf[u]]++] = u;
+                }
+            }
+
+            int m = adjacency.getEdgeCount();
+            inStart = new int[n + 1];
+            for (int e = 0; e < m; e++) {
+                inStart[adjacency.target(e) + 1]++;
+            }
+            for (int v = 0; v < n; v++) {
+                inStart[v + 1] += inStart[v];
+            }
+            inSource = new int[m];
+            inWeight = new int[m];
+            int[] cursor = Arrays.copyOf(inStart, n);
+            for (int i = 0; i < n; i++) {
+                int u = topoResult.getNodeAt(i);
+                for (int e = adjacency.edgeStart(u), end = adjacency.edgeEnd(u); e < end; e++) {
+                    int slot = cursor[adjacency.target(e)]++;
+                    inSource[slot] = u;
+                    inWeight[slot] = adjacency.weight(e);
+                }
+            }
+        }
+
+        int count() {
+            return offsets.length - 1;
+        }
+    }
+
+    private static final class ChunkAction extends RecursiveAction {
+        private final IntConsumer body;
+        private final int from;
+        private final int to;
+
+        ChunkAction(IntConsumer body, int from, int to) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkAction(body, from, mid), new ChunkAction(body, mid, to));
+        }
+    }
+}
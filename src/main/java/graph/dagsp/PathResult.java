@@ -2,6 +2,7 @@ package graph.dagsp;
 
 import graph.Metrics;
 
+import java.nio.IntBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -14,8 +15,14 @@ public class PathResult {
 
     public PathResult(int[] distances, int[] predecessors, int source,
                       boolean isShortest, Metrics metrics) {
-        this.distances = distances.clone();
-        this.predecessors = predecessors.clone();
+        this(distances, predecessors, source, isShortest, metrics, true);
+    }
+
+    // copy == false takes ownership of the arrays; the solvers never touch them afterwards
+    PathResult(int[] distances, int[] predecessors, int source,
+               boolean isShortest, Metrics metrics, boolean copy) {
+        this.distances = copy ? distances.clone() : distances;
+        this.predecessors = copy ? predecessors.clone() : predecessors;
         this.source = source;
         this.isShortest = isShortest;
         this.metrics = metrics;
@@ -29,6 +36,31 @@ public class PathResult {
         return predecessors.clone();
     }
 
+    // Read-only views over the internal arrays, without copying
+    public IntBuffer distancesView() {
+        return IntBuffer.wrap(distances).asReadOnlyBuffer();
+    }
+
+    public IntBuffer predecessorsView() {
+        return IntBuffer.wrap(predecessors).asReadOnlyBuffer();
+    }
+
+    public int getNodeCount() {
+        return distances.length;
+    }
+
+    public int distanceAt(int node) {
+        return distances[node];
+    }
+
+    public int predecessorAt(int node) {
+        return predecessors[node];
+    }
+
+    public boolean isReachable(int node) {
+        return distances[node] != (isShortest ? Integer.MAX_VALUE : Integer.MIN_VALUE);
+    }
+
     public int getSource() {
         return source;
     }
@@ -42,24 +74,43 @@ public class PathResult {
     }
 
     public List<Integer> reconstructPath(int target) {
+        int[] nodes = reconstructPathArray(target);
+        List<Integer> path = new ArrayList<>(nodes.length);
+        for (int node : nodes) {
+            path.add(node);
+        }
+        return path;
+    }
+
+    // Source-to-target path in O(path length); empty when the target is not reached from the source
+    public int[] reconstructPathArray(int target) {
         if (predecessors[target] == -1 && target != source) {
-            return new ArrayList<>(); // No path exists
+            return new int[0]; // No path exists
         }
 
-        List<Integer> path = new ArrayList<>();
+        // Backtrack once to measure, once to fill from the end
+        int length = 0;
         int current = target;
-
-        // Backtrack from target to source
         while (current != -1) {
-            path.add(0, current);
+            length++;
             current = predecessors[current];
         }
 
-        // Check if we reached the source
-        if (path.get(0) != source) {
-            return new ArrayList<>(); // No path exists
+        int[] path = new int[length];
+        current = target;
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = current;
+            current = predecessors[current];
         }
 
+        // Check if we reached the source
+        if (path[0] != source) {
+            return new int[0]; // No path exists
+        }
         return path;
     }
-}
\ No newline at end of file
+
+    public ShortestPathTree toPathTree() {
+        return new ShortestPathTree(predecessors, source);
+    }
+}
@@ -0,0 +1,83 @@
+package graph.dagsp;
+
+import graph.util.IntList;
+
+/**
+ * The predecessor array of a PathResult turned around into child lists, so the
+ * paths to all reached nodes can be walked from the source in one depth-first pass.
+ * Siblings are visited in ascending node order.
+ */
+public class ShortestPathTree {
+    private final int source;
+    private final int[] parents;
+    private final int[] childOffsets;
+    private final int[] children;
+
+    public interface PathVisitor {
+        // path[0 .. length) runs from the source to target; the buffer is reused between calls
+        void visit(int target, int[] path, int length);
+    }
+
+    public ShortestPathTree(int[] predecessors, int source) {
+        int n = predecessors.length;
+        this.source = source;
+        this.parents = predecessors;
+        this.childOffsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            if (predecessors[v] != -1) {
+                childOffsets[predecessors[v] + 1]++;
+            }
+        }
+        for (int u = 0; u < n; u++) {
+            childOffsets[u + 1] += childOffsets[u];
+        }
+        this.children = new int[childOffsets[n]];
+        int[] cursor = new int[n];
+        for (int v = 0; v < n; v++) {
+            int u = predecessors[v];
+            if (u != -1) {
+                children[childOffsets[u] + cursor[u]++] = v;
+            }
+        }
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public int getParent(int node) {
+        return parents[node];
+    }
+
+    public int getChildCount(int node) {
+        return childOffsets[node + 1] - childOffsets[node];
+    }
+
+    public int getChild(int node, int index) {
+        return children[childOffsets[node] + index];
+    }
+
+    // Visits the source and every node reached from it in O(n) total, not O(sum of path lengths)
+    public void forEachPath(PathVisitor visitor) {
+        int[] path = new int[parents.length];
+        IntList nextChild = new IntList();
+        path[0] = source;
+        nextChild.add(childOffsets[source]);
+        visitor.visit(source, path, 1);
+
+        while (!nextChild.isEmpty()) {
+            int depth = nextChild.size();
+            int u = path[depth - 1];
+            int e = nextChild.get(depth - 1);
+            if (e == childOffsets[u + 1]) {
+                nextChild.removeLast();
+                continue;
+            }
+            nextChild.set(depth - 1, e + 1);
+            int v = children[e];
+            path[depth] = v;
+            nextChild.add(childOffsets[v]);
+            visitor.visit(v, path, depth + 1);
+        }
+    }
+}
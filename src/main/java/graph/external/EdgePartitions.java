@@ -0,0 +1,299 @@
+package graph.external;
+
+import graph.Adjacency;
+import graph.Metrics;
+import graph.io.JsonGraphLoader;
+import graph.util.IntList;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * The edge list split on disk into partitions by node range, each small enough to load
+ * within the memory budget. Forward partitions hold (source, target, weight) records
+ * grouped by source range, so loading them in order replays the edges in CSR order;
+ * reverse partitions hold (target, source) records grouped by target range. Only node
+ * ranges and counts stay in memory.
+ */
+final class EdgePartitions implements AutoCloseable {
+    // Writers open at once: well below the usual descriptor limit
+    static final int MAX_OPEN_WRITERS = 256;
+    private static final int MIN_WRITER_BUFFER = 1 << 10;
+    private static final int MAX_WRITER_BUFFER = 1 << 20;
+
+    private final Path directory;
+    private final int nodeCount;
+    private final long edgeCount;
+    private final int[] forwardStart;
+    private final int[] reverseStart;
+
+    private EdgePartitions(Path directory, int nodeCount, long edgeCount, int[] forwardStart, int[] reverseStart) {
+        this.directory = directory;
+        this.nodeCount = nodeCount;
+        this.edgeCount = edgeCount;
+        this.forwardStart = forwardStart;
+        this.reverseStart = reverseStart;
+    }
+
+    /**
+     * Replays the edges of an edge source. A first pass counts degrees, which fix the
+     * partition ranges, and then the edges are replayed once per group of partitions.
+     */
+    interface EdgeStream {
+        void replay(JsonGraphLoader.EdgeVisitor visitor) throws IOException;
+    }
+
+    static EdgePartitions write(Adjacency adjacency, Path directory, int edgesPerPartition, long bufferBudget,
+                                Metrics metrics) throws IOException {
+        int n = adjacency.getNodeCount();
+        int[] outDegree = new int[n];
+        int[] inDegree = new int[n];
+        for (int u = 0; u < n; u++) {
+            outDegree[u] = adjacency.outDegree(u);
+            for (int e = adjacency.edgeStart(u), end = adjacency.edgeEnd(u); e < end; e++) {
+                inDegree[adjacency.target(e)]++;
+                metrics.incrementOperation();
+            }
+        }
+        return write(outDegree, inDegree, visitor -> {
+            for (int u = 0; u < n; u++) {
+                for (int e = adjacency.edgeStart(u), end = adjacency.edgeEnd(u); e < end; e++) {
+                    visitor.edge(u, adjacency.target(e), adjacency.weight(e));
+                }
+            }
+        }, directory, edgesPerPartition, bufferBudget, metrics);
+    }
+
+    /**
+     * Writes the edges of a stream with the given degrees. Edges may come in any order:
+     * loading a partition groups its edges by source stably, so a node's edges keep
+     * stream order. Forward and reverse partitions are written in groups of at most
+     * MAX_OPEN_WRITERS, one replay of the stream per group, and the writer buffers of a
+     * group together stay within bufferBudget.
+     */
+    static EdgePartitions write(int[] outDegree, int[] inDegree, EdgeStream edges, Path directory,
+                                int edgesPerPartition, long bufferBudget, Metrics metrics) throws IOException {
+        int n = outDegree.length;
+        long edgeCount = 0;
+        for (int degree : outDegree) {
+            edgeCount += degree;
+        }
+        int[] forwardStart = ranges(outDegree, edgesPerPartition);
+        int[] reverseStart = ranges(inDegree, edgesPerPartition);
+
+        Files.createDirectories(directory);
+        EdgePartitions partitions = new EdgePartitions(directory, n, edgeCount, forwardStart, reverseStart);
+        int forwardCount = forwardStart.length - 1;
+        int total = forwardCount + reverseStart.length - 1;
+        int group = groupSize(total, bufferBudget);
+        int bufferBytes = (int) Math.max(Integer.BYTES, Math.min(MAX_WRITER_BUFFER, bufferBudget / group));
+
+        // Slots 0 .. forwardCount-1 are the forward partitions, the rest the reverse ones
+        int[] forwardOf = partitionIndex(forwardStart, n);
+        int[] reverseOf = partitionIndex(reverseStart, n);
+        for (int lo = 0; lo < total; lo += group) {
+            int first = lo;
+            int end = Math.min(total, lo + group);
+            IntFileWriter[] writers = new IntFileWriter[end - first];
+            try {
+                for (int slot = first; slot < end; slot++) {
+                    writers[slot - first] = new IntFileWriter(slot < forwardCount
+                            ? partitions.forwardPath(slot) : partitions.reversePath(slot - forwardCount), bufferBytes);
+                }
+                edges.replay((u, v, w) -> {
+                    int slot = forwardOf[u];
+                    if (slot >= first && slot < end) {
+                        IntFileWriter out = writers[slot - first];
+                        out.put(u);
+                        out.put(v);
+                        out.put(w);
+                        metrics.incrementOperation();
+                    }
+                    slot = forwardCount + reverseOf[v];
+                    if (slot >= first && slot < end) {
+                        IntFileWriter back = writers[slot - first];
+                        back.put(v);
+                        back.put(u);
+                    }
+                });
+            } finally {
+                closeAll(writers);
+            }
+        }
+        return partitions;
+    }
+
+    // Partitions written per replay: as many as the budget gives a useful buffer, within the open-file cap
+    static int groupSize(int partitionCount, long bufferBudget) {
+        long group = Math.max(1, Math.min(MAX_OPEN_WRITERS, bufferBudget / MIN_WRITER_BUFFER));
+        return (int) Math.min(partitionCount, group);
+    }
+
+    private static void closeAll(IntFileWriter[] writers) throws IOException {
+        for (IntFileWriter writer : writers) {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+
+    // Greedy node ranges holding at most edgesPerPartition edges each, unless one node alone has more
+    private static int[] ranges(int[] degree, int edgesPerPartition) {
+        IntList starts = new IntList();
+        starts.add(0);
+        long inRange = 0;
+        for (int v = 0; v < degree.length; v++) {
+            if (inRange > 0 && inRange + degree[v] > edgesPerPartition) {
+                starts.add(v);
+                inRange = 0;
+            }
+            inRange += degree[v];
+        }
+        starts.add(degree.length);
+        return starts.toArray();
+    }
+
+    private static int[] partitionIndex(int[] starts, int n) {
+        int[] partitionOf = new int[n];
+        for (int p = 0; p + 1 < starts.length; p++) {
+            for (int v = starts[p]; v < starts[p + 1]; v++) {
+                partitionOf[v] = p;
+            }
+        }
+        return partitionOf;
+    }
+
+    // The partition whose node range holds node
+    int partitionOf(boolean reverse, int node) {
+        int[] starts = reverse ? reverseStart : forwardStart;
+        int i = Arrays.binarySearch(starts, 0, starts.length - 1, node);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    int getNodeCount() {
+        return nodeCount;
+    }
+
+    long getEdgeCount() {
+        return edgeCount;
+    }
+
+    int getPartitionCount(boolean reverse) {
+        return (reverse ? reverseStart : forwardStart).length - 1;
+    }
+
+    int getFirstNode(boolean reverse, int partition) {
+        return (reverse ? reverseStart : forwardStart)[partition];
+    }
+
+    int getEndNode(boolean reverse, int partition) {
+        return (reverse ? reverseStart : forwardStart)[partition + 1];
+    }
+
+    Path forwardPath(int partition) {
+        return directory.resolve("forward-" + partition + ".edges");
+    }
+
+    Path reversePath(int partition) {
+        return directory.resolve("reverse-" + partition + ".edges");
+    }
+
+    /**
+     * Loads one partition into a local CSR keyed by the partition's node range. Reverse
+     * partitions have no weights; their "targets" are the original sources.
+     */
+    void load(boolean reverse, int partition, Partition into, int bufferBytes) throws IOException {
+        int first = getFirstNode(reverse, partition);
+        int end = getEndNode(reverse, partition);
+        Path path = reverse ? reversePath(partition) : forwardPath(partition);
+        int width = reverse ? 2 : 3;
+        long records = Files.size(path) / ((long) width * Integer.BYTES);
+        if (records > Integer.MAX_VALUE - 8) {
+            throw new IOException("Partition " + path + " is too large to load");
+        }
+        into.reset(first, end, (int) records);
+
+        try (IntFileReader reader = new IntFileReader(path, bufferBytes)) {
+            for (int i = 0; i < records; i++) {
+                into.sources[i] = reader.next() - first;
+                into.rawTargets[i] = reader.next();
+                into.rawWeights[i] = reverse ? 0 : reader.next();
+            }
+        }
+        into.group();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (int p = 0; p < getPartitionCount(false); p++) {
+            Files.deleteIfExists(forwardPath(p));
+        }
+        for (int p = 0; p < getPartitionCount(true); p++) {
+            Files.deleteIfExists(reversePath(p));
+        }
+    }
+
+    /**
+     * A loaded partition: the edges of local node i = v - first are
+     * targets[offsets[i] .. offsets[i + 1]). Arrays are reused between loads.
+     */
+    static final class Partition {
+        int first;
+        int end;
+        int size;
+        int[] offsets = new int[1];
+        int[] targets = new int[0];
+        int[] weights = new int[0];
+        private int[] sources = new int[0];
+        private int[] rawTargets = new int[0];
+        private int[] rawWeights = new int[0];
+
+        private void reset(int first, int end, int records) {
+            this.first = first;
+            this.end = end;
+            this.size = records;
+            if (offsets.length < end - first + 1) {
+                offsets = new int[end - first + 1];
+            }
+            if (targets.length < records) {
+                targets = new int[records];
+                weights = new int[records];
+                sources = new int[records];
+                rawTargets = new int[records];
+                rawWeights = new int[records];
+            }
+        }
+
+        // Stable counting sort by local source, so every node keeps its edges in file order
+        private void group() {
+            int range = end - first;
+            Arrays.fill(offsets, 0, range + 1, 0);
+            for (int i = 0; i < size; i++) {
+                offsets[sources[i] + 1]++;
+            }
+            for (int i = 0; i < range; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+            int[] cursor = Arrays.copyOf(offsets, range);
+            for (int i = 0; i < size; i++) {
+                int slot = cursor[sources[i]]++;
+                targets[slot] = rawTargets[i];
+                weights[slot] = rawWeights[i];
+            }
+        }
+
+        int edgeStart(int v) {
+            return offsets[v - first];
+        }
+
+        int edgeEnd(int v) {
+            return offsets[v - first + 1];
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package graph.external;
+
+import graph.Metrics;
+import graph.io.BinaryGraphSink;
+import graph.scc.WeightAggregation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes the condensation DAG of a partitioned graph as a binary graph file, producing
+ * the same edges, weights and edge order as CondensationBuilder. Inter-component edges
+ * are streamed out of the forward partitions tagged with their original edge index,
+ * externally sorted by (source, target) so parallel edges collapse in input order,
+ * and sorted again by (source, first edge index) to restore first-seen order.
+ * The edge targets are also kept in a plain int file for ExternalTopologicalSort.
+ */
+final class ExternalCondensation {
+    private static final int SOURCE = 0;
+    private static final int TARGET = 1;
+    private static final int WEIGHT = 2;
+    private static final int INDEX = 3;
+
+    private final int componentCount;
+    private final int[] offsets;
+
+    private ExternalCondensation(int componentCount, int[] offsets) {
+        this.componentCount = componentCount;
+        this.offsets = offsets;
+    }
+
+    static ExternalCondensation write(EdgePartitions partitions, int[] componentOf, int componentCount,
+                                      int[] durations, String weightModel, WeightAggregation aggregation,
+                                      Path output, Path targetsFile, int recordsInMemory, int bufferBytes,
+                                      Metrics metrics) throws IOException {
+        Path directory = targetsFile.toAbsolutePath().getParent();
+        ExternalSorter byPair = new ExternalSorter(directory, "pairs", recordsInMemory, bufferBytes,
+                (a, i, b, j) -> {
+                    int c = Integer.compare(a[i + SOURCE], b[j + SOURCE]);
+                    return c != 0 ? c : Integer.compare(a[i + TARGET], b[j + TARGET]);
+                },
+                (a, i, b, j) -> {
+                    if (a[i + SOURCE] != b[j + SOURCE] || a[i + TARGET] != b[j + TARGET]) {
+                        return false;
+                    }
+                    a[i + WEIGHT] = aggregation.combine(a[i + WEIGHT], b[j + WEIGHT]);
+                    return true;
+                });
+
+        EdgePartitions.Partition loaded = new EdgePartitions.Partition();
+        int index = 0;
+        for (int p = 0; p < partitions.getPartitionCount(false); p++) {
+            partitions.load(false, p, loaded, bufferBytes);
+            for (int u = loaded.first; u < loaded.end; u++) {
+                int compU = componentOf[u];
+                for (int e = loaded.edgeStart(u), end = loaded.edgeEnd(u); e < end; e++, index++) {
+                    metrics.incrementOperation(); // process edge for condensation
+                    int compV = componentOf[loaded.targets[e]];
+                    if (compV != compU) {
+                        byPair.add(compU, compV, loaded.weights[e], index);
+                    }
+                }
+            }
+        }
+
+        ExternalSorter byFirstEdge = new ExternalSorter(directory, "order", recordsInMemory, bufferBytes,
+                (a, i, b, j) -> {
+                    int c = Integer.compare(a[i + SOURCE], b[j + SOURCE]);
+                    return c != 0 ? c : Integer.compare(a[i + INDEX], b[j + INDEX]);
+                }, null);
+        byPair.finish(byFirstEdge::add);
+
+        int[] offsets = new int[componentCount + 1];
+        Path weightsFile = directory.resolve("condensation.weights");
+        try {
+            try (IntFileWriter targets = new IntFileWriter(targetsFile, bufferBytes);
+                 IntFileWriter weights = new IntFileWriter(weightsFile, bufferBytes)) {
+                byFirstEdge.finish((source, target, weight, first) -> {
+                    offsets[source + 1]++;
+                    targets.put(target);
+                    weights.put(weight);
+                    metrics.incrementOperation(); // add condensation edge
+                });
+            }
+            for (int c = 0; c < componentCount; c++) {
+                offsets[c + 1] += offsets[c];
+            }
+
+            try (BinaryGraphSink sink = new BinaryGraphSink(output, offsets, true, weightModel, 0);
+                 IntFileReader targets = new IntFileReader(targetsFile, bufferBytes);
+                 IntFileReader weights = new IntFileReader(weightsFile, bufferBytes)) {
+                int chunk = Math.max(1, bufferBytes / Integer.BYTES);
+                int[] targetChunk = new int[chunk];
+                int[] weightChunk = new int[chunk];
+                int size = offsets[componentCount];
+                for (int first = 0; first < size; first += chunk) {
+                    int count = Math.min(chunk, size - first);
+                    for (int i = 0; i < count; i++) {
+                        targetChunk[i] = targets.next();
+                        weightChunk[i] = weights.next();
+                    }
+                    sink.writeEdges(first, targetChunk, weightChunk, count);
+                }
+                sink.writeDurations(durations);
+            }
+        } finally {
+            Files.deleteIfExists(weightsFile);
+        }
+        return new ExternalCondensation(componentCount, offsets);
+    }
+
+    int getComponentCount() {
+        return componentCount;
+    }
+
+    int getEdgeCount() {
+        return offsets[componentCount];
+    }
+
+    // Condensation CSR offsets; the targets live in the targets file
+    int[] getOffsets() {
+        return offsets;
+    }
+}
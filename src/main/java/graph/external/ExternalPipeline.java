@@ -0,0 +1,156 @@
+package graph.external;
+
+import graph.Graph;
+import graph.GraphParser;
+import graph.Metrics;
+import graph.io.JsonGraphLoader;
+import graph.scc.CondensationBuilder;
+import graph.scc.WeightAggregation;
+import graph.util.IntList;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * SCC, condensation and topological order for graphs whose edges do not fit in memory.
+ * The edge list is partitioned on disk by node range, SemiExternalSCC finds the
+ * components keeping only per-node state in memory, and the condensation DAG and its
+ * Kahn order are written to the work directory. Edge files are written in order through
+ * NIO channels and read back whole, except for the small blocks the SCC's DFS reads.
+ * The memory budget bounds the loaded partition, the DFS block cache, the external sort
+ * buffers and the I/O buffers; per-node arrays come on top of it. Results match TarjanSCC,
+ * CondensationBuilder and TopologicalSort.kahnAlgorithm on graphs that fit in memory.
+ */
+public class ExternalPipeline {
+    public static final String CONDENSATION_FILE = "condensation.bin";
+    public static final String TOPOLOGICAL_ORDER_FILE = "topological_order.bin";
+
+    // A loaded partition edge takes five ints, a sort record four plus its index
+    private static final int BYTES_PER_PARTITION_EDGE = 5 * Integer.BYTES;
+    private static final int BYTES_PER_SORT_RECORD = 6 * Integer.BYTES;
+
+    private final Path workDirectory;
+    private final long memoryBudgetBytes;
+    private final WeightAggregation weightAggregation;
+
+    public ExternalPipeline(Path workDirectory, long memoryBudgetBytes) {
+        this(workDirectory, memoryBudgetBytes, WeightAggregation.FIRST);
+    }
+
+    public ExternalPipeline(Path workDirectory, long memoryBudgetBytes, WeightAggregation weightAggregation) {
+        if (memoryBudgetBytes < 1024) {
+            throw new IllegalArgumentException("Memory budget must be at least 1 KB");
+        }
+        this.workDirectory = workDirectory;
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.weightAggregation = weightAggregation;
+    }
+
+    /**
+     * Binary files are memory-mapped and streamed from the mapping. JSON files are read
+     * with the streaming parser, once for the degrees and once per group of partitions
+     * written, so their edges are never held in memory either.
+     */
+    public ExternalResult run(String inputFile) throws IOException {
+        if (inputFile.endsWith(".bin")) {
+            return run(GraphParser.load(inputFile).getGraph());
+        }
+        IntList outDegree = new IntList();
+        IntList inDegree = new IntList();
+        JsonGraphLoader.Header header = JsonGraphLoader.streamEdges(inputFile, (u, v, w) -> {
+            increment(outDegree, u);
+            increment(inDegree, v);
+        });
+        int n = header.getNodeCount();
+        if (outDegree.size() > n || inDegree.size() > n) {
+            throw new IOException("Edge endpoint " + (Math.max(outDegree.size(), inDegree.size()) - 1)
+                    + " is out of range in " + inputFile);
+        }
+        int[] out = Arrays.copyOf(outDegree.toArray(), n);
+        int[] in = Arrays.copyOf(inDegree.toArray(), n);
+        if (!header.isDirected()) {
+            // Every edge is stored both ways, so both degrees are the sum
+            for (int v = 0; v < n; v++) {
+                out[v] += in[v];
+                in[v] = out[v];
+            }
+        }
+        boolean directed = header.isDirected();
+        return run(metrics -> EdgePartitions.write(out, in, visitor ->
+                JsonGraphLoader.streamEdges(inputFile, (u, v, w) -> {
+                    visitor.edge(u, v, w);
+                    if (!directed) {
+                        visitor.edge(v, u, w);
+                    }
+                }), workDirectory, edgesPerPartition(), memoryBudgetBytes, metrics),
+                header.getNodeDurations(), header.getWeightModel());
+    }
+
+    public ExternalResult run(Graph graph) throws IOException {
+        return run(metrics -> EdgePartitions.write(graph.adjacency(), workDirectory, edgesPerPartition(),
+                memoryBudgetBytes, metrics), graph.getNodeDurations(), graph.getWeightModel());
+    }
+
+    private interface PartitionWriter {
+        EdgePartitions write(Metrics metrics) throws IOException;
+    }
+
+    private static void increment(IntList counts, int node) {
+        while (counts.size() <= node) {
+            counts.add(0);
+        }
+        counts.set(node, counts.get(node) + 1);
+    }
+
+    // Half the budget holds a loaded partition, the other half the SCC pass's block cache
+    private int edgesPerPartition() {
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE - 8,
+                memoryBudgetBytes / (2L * BYTES_PER_PARTITION_EDGE)));
+    }
+
+    private ExternalResult run(PartitionWriter partitionWriter, int[] nodeDurations, String weightModel) throws IOException {
+        Metrics metrics = Metrics.create();
+        metrics.startTimer();
+        Files.createDirectories(workDirectory);
+
+        int bufferBytes = (int) Math.max(1 << 12, Math.min(1 << 20, memoryBudgetBytes / 16));
+        // Both condensation sorters hold a buffer at the same time
+        int recordsInMemory = (int) Math.max(1, Math.min(Integer.MAX_VALUE / ExternalSorter.WIDTH,
+                memoryBudgetBytes / (2 * BYTES_PER_SORT_RECORD)));
+
+        Path condensationFile = workDirectory.resolve(CONDENSATION_FILE);
+        Path orderFile = workDirectory.resolve(TOPOLOGICAL_ORDER_FILE);
+        Path targetsFile = workDirectory.resolve("condensation.targets");
+        try (EdgePartitions partitions = partitionWriter.write(metrics)) {
+            SemiExternalSCC scc = new SemiExternalSCC(partitions, memoryBudgetBytes / 2, bufferBytes, metrics);
+            int[] result = scc.run();
+            int n = partitions.getNodeCount();
+            int componentCount = result[n];
+            int[] componentOf = Arrays.copyOf(result, n);
+
+            ExternalCondensation condensation = ExternalCondensation.write(partitions, componentOf,
+                    componentCount,
+                    CondensationBuilder.componentDurations(nodeDurations, componentOf, componentCount),
+                    weightModel, weightAggregation, condensationFile, targetsFile,
+                    recordsInMemory, bufferBytes, metrics);
+
+            int[] order = new ExternalTopologicalSort(condensation.getOffsets(), targetsFile, bufferBytes, metrics)
+                    .sort();
+            try (IntFileWriter writer = new IntFileWriter(orderFile, bufferBytes)) {
+                for (int c : order) {
+                    writer.put(c);
+                }
+            }
+
+            metrics.stopTimer();
+            return new ExternalResult(componentOf, componentCount, condensation.getEdgeCount(),
+                    condensationFile, orderFile,
+                    partitions.getPartitionCount(false) + partitions.getPartitionCount(true),
+                    scc.getPartitionLoads(), scc.getBytesRead(), metrics);
+        } finally {
+            Files.deleteIfExists(targetsFile);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package graph.external;
+
+import graph.Metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * What an {@link ExternalPipeline} run leaves behind: the component of every node in
+ * memory, and on disk the condensation DAG as a binary graph file plus its topological
+ * order as a headerless file of little-endian ints.
+ */
+public class ExternalResult {
+    private final int[] componentOf;
+    private final int componentCount;
+    private final int condensationEdgeCount;
+    private final Path condensationFile;
+    private final Path topologicalOrderFile;
+    private final int partitionCount;
+    private final int partitionLoads;
+    private final long bytesRead;
+    private final Metrics metrics;
+
+    ExternalResult(int[] componentOf, int componentCount, int condensationEdgeCount, Path condensationFile,
+                   Path topologicalOrderFile, int partitionCount, int partitionLoads, long bytesRead, Metrics metrics) {
+        this.componentOf = componentOf;
+        this.componentCount = componentCount;
+        this.condensationEdgeCount = condensationEdgeCount;
+        this.condensationFile = condensationFile;
+        this.topologicalOrderFile = topologicalOrderFile;
+        this.partitionCount = partitionCount;
+        this.partitionLoads = partitionLoads;
+        this.bytesRead = bytesRead;
+        this.metrics = metrics;
+    }
+
+    // Components are numbered by their smallest node, as in TarjanSCC
+    public int getComponentOf(int node) {
+        return componentOf[node];
+    }
+
+    public int[] getComponentIndex() {
+        return componentOf;
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    public int getCondensationEdgeCount() {
+        return condensationEdgeCount;
+    }
+
+    // Load with GraphParser.load or BinaryGraphLoader.load
+    public Path getCondensationFile() {
+        return condensationFile;
+    }
+
+    public Path getTopologicalOrderFile() {
+        return topologicalOrderFile;
+    }
+
+    // Forward plus reverse edge partitions
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    // How often a partition was read back from disk
+    public int getPartitionLoads() {
+        return partitionLoads;
+    }
+
+    // Edge bytes the SCC pass read back from disk
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public int[] readTopologicalOrder() throws IOException {
+        int[] order = new int[(int) (Files.size(topologicalOrderFile) / Integer.BYTES)];
+        try (IntFileReader reader = new IntFileReader(topologicalOrderFile, 1 << 16)) {
+            for (int i = 0; i < order.length; i++) {
+                order[i] = reader.next();
+            }
+        }
+        return order;
+    }
+}
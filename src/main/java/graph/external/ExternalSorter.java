@@ -0,0 +1,247 @@
+package graph.external;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sorts records of four ints that do not fit in memory: records are collected in a
+ * bounded buffer, each full buffer is sorted stably and written as a run, and the runs
+ * are merged with a heap, preferring earlier runs on ties so the sort stays stable
+ * overall. An optional combiner folds neighbouring records with the same key, inside
+ * runs and again while merging, so duplicates never reach the output.
+ */
+final class ExternalSorter {
+    static final int WIDTH = 4;
+
+    interface RecordOrder {
+        int compare(int[] a, int i, int[] b, int j);
+    }
+
+    interface Combiner {
+        // Folds record b[j] into a[i] and returns true when both have the same key
+        boolean combine(int[] a, int i, int[] b, int j);
+    }
+
+    interface RecordSink {
+        void accept(int a, int b, int c, int d) throws IOException;
+    }
+
+    private final Path directory;
+    private final String name;
+    private final int bufferBytes;
+    private final RecordOrder order;
+    private final Combiner combiner;
+    private final int[] records;
+    private final int[] index;
+    private final int[] scratch;
+    private final List<Path> runs = new ArrayList<>();
+    private int count;
+
+    ExternalSorter(Path directory, String name, int recordsInMemory, int bufferBytes,
+                   RecordOrder order, Combiner combiner) {
+        this.directory = directory;
+        this.name = name;
+        this.bufferBytes = bufferBytes;
+        this.order = order;
+        this.combiner = combiner;
+        int capacity = Math.max(1, recordsInMemory);
+        this.records = new int[capacity * WIDTH];
+        this.index = new int[capacity];
+        this.scratch = new int[capacity];
+    }
+
+    void add(int a, int b, int c, int d) throws IOException {
+        if (count == index.length) {
+            spill();
+        }
+        int base = count * WIDTH;
+        records[base] = a;
+        records[base + 1] = b;
+        records[base + 2] = c;
+        records[base + 3] = d;
+        count++;
+    }
+
+    int getRunCount() {
+        return runs.size();
+    }
+
+    // Emits every record in order, then deletes the runs
+    void finish(RecordSink sink) throws IOException {
+        try {
+            if (runs.isEmpty()) {
+                sortBuffer();
+                emitBuffer(sink);
+                return;
+            }
+            if (count > 0) {
+                spill();
+            }
+            merge(sink);
+        } finally {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+            runs.clear();
+        }
+    }
+
+    private void spill() throws IOException {
+        sortBuffer();
+        Path run = directory.resolve(name + "-run-" + runs.size() + ".records");
+        runs.add(run);
+        try (IntFileWriter writer = new IntFileWriter(run, bufferBytes)) {
+            emitBuffer(writer::put4);
+        }
+        count = 0;
+    }
+
+    private void emitBuffer(RecordSink sink) throws IOException {
+        int[] pending = new int[WIDTH];
+        boolean hasPending = false;
+        for (int k = 0; k < count; k++) {
+            int base = index[k] * WIDTH;
+            if (hasPending && combiner != null && combiner.combine(pending, 0, records, base)) {
+                continue;
+            }
+            if (hasPending) {
+                sink.accept(pending[0], pending[1], pending[2], pending[3]);
+            }
+            System.arraycopy(records, base, pending, 0, WIDTH);
+            hasPending = true;
+        }
+        if (hasPending) {
+            sink.accept(pending[0], pending[1], pending[2], pending[3]);
+        }
+    }
+
+    // Bottom-up merge sort of record indices; stable, no boxing
+    private void sortBuffer() {
+        for (int i = 0; i < count; i++) {
+            index[i] = i;
+        }
+        int[] from = index;
+        int[] to = scratch;
+        for (int width = 1; width < count; width *= 2) {
+            for (int lo = 0; lo < count; lo += 2 * width) {
+                int mid = Math.min(count, lo + width);
+                int hi = Math.min(count, lo + 2 * width);
+                int i = lo;
+                int j = mid;
+                for (int k = lo; k < hi; k++) {
+                    if (i < mid && (j >= hi || order.compare(records, from[i] * WIDTH, records, from[j] * WIDTH) <= 0)) {
+                        to[k] = from[i++];
+                    } else {
+                        to[k] = from[j++];
+                    }
+                }
+            }
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != index) {
+            System.arraycopy(from, 0, index, 0, count);
+        }
+    }
+
+    private void merge(RecordSink sink) throws IOException {
+        int k = runs.size();
+        int readerBytes = Math.max(1 << 12, Math.min(bufferBytes, records.length * Integer.BYTES / k));
+        IntFileReader[] readers = new IntFileReader[k];
+        int[] heads = new int[k * WIDTH];
+        int[] heap = new int[k];
+        int size = 0;
+        try {
+            for (int r = 0; r < k; r++) {
+                readers[r] = new IntFileReader(runs.get(r), readerBytes);
+                if (readHead(readers[r], heads, r)) {
+                    heap[size++] = r;
+                    siftUp(heap, size - 1, heads);
+                }
+            }
+
+            int[] pending = new int[WIDTH];
+            boolean hasPending = false;
+            while (size > 0) {
+                int r = heap[0];
+                int base = r * WIDTH;
+                if (!(hasPending && combiner != null && combiner.combine(pending, 0, heads, base))) {
+                    if (hasPending) {
+                        sink.accept(pending[0], pending[1], pending[2], pending[3]);
+                    }
+                    System.arraycopy(heads, base, pending, 0, WIDTH);
+                    hasPending = true;
+                }
+                if (!readHead(readers[r], heads, r)) {
+                    heap[0] = heap[--size];
+                }
+                siftDown(heap, size, heads);
+            }
+            if (hasPending) {
+                sink.accept(pending[0], pending[1], pending[2], pending[3]);
+            }
+        } finally {
+            for (IntFileReader reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+        }
+    }
+
+    private static boolean readHead(IntFileReader reader, int[] heads, int run) throws IOException {
+        if (!reader.hasNext()) {
+            return false;
+        }
+        int base = run * WIDTH;
+        for (int i = 0; i < WIDTH; i++) {
+            heads[base + i] = reader.next();
+        }
+        return true;
+    }
+
+    private boolean before(int[] heads, int r, int s) {
+        int c = order.compare(heads, r * WIDTH, heads, s * WIDTH);
+        return c < 0 || (c == 0 && r < s);
+    }
+
+    private void siftUp(int[] heap, int i, int[] heads) {
+        int run = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(heads, run, heap[parent])) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = run;
+    }
+
+    private void siftDown(int[] heap, int size, int[] heads) {
+        if (size == 0) {
+            return;
+        }
+        int run = heap[0];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && before(heads, heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!before(heads, heap[child], run)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = run;
+    }
+}
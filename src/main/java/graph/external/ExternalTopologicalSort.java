@@ -0,0 +1,132 @@
+package graph.external;
+
+import graph.Metrics;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Kahn's algorithm over a DAG whose edge targets live in a file, producing exactly the
+ * order of TopologicalSort.kahnAlgorithm. The in-degrees and the queue (which is the
+ * order itself) stay in memory. The queued nodes are taken in batches whose edges fit
+ * the buffer; a batch's edge ranges are read in ascending file position and then the
+ * nodes are processed in queue order, so the FIFO order is unchanged.
+ */
+final class ExternalTopologicalSort {
+    private final int[] offsets;
+    private final Path targetsFile;
+    private final int bufferInts;
+    private final Metrics metrics;
+
+    ExternalTopologicalSort(int[] offsets, Path targetsFile, int bufferBytes, Metrics metrics) {
+        this.offsets = offsets;
+        this.targetsFile = targetsFile;
+        this.bufferInts = Math.max(1, bufferBytes / Integer.BYTES);
+        this.metrics = metrics;
+    }
+
+    // Returns the order; shorter than the node count if the graph has a cycle
+    int[] sort() throws IOException {
+        int n = offsets.length - 1;
+        int[] inDegree = new int[n];
+        try (IntFileReader reader = new IntFileReader(targetsFile, bufferInts * Integer.BYTES)) {
+            while (reader.hasNext()) {
+                inDegree[reader.next()]++;
+                metrics.incrementKahnOperations();
+            }
+        }
+
+        int[] order = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) {
+                order[tail++] = v;
+            }
+        }
+
+        int[] batch = new int[0];
+        int[] batchStart = new int[0];
+        int[] edges = new int[0];
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bufferInts * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel channel = FileChannel.open(targetsFile, StandardOpenOption.READ)) {
+            while (head < tail) {
+                // Queued nodes up to the edge budget, at least one
+                int stop = head;
+                long edgeTotal = 0;
+                while (stop < tail && (stop == head || edgeTotal + degree(order[stop]) <= bufferInts)) {
+                    edgeTotal += degree(order[stop]);
+                    stop++;
+                }
+                int size = stop - head;
+                if (batch.length < size) {
+                    batch = new int[size];
+                    batchStart = new int[size];
+                }
+                if (edges.length < edgeTotal) {
+                    edges = new int[(int) edgeTotal];
+                }
+
+                // Ranges grow with the node id, so reading nodes in id order reads the file front to back
+                System.arraycopy(order, head, batch, 0, size);
+                Arrays.sort(batch, 0, size);
+                int filled = 0;
+                for (int i = 0; i < size; i++) {
+                    batchStart[i] = filled;
+                    int from = offsets[batch[i]];
+                    int count = offsets[batch[i] + 1] - from;
+                    read(channel, buffer, from, edges, filled, count);
+                    filled += count;
+                }
+
+                for (; head < stop; head++) {
+                    metrics.incrementKahnOperations();
+                    int u = order[head];
+                    int slot = Arrays.binarySearch(batch, 0, size, u);
+                    for (int e = batchStart[slot], end = e + degree(u); e < end; e++) {
+                        metrics.incrementOperation(); // process edge
+                        int v = edges[e];
+                        if (--inDegree[v] == 0) {
+                            order[tail++] = v;
+                            metrics.incrementKahnOperations();
+                        }
+                    }
+                }
+            }
+        }
+        return tail == n ? order : Arrays.copyOf(order, tail);
+    }
+
+    private int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    private static void read(FileChannel channel, ByteBuffer buffer, long firstInt, int[] into, int at, int count)
+            throws IOException {
+        long position = firstInt * Integer.BYTES;
+        while (count > 0) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), (long) count * Integer.BYTES));
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new EOFException("Targets file ends before edge " + (position / Integer.BYTES));
+                }
+                position += read;
+            }
+            buffer.flip();
+            IntBuffer ints = buffer.asIntBuffer();
+            int got = ints.remaining();
+            ints.get(into, at, got);
+            at += got;
+            count -= got;
+        }
+    }
+}
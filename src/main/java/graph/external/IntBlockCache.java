@@ -0,0 +1,81 @@
+package graph.external;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Random access to a file of little-endian ints through a direct-mapped cache of small
+ * blocks, for access patterns like a DFS that mostly stay near recently read positions.
+ * A block is read with one positional read the first time it is needed after being
+ * evicted by another block mapping to the same slot.
+ */
+final class IntBlockCache implements AutoCloseable {
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final int blockShift;
+    private final int blockMask;
+    private final long[] tags;
+    private final int[] data;
+    private final long length;
+    private long blockReads;
+
+    IntBlockCache(Path path, int blockShift, int slots) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.blockShift = blockShift;
+        this.blockMask = (1 << blockShift) - 1;
+        this.length = channel.size() / Integer.BYTES;
+        // No more slots than the file has blocks
+        int used = (int) Math.max(1, Math.min(slots, (length + blockMask) >>> blockShift));
+        this.tags = new long[used];
+        this.data = new int[used << blockShift];
+        this.buffer = ByteBuffer.allocateDirect(Integer.BYTES << blockShift).order(ByteOrder.LITTLE_ENDIAN);
+        Arrays.fill(tags, -1);
+    }
+
+    int get(long index) throws IOException {
+        long block = index >>> blockShift;
+        int slot = (int) (block % tags.length);
+        if (tags[slot] != block) {
+            fill(slot, block);
+        }
+        return data[(slot << blockShift) + (int) (index & blockMask)];
+    }
+
+    long getBlockReads() {
+        return blockReads;
+    }
+
+    long getBytesRead() {
+        return blockReads << blockShift << 2;
+    }
+
+    private void fill(int slot, long block) throws IOException {
+        long first = block << blockShift;
+        int count = (int) Math.min(1L << blockShift, length - first);
+        long position = first * Integer.BYTES;
+        buffer.clear();
+        buffer.limit(count * Integer.BYTES);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("File ends before int " + (first + count));
+            }
+            position += read;
+        }
+        buffer.flip();
+        buffer.asIntBuffer().get(data, slot << blockShift, count);
+        tags[slot] = block;
+        blockReads++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,68 @@
+package graph.external;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads little-endian ints sequentially from a file, or from a range of it, through
+ * one direct buffer.
+ */
+final class IntFileReader implements AutoCloseable {
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long position;
+    private long remaining;
+
+    IntFileReader(Path path, int bufferBytes) throws IOException {
+        this(path, 0, -1, bufferBytes);
+    }
+
+    // count < 0 reads to the end of the file
+    IntFileReader(Path path, long firstInt, long count, int bufferBytes) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocateDirect(Math.max(Integer.BYTES, bufferBytes & ~3))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        this.position = firstInt * Integer.BYTES;
+        this.remaining = count >= 0 ? count : channel.size() / Integer.BYTES - firstInt;
+        buffer.limit(0);
+    }
+
+    boolean hasNext() {
+        return remaining > 0;
+    }
+
+    int next() throws IOException {
+        if (remaining <= 0) {
+            throw new EOFException("No more ints to read");
+        }
+        if (buffer.remaining() < Integer.BYTES) {
+            fill();
+        }
+        remaining--;
+        return buffer.getInt();
+    }
+
+    private void fill() throws IOException {
+        buffer.compact();
+        long wanted = Math.min(buffer.remaining(), remaining * Integer.BYTES - buffer.position());
+        buffer.limit(buffer.position() + (int) wanted);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("File ends before the expected ints");
+            }
+            position += read;
+        }
+        buffer.flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
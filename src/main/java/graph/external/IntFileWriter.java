@@ -0,0 +1,62 @@
+package graph.external;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends little-endian ints to a file through one direct buffer, so every write
+ * that reaches the disk is a large sequential one.
+ */
+final class IntFileWriter implements AutoCloseable {
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long count;
+
+    IntFileWriter(Path path, int bufferBytes) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(Math.max(Integer.BYTES, bufferBytes & ~3))
+                .order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    void put(int value) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.putInt(value);
+        count++;
+    }
+
+    // One sorter record; matches ExternalSorter.RecordSink
+    void put4(int a, int b, int c, int d) throws IOException {
+        put(a);
+        put(b);
+        put(c);
+        put(d);
+    }
+
+    long count() {
+        return count;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
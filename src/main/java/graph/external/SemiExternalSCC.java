@@ -0,0 +1,171 @@
+package graph.external;
+
+import graph.Metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Semi-external Kosaraju: per-node state (visited bits, edge offsets, finishing times,
+ * labels and the DFS stack) stays in memory while edges are only read from disk.
+ *
+ * Both passes are iterative DFS over one targets file per direction, written in CSR
+ * order from the partitions and read through a small block cache, so jumping between
+ * distant nodes costs one small read instead of loading a whole partition. The first
+ * pass records finishing times over the forward edges; the second runs over the reverse
+ * edges from roots in decreasing finishing time, and every tree it grows is one
+ * component. Each pass visits every node and edge once.
+ */
+final class SemiExternalSCC {
+    // 64 ints per cached block: small enough that random jumps read little
+    private static final int BLOCK_SHIFT = 6;
+
+    private final EdgePartitions partitions;
+    private final int blockSlots;
+    private final int bufferBytes;
+    private final Metrics metrics;
+    private final EdgePartitions.Partition loaded = new EdgePartitions.Partition();
+    private int partitionLoads;
+    private long bytesRead;
+
+    private final int n;
+    private final int[] stack;
+    private final long[] cursor;
+
+    SemiExternalSCC(EdgePartitions partitions, long cacheBytes, int bufferBytes, Metrics metrics) {
+        this.partitions = partitions;
+        this.blockSlots = (int) Math.max(16, Math.min(1 << 24, cacheBytes / (Integer.BYTES << BLOCK_SHIFT)));
+        this.bufferBytes = bufferBytes;
+        this.metrics = metrics;
+        this.n = partitions.getNodeCount();
+        this.stack = new int[n];
+        this.cursor = new long[n];
+    }
+
+    /**
+     * Returns componentOf with components numbered by their smallest node, the order
+     * TarjanSCC uses, and the number of components in the last slot.
+     */
+    int[] run() throws IOException {
+        int[] finished = new int[n];
+        int[] members = new int[n];
+        int[] label = new int[n];
+        search(false, null, finished, null);
+        search(true, finished, members, label);
+        return renumber(label);
+    }
+
+    int getPartitionLoads() {
+        return partitionLoads;
+    }
+
+    // Edge bytes read back from disk, partitions and DFS blocks together
+    long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * DFS over all nodes of one direction, taking roots in the given order or by id, and
+     * appending nodes to out as they finish. If label is given, label[v] becomes the
+     * root of v's tree.
+     */
+    private void search(boolean reverse, int[] roots, int[] out, int[] label) throws IOException {
+        Path targetsFile = partitions.getDirectory().resolve(reverse ? "reverse.targets" : "forward.targets");
+        long[] offsets = writeTargets(reverse, targetsFile);
+        BitSet visited = new BitSet(n);
+        int time = 0;
+        try (IntBlockCache targets = new IntBlockCache(targetsFile, BLOCK_SHIFT, blockSlots)) {
+            for (int i = 0; i < n; i++) {
+                int root = roots == null ? i : roots[n - 1 - i];
+                if (visited.get(root)) {
+                    continue;
+                }
+                int first = time;
+                time = search(targets, offsets, root, visited, out, time);
+                for (int j = first; label != null && j < time; j++) {
+                    label[out[j]] = root;
+                }
+            }
+            bytesRead += targets.getBytesRead();
+        } finally {
+            Files.deleteIfExists(targetsFile);
+        }
+    }
+
+    // Iterative DFS from root; a frame keeps the position of its next edge in the targets file
+    private int search(IntBlockCache targets, long[] offsets, int root, BitSet visited, int[] out, int time)
+            throws IOException {
+        int top = 0;
+        stack[top] = root;
+        cursor[top++] = offsets[root];
+        visited.set(root);
+        metrics.incrementDfsVisits();
+        while (top > 0) {
+            int u = stack[top - 1];
+            long e = cursor[top - 1];
+            long end = offsets[u + 1];
+            int v = -1;
+            while (e < end) {
+                int w = targets.get(e++);
+                metrics.incrementEdgeRelaxations();
+                if (!visited.get(w)) {
+                    v = w;
+                    break;
+                }
+            }
+            cursor[top - 1] = e;
+            if (v >= 0) {
+                visited.set(v);
+                metrics.incrementDfsVisits();
+                stack[top] = v;
+                cursor[top++] = offsets[v];
+            } else {
+                top--;
+                out[time++] = u;
+                metrics.incrementOperation();
+            }
+        }
+        return time;
+    }
+
+    // One sequential pass over the partitions; returns where each node's targets start
+    private long[] writeTargets(boolean reverse, Path targetsFile) throws IOException {
+        long[] offsets = new long[n + 1];
+        long position = 0;
+        try (IntFileWriter writer = new IntFileWriter(targetsFile, bufferBytes)) {
+            for (int p = 0; p < partitions.getPartitionCount(reverse); p++) {
+                partitions.load(reverse, p, loaded, bufferBytes);
+                partitionLoads++;
+                bytesRead += (long) loaded.size * (reverse ? 2 : 3) * Integer.BYTES;
+                for (int u = loaded.first; u < loaded.end; u++) {
+                    offsets[u] = position;
+                    for (int e = loaded.edgeStart(u), end = loaded.edgeEnd(u); e < end; e++) {
+                        writer.put(loaded.targets[e]);
+                        position++;
+                    }
+                }
+            }
+        }
+        offsets[n] = position;
+        return offsets;
+    }
+
+    private int[] renumber(int[] componentOf) {
+        int[] ordinal = new int[n];
+        Arrays.fill(ordinal, -1);
+        int[] result = new int[n + 1];
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            int raw = componentOf[v];
+            if (ordinal[raw] == -1) {
+                ordinal[raw] = count++;
+            }
+            result[v] = ordinal[raw];
+        }
+        result[n] = count;
+        return result;
+    }
+}
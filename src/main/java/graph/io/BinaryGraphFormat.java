@@ -0,0 +1,48 @@
+package graph.io;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the binary graph file. All values are little-endian ints:
+ * <pre>
+ * header   magic, version, flags, n, m (CSR entries), source, 2 reserved
+ * offsets  n + 1 ints
+ * targets  m ints
+ * weights  m ints
+ * durations n ints
+ * </pre>
+ * Undirected graphs are stored with both directions expanded, exactly like the in-memory CSR.
+ */
+final class BinaryGraphFormat {
+    static final int MAGIC = 0x48504147; // "GAPH" read as little-endian bytes
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8 * Integer.BYTES;
+
+    static final int FLAG_DIRECTED = 1;
+    static final int FLAG_NODE_WEIGHTS = 1 << 1;
+
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private BinaryGraphFormat() {
+    }
+
+    static long offsetsPosition() {
+        return HEADER_BYTES;
+    }
+
+    static long targetsPosition(int n) {
+        return offsetsPosition() + (long) (n + 1) * Integer.BYTES;
+    }
+
+    static long weightsPosition(int n, int m) {
+        return targetsPosition(n) + (long) m * Integer.BYTES;
+    }
+
+    static long durationsPosition(int n, int m) {
+        return weightsPosition(n, m) + (long) m * Integer.BYTES;
+    }
+
+    static long fileSize(int n, int m) {
+        return durationsPosition(n, m) + (long) n * Integer.BYTES;
+    }
+}
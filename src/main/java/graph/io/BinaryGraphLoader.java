@@ -0,0 +1,74 @@
+package graph.io;
+
+import graph.Graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Opens a file written by {@link BinaryGraphWriter} by memory-mapping its sections,
+ * so opening cost does not depend on the number of edges.
+ */
+public class BinaryGraphLoader {
+
+    public static LoadedGraph load(String filePath) throws IOException {
+        return load(Paths.get(filePath));
+    }
+
+    public static LoadedGraph load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(BinaryGraphFormat.HEADER_BYTES).order(BinaryGraphFormat.ORDER);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException("Truncated header in " + path);
+                }
+            }
+            header.flip();
+
+            if (header.getInt() != BinaryGraphFormat.MAGIC) {
+                throw new IOException("Not a binary graph file: " + path);
+            }
+            int version = header.getInt();
+            if (version != BinaryGraphFormat.VERSION) {
+                throw new IOException("Unsupported binary graph version " + version + " in " + path);
+            }
+            int flags = header.getInt();
+            int n = header.getInt();
+            int m = header.getInt();
+            int source = header.getInt();
+
+            if (channel.size() < BinaryGraphFormat.fileSize(n, m)) {
+                throw new IOException("Truncated binary graph file: " + path);
+            }
+
+            // The mappings stay valid after the channel is closed
+            IntBuffer offsets = map(channel, BinaryGraphFormat.offsetsPosition(), n + 1);
+            IntBuffer targets = map(channel, BinaryGraphFormat.targetsPosition(n), m);
+            IntBuffer weights = map(channel, BinaryGraphFormat.weightsPosition(n, m), m);
+
+            // Durations are only n ints, copying them keeps Graph's int[] API
+            int[] durations = new int[n];
+            map(channel, BinaryGraphFormat.durationsPosition(n, m), n).get(durations);
+
+            boolean directed = (flags & BinaryGraphFormat.FLAG_DIRECTED) != 0;
+            String weightModel = (flags & BinaryGraphFormat.FLAG_NODE_WEIGHTS) != 0 ? "node" : "edge";
+            MappedAdjacency adjacency = new MappedAdjacency(n, offsets, targets, weights);
+            return new LoadedGraph(new Graph(adjacency, directed, weightModel, durations), source);
+        }
+    }
+
+    private static IntBuffer map(FileChannel channel, long position, int ints) throws IOException {
+        long bytes = (long) ints * Integer.BYTES;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IOException("Section of " + ints + " ints exceeds the 2 GB mapping limit");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, bytes);
+        return buffer.order(BinaryGraphFormat.ORDER).asIntBuffer();
+    }
+}
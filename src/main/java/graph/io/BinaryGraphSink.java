@@ -0,0 +1,103 @@
+package graph.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a binary graph file whose edges arrive in pieces, for graphs too large to
+ * build in memory first. The offsets are needed up front; edge ranges can then be
+ * written in any order because every range goes to its own file position.
+ */
+public class BinaryGraphSink implements AutoCloseable {
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final int n;
+    private final int m;
+
+    // offsets has n + 1 entries; offsets[n] is the edge count
+    public BinaryGraphSink(Path path, int[] offsets, boolean directed, String weightModel, int source)
+            throws IOException {
+        this.n = offsets.length - 1;
+        this.m = offsets[n];
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(BinaryGraphFormat.ORDER);
+
+        int flags = 0;
+        if (directed) {
+            flags |= BinaryGraphFormat.FLAG_DIRECTED;
+        }
+        if ("node".equals(weightModel)) {
+            flags |= BinaryGraphFormat.FLAG_NODE_WEIGHTS;
+        }
+        buffer.putInt(BinaryGraphFormat.MAGIC).putInt(BinaryGraphFormat.VERSION).putInt(flags)
+                .putInt(n).putInt(m).putInt(source).putInt(0).putInt(0);
+        long position = 0;
+        position = writeInts(position, offsets, 0, offsets.length);
+
+        // Durations are all zero; extend the file to its final size so edge ranges can land anywhere
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            buffer.put((byte) 0);
+        }
+        long end = BinaryGraphFormat.fileSize(n, m);
+        long zeroFrom = BinaryGraphFormat.durationsPosition(n, m);
+        while (zeroFrom < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - zeroFrom));
+            zeroFrom += write(zeroFrom);
+        }
+        buffer.clear();
+    }
+
+    // Targets and weights of the edges firstEdge .. firstEdge + count - 1
+    public void writeEdges(int firstEdge, int[] targets, int[] weights, int count) throws IOException {
+        if (firstEdge < 0 || count < 0 || firstEdge + count > m) {
+            throw new IllegalArgumentException("Edge range exceeds the declared edge count");
+        }
+        writeInts(BinaryGraphFormat.targetsPosition(n) + (long) firstEdge * Integer.BYTES, targets, 0, count);
+        writeInts(BinaryGraphFormat.weightsPosition(n, m) + (long) firstEdge * Integer.BYTES, weights, 0, count);
+    }
+
+    // Replaces the zero durations written by the constructor
+    public void writeDurations(int[] durations) throws IOException {
+        if (durations.length != n) {
+            throw new IllegalArgumentException("Expected " + n + " durations, got " + durations.length);
+        }
+        writeInts(BinaryGraphFormat.durationsPosition(n, m), durations, 0, n);
+    }
+
+    // Appends after whatever is already buffered (the header on the first call)
+    private long writeInts(long position, int[] values, int from, int to) throws IOException {
+        for (int i = from; i < to; i++) {
+            if (buffer.remaining() < Integer.BYTES) {
+                buffer.flip();
+                position += write(position);
+                buffer.clear();
+            }
+            buffer.putInt(values[i]);
+        }
+        buffer.flip();
+        position += write(position);
+        buffer.clear();
+        return position;
+    }
+
+    private int write(long position) throws IOException {
+        int written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+        return written;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,99 @@
+package graph.io;
+
+import graph.Adjacency;
+import graph.Graph;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Writes graphs in the binary format read by {@link BinaryGraphLoader}.
+ * Run as a program to convert JSON inputs: {@code BinaryGraphWriter tasks.json data}
+ * writes a .bin file next to every .json file given directly or found in a directory.
+ */
+public class BinaryGraphWriter {
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: BinaryGraphWriter <file.json|directory>...");
+            return;
+        }
+        for (String arg : args) {
+            convert(new File(arg));
+        }
+    }
+
+    private static void convert(File file) throws IOException {
+        if (file.isDirectory()) {
+            File[] children = file.listFiles();
+            if (children != null) {
+                Arrays.sort(children);
+                for (File child : children) {
+                    convert(child);
+                }
+            }
+        } else if (file.getName().endsWith(".json")) {
+            String output = file.getPath().substring(0, file.getPath().length() - ".json".length()) + ".bin";
+            LoadedGraph loaded = JsonGraphLoader.load(file.getPath());
+            write(loaded.getGraph(), loaded.getSource(), Paths.get(output));
+            System.out.println("Converted: " + file.getPath() + " -> " + output);
+        }
+    }
+
+    public static void write(Graph graph, int source, Path path) throws IOException {
+        Adjacency adjacency = graph.adjacency();
+        int n = adjacency.getNodeCount();
+        int m = adjacency.getEdgeCount();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(BinaryGraphFormat.ORDER);
+
+            int flags = 0;
+            if (graph.isDirected()) {
+                flags |= BinaryGraphFormat.FLAG_DIRECTED;
+            }
+            if ("node".equals(graph.getWeightModel())) {
+                flags |= BinaryGraphFormat.FLAG_NODE_WEIGHTS;
+            }
+            buffer.putInt(BinaryGraphFormat.MAGIC).putInt(BinaryGraphFormat.VERSION).putInt(flags)
+                    .putInt(n).putInt(m).putInt(source).putInt(0).putInt(0);
+
+            for (int u = 0; u <= n; u++) {
+                put(channel, buffer, u < n ? adjacency.edgeStart(u) : m);
+            }
+            for (int e = 0; e < m; e++) {
+                put(channel, buffer, adjacency.target(e));
+            }
+            for (int e = 0; e < m; e++) {
+                put(channel, buffer, adjacency.weight(e));
+            }
+            for (int duration : graph.getNodeDurations()) {
+                put(channel, buffer, duration);
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    private static void put(FileChannel channel, ByteBuffer buffer, int value) throws IOException {
+        if (buffer.remaining() < Integer.BYTES) {
+            flush(channel, buffer);
+        }
+        buffer.putInt(value);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -5,14 +5,18 @@ import graph.scc.SCCResult;
 import graph.topo.TopoResult;
 import graph.dagsp.CriticalPathResult;
 
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 
 public class CSVReportGenerator {
+    public static final String PERFORMANCE_HEADER =
+            "Dataset,Nodes,Edges,Algorithm,Time(ns),Operations,DFS_Visits,Edge_Relaxations,Kahn_Operations";
+    public static final String HISTORY_HEADER = "Timestamp," + PERFORMANCE_HEADER;
 
     public static void generatePerformanceReport(String filename,
                                                  String datasetName,
@@ -22,57 +26,73 @@ public class CSVReportGenerator {
                                                  TopoResult topoResult,
                                                  CriticalPathResult criticalResult) throws IOException {
 
-        try (FileWriter writer = new FileWriter(filename)) {
-            // Header
-            writer.write("Dataset,Nodes,Edges,Algorithm,Time(ns),Operations,DFS_Visits,Edge_Relaxations,Kahn_Operations\n");
-
-            // SCC metrics
-            Metrics sccMetrics = sccResult.getMetrics();
-            writer.write(String.format("%s,%d,%d,SCC,%d,%d,%d,%d,%d\n",
-                    datasetName, nodes, edges,
-                    sccMetrics.getElapsedTimeNanos(),
-                    sccMetrics.getOperationCount(),
-                    sccMetrics.getDfsVisits(),
-                    sccMetrics.getEdgeRelaxations(),
-                    sccMetrics.getKahnOperations()));
+        try (StreamingCSVWriter writer = new StreamingCSVWriter(Paths.get(filename), PERFORMANCE_HEADER, false)) {
+            writePerformanceRow(writer, datasetName, nodes, edges, "SCC", sccResult.getMetrics());
+            writePerformanceRow(writer, datasetName, nodes, edges, "TopologicalSort", topoResult.getMetrics());
+            writePerformanceRow(writer, datasetName, nodes, edges, "CriticalPath", criticalResult.getMetrics());
+        }
+    }
 
-            // Topological Sort metrics
-            Metrics topoMetrics = topoResult.getMetrics();
-            writer.write(String.format("%s,%d,%d,TopologicalSort,%d,%d,%d,%d,%d\n",
-                    datasetName, nodes, edges,
-                    topoMetrics.getElapsedTimeNanos(),
-                    topoMetrics.getOperationCount(),
-                    topoMetrics.getDfsVisits(),
-                    topoMetrics.getEdgeRelaxations(),
-                    topoMetrics.getKahnOperations()));
+    /**
+     * Appends the same rows with a leading timestamp, so repeated runs build a time series
+     * in one file. A ".gz" filename is written compressed.
+     */
+    public static void appendPerformanceHistory(String filename,
+                                                Instant timestamp,
+                                                String datasetName,
+                                                int nodes,
+                                                int edges,
+                                                SCCResult sccResult,
+                                                TopoResult topoResult,
+                                                CriticalPathResult criticalResult) throws IOException {
 
-            // Critical Path metrics
-            Metrics criticalMetrics = criticalResult.getMetrics();
-            writer.write(String.format("%s,%d,%d,CriticalPath,%d,%d,%d,%d,%d\n",
-                    datasetName, nodes, edges,
-                    criticalMetrics.getElapsedTimeNanos(),
-                    criticalMetrics.getOperationCount(),
-                    criticalMetrics.getDfsVisits(),
-                    criticalMetrics.getEdgeRelaxations(),
-                    criticalMetrics.getKahnOperations()));
+        String time = timestamp.toString();
+        try (StreamingCSVWriter writer = new StreamingCSVWriter(Paths.get(filename), HISTORY_HEADER, true)) {
+            writer.field(time);
+            writePerformanceRow(writer, datasetName, nodes, edges, "SCC", sccResult.getMetrics());
+            writer.field(time);
+            writePerformanceRow(writer, datasetName, nodes, edges, "TopologicalSort", topoResult.getMetrics());
+            writer.field(time);
+            writePerformanceRow(writer, datasetName, nodes, edges, "CriticalPath", criticalResult.getMetrics());
         }
     }
 
+    // One algorithm's counters as a row under PERFORMANCE_HEADER
+    public static void writePerformanceRow(StreamingCSVWriter writer, String datasetName, int nodes, int edges,
+                                           String algorithm, Metrics metrics) throws IOException {
+        writer.field(datasetName).field(nodes).field(edges).field(algorithm)
+                .field(metrics.getElapsedTimeNanos())
+                .field(metrics.getOperationCount())
+                .field(metrics.getDfsVisits())
+                .field(metrics.getEdgeRelaxations())
+                .field(metrics.getKahnOperations());
+        writer.endRow();
+    }
+
     public static void generateSCCAnalysis(String filename,
                                            List<List<Integer>> components,
                                            int[] componentSizes) throws IOException {
 
-        try (FileWriter writer = new FileWriter(filename)) {
-            writer.write("Component_ID,Size,Nodes\n");
-
+        try (StreamingCSVWriter writer = new StreamingCSVWriter(Paths.get(filename), "Component_ID,Size,Nodes", false)) {
             for (int i = 0; i < components.size(); i++) {
-                List<Integer> sortedNodes = new ArrayList<>(components.get(i));
-                Collections.sort(sortedNodes);
-                writer.write(String.format("%d,%d,%s\n",
-                        i,
-                        componentSizes[i],
-                        sortedNodes.toString()));
+                // SCC engines already return sorted components; copy only if one is not
+                List<Integer> nodes = components.get(i);
+                if (!isSorted(nodes)) {
+                    nodes = new ArrayList<>(nodes);
+                    Collections.sort(nodes);
+                }
+                writer.field(i).field(componentSizes[i]).field(nodes);
+                writer.endRow();
+            }
+        }
+    }
+
+    private static boolean isSorted(List<Integer> nodes) {
+        for (int i = 1; i < nodes.size(); i++) {
+            if (nodes.get(i - 1) > nodes.get(i)) {
+                return false;
             }
         }
+        return true;
     }
-}
\ No newline at end of file
+}
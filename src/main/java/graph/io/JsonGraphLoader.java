@@ -0,0 +1,218 @@
+package graph.io;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import graph.CSRGraph;
+import graph.Graph;
+import graph.util.IntList;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Single-pass loader built on Jackson's streaming parser. Edges go straight into
+ * primitive arrays and keys may appear in any order, so there is no intermediate
+ * Map and no second read of the file to find the source node.
+ */
+public class JsonGraphLoader {
+    private static final JsonFactory factory = new JsonFactory();
+
+    public static LoadedGraph load(String filePath) throws IOException {
+        IntList sources = new IntList(1024);
+        IntList targets = new IntList(1024);
+        IntList weights = new IntList(1024);
+        Header header = streamEdges(filePath, (u, v, w) -> {
+            sources.add(u);
+            targets.add(v);
+            weights.add(w);
+        });
+        int n = header.getNodeCount();
+
+        int edgeCount = sources.size();
+        int[] edgeSources = sources.rawArray();
+        int[] edgeTargets = targets.rawArray();
+        int[] edgeWeights = weights.rawArray();
+        for (int i = 0; i < edgeCount; i++) {
+            header.checkEdge(edgeSources[i], edgeTargets[i], filePath);
+        }
+
+        if (!header.isDirected()) {
+            // Same layout Graph.addEdge produces: u -> v immediately followed by v -> u
+            int[] bothSources = new int[edgeCount * 2];
+            int[] bothTargets = new int[edgeCount * 2];
+            int[] bothWeights = new int[edgeCount * 2];
+            for (int i = 0; i < edgeCount; i++) {
+                bothSources[2 * i] = edgeSources[i];
+                bothTargets[2 * i] = edgeTargets[i];
+                bothSources[2 * i + 1] = edgeTargets[i];
+                bothTargets[2 * i + 1] = edgeSources[i];
+                bothWeights[2 * i] = bothWeights[2 * i + 1] = edgeWeights[i];
+            }
+            edgeSources = bothSources;
+            edgeTargets = bothTargets;
+            edgeWeights = bothWeights;
+            edgeCount *= 2;
+        }
+
+        CSRGraph csr = CSRGraph.fromEdges(n, edgeSources, edgeTargets, edgeWeights, edgeCount);
+        return new LoadedGraph(new Graph(csr, header.isDirected(), header.getWeightModel(),
+                header.getNodeDurations()), header.getSource());
+    }
+
+    /**
+     * Passes every edge to visitor in file order, as written (undirected edges once),
+     * without keeping any of them, and returns the other fields. Keys may still appear
+     * in any order, so edge ids are only checked against n by the caller, afterwards.
+     */
+    public static Header streamEdges(String filePath, EdgeVisitor visitor) throws IOException {
+        try (JsonParser parser = factory.createParser(new File(filePath))) {
+            return read(parser, filePath, visitor);
+        }
+    }
+
+    private static Header read(JsonParser parser, String filePath, EdgeVisitor visitor) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object at the top of " + filePath);
+        }
+
+        int n = -1;
+        boolean directed = true;
+        String weightModel = "edge";
+        int source = 0;
+        IntList durations = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "n":
+                    n = parser.getIntValue();
+                    break;
+                case "directed":
+                    directed = parser.getBooleanValue();
+                    break;
+                case "weight_model":
+                    weightModel = parser.getText();
+                    break;
+                case "source":
+                    source = parser.getIntValue();
+                    break;
+                case "node_durations":
+                    expect(value, JsonToken.START_ARRAY, field);
+                    durations = new IntList();
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        durations.add(parser.getIntValue());
+                    }
+                    break;
+                case "edges":
+                    expect(value, JsonToken.START_ARRAY, field);
+                    readEdges(parser, visitor);
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+
+        if (n < 0) {
+            throw new IOException("Missing \"n\" in " + filePath);
+        }
+
+        int[] nodeDurations = new int[n];
+        if ("node".equals(weightModel) && durations != null) {
+            if (durations.size() != n) {
+                throw new IOException("Node durations array must match graph size in " + filePath);
+            }
+            nodeDurations = durations.toArray();
+        }
+        return new Header(n, directed, weightModel, source, nodeDurations);
+    }
+
+    private static void readEdges(JsonParser parser, EdgeVisitor visitor) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+            int u = -1;
+            int v = -1;
+            int w = 0;
+            boolean hasWeight = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "u":
+                        u = parser.getIntValue();
+                        break;
+                    case "v":
+                        v = parser.getIntValue();
+                        break;
+                    case "w":
+                        w = parser.getIntValue();
+                        hasWeight = true;
+                        break;
+                    default:
+                        parser.skipChildren();
+                        break;
+                }
+            }
+            if (u < 0 || v < 0 || !hasWeight) {
+                throw new IOException("Edge is missing u, v or w near " + parser.getCurrentLocation());
+            }
+            visitor.edge(u, v, w);
+        }
+        expect(token, JsonToken.END_ARRAY, "edges");
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected, String field) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " for \"" + field + "\" but found " + actual);
+        }
+    }
+
+    public interface EdgeVisitor {
+        void edge(int u, int v, int weight) throws IOException;
+    }
+
+    // Everything in a graph file except the edges
+    public static final class Header {
+        private final int n;
+        private final boolean directed;
+        private final String weightModel;
+        private final int source;
+        private final int[] nodeDurations;
+
+        private Header(int n, boolean directed, String weightModel, int source, int[] nodeDurations) {
+            this.n = n;
+            this.directed = directed;
+            this.weightModel = weightModel;
+            this.source = source;
+            this.nodeDurations = nodeDurations;
+        }
+
+        public int getNodeCount() {
+            return n;
+        }
+
+        public boolean isDirected() {
+            return directed;
+        }
+
+        public String getWeightModel() {
+            return weightModel;
+        }
+
+        public int getSource() {
+            return source;
+        }
+
+        public int[] getNodeDurations() {
+            return nodeDurations;
+        }
+
+        public void checkEdge(int u, int v, String filePath) throws IOException {
+            if (u < 0 || u >= n || v < 0 || v >= n) {
+                throw new IOException("Edge " + u + " -> " + v + " is out of range in " + filePath);
+            }
+        }
+    }
+}
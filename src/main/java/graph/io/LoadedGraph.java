@@ -0,0 +1,21 @@
+package graph.io;
+
+import graph.Graph;
+
+public class LoadedGraph {
+    private final Graph graph;
+    private final int source;
+
+    public LoadedGraph(Graph graph, int source) {
+        this.graph = graph;
+        this.source = source;
+    }
+
+    public Graph getGraph() {
+        return graph;
+    }
+
+    public int getSource() {
+        return source;
+    }
+}
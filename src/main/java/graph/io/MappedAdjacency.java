@@ -0,0 +1,53 @@
+package graph.io;
+
+import graph.Adjacency;
+
+import java.nio.IntBuffer;
+
+/**
+ * Adjacency backed by memory-mapped sections of a binary graph file. Nothing is
+ * copied onto the heap; pages are faulted in by the OS as the algorithms touch them.
+ */
+public final class MappedAdjacency implements Adjacency {
+    private final int n;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final IntBuffer weights;
+
+    MappedAdjacency(int n, IntBuffer offsets, IntBuffer targets, IntBuffer weights) {
+        this.n = n;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    @Override
+    public int getNodeCount() {
+        return n;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return offsets.get(n);
+    }
+
+    @Override
+    public int edgeStart(int u) {
+        return offsets.get(u);
+    }
+
+    @Override
+    public int edgeEnd(int u) {
+        return offsets.get(u + 1);
+    }
+
+    @Override
+    public int target(int e) {
+        return targets.get(e);
+    }
+
+    @Override
+    public int weight(int e) {
+        return weights.get(e);
+    }
+}
@@ -0,0 +1,118 @@
+package graph.io;
+
+import graph.util.ByteList;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CSV writer for large reports. Fields are appended into one reused byte buffer, ints
+ * digit by digit, and the buffer goes to a FileChannel whenever it passes 64 KB.
+ * A path ending in ".gz" is gzip-compressed. In append mode the header is written
+ * only when the file is new or empty, so repeated runs grow one file; appended gzip
+ * runs become separate gzip members, which GZIPInputStream and zcat read as one stream.
+ */
+public class StreamingCSVWriter implements AutoCloseable {
+    private static final int FLUSH_BYTES = 1 << 16;
+
+    private final FileChannel channel;
+    private final OutputStream gzip;
+    private final ByteList row = new ByteList(FLUSH_BYTES + 1024);
+    private boolean firstField = true;
+
+    public StreamingCSVWriter(Path path, String header, boolean append) throws IOException {
+        boolean writeHeader = !append || !Files.exists(path) || Files.size(path) == 0;
+        this.channel = append
+                ? FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+                : FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.gzip = path.getFileName().toString().endsWith(".gz")
+                ? new GZIPOutputStream(Channels.newOutputStream(channel), FLUSH_BYTES)
+                : null;
+        if (writeHeader) {
+            row.append(header).append('\n');
+        }
+    }
+
+    public StreamingCSVWriter field(long value) {
+        separator();
+        row.append(value);
+        return this;
+    }
+
+    // Quoted only when the text contains a comma, quote or line break
+    public StreamingCSVWriter field(String value) {
+        separator();
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            row.append(value);
+        } else {
+            row.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+        return this;
+    }
+
+    // A list of ints as one quoted field, e.g. "[1, 2, 3]", without building a String
+    public StreamingCSVWriter field(List<Integer> values) {
+        separator();
+        row.append("\"[");
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                row.append(", ");
+            }
+            row.append(values.get(i));
+        }
+        row.append("]\"");
+        return this;
+    }
+
+    public void endRow() throws IOException {
+        row.append('\n');
+        firstField = true;
+        if (row.length() >= FLUSH_BYTES) {
+            flush();
+        }
+    }
+
+    private void separator() {
+        if (!firstField) {
+            row.append(',');
+        }
+        firstField = false;
+    }
+
+    public void flush() throws IOException {
+        if (row.length() == 0) {
+            return;
+        }
+        if (gzip != null) {
+            ByteBuffer bytes = row.toByteBuffer();
+            gzip.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+        } else {
+            ByteBuffer bytes = row.toByteBuffer();
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+        row.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            if (gzip != null) {
+                gzip.close(); // finishes the gzip member and closes the channel
+            }
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package graph.scc;
+
+import graph.Adjacency;
+import graph.CSRGraph;
+import graph.Graph;
+import graph.Metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds the condensation DAG straight into CSR arrays. Components are processed one
+ * at a time and a "last seen by component" mark per target component drops duplicate
+ * edges in O(1), so there is no sorting and no per-edge key object.
+ */
+public class CondensationBuilder {
+
+    public static int[] componentIndex(List<List<Integer>> components, int nodeCount) {
+        int[] componentOf = new int[nodeCount];
+        for (int i = 0; i < components.size(); i++) {
+            for (int node : components.get(i)) {
+                componentOf[node] = i;
+            }
+        }
+        return componentOf;
+    }
+
+    /**
+     * Renumbers raw component ids so components are ordered by their smallest node, which
+     * is the order TarjanSCC sorts them in, and returns the sorted member lists.
+     * componentOf is rewritten in place.
+     */
+    public static List<List<Integer>> renumberBySmallestNode(int[] componentOf, int rawCount) {
+        int[] ordinal = new int[rawCount];
+        Arrays.fill(ordinal, -1);
+        List<List<Integer>> components = new ArrayList<>(rawCount);
+        for (int v = 0; v < componentOf.length; v++) {
+            int id = componentOf[v];
+            if (ordinal[id] == -1) {
+                ordinal[id] = components.size();
+                components.add(new ArrayList<>());
+            }
+            components.get(ordinal[id]).add(v);
+            componentOf[v] = ordinal[id];
+        }
+        return components;
+    }
+
+    public static Graph build(Graph originalGraph, int[] componentOf, int componentCount,
+                              WeightAggregation aggregation, Metrics metrics) {
+        Adjacency adjacency = originalGraph.adjacency();
+        int n = adjacency.getNodeCount();
+        int m = adjacency.getEdgeCount();
+
+        // Group nodes by component with a counting sort; nodes stay ascending inside a group
+        int[] memberStart = new int[componentCount + 1];
+        for (int v = 0; v < n; v++) {
+            memberStart[componentOf[v] + 1]++;
+        }
+        for (int c = 0; c < componentCount; c++) {
+            memberStart[c + 1] += memberStart[c];
+        }
+        int[] members = new int[n];
+        int[] cursor = Arrays.copyOf(memberStart, componentCount);
+        for (int v = 0; v < n; v++) {
+            members[cursor[componentOf[v]]++] = v;
+        }
+
+        int[] offsets = new int[componentCount + 1];
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        int[] lastSource = new int[componentCount];
+        int[] slot = new int[componentCount];
+        Arrays.fill(lastSource, -1);
+        int size = 0;
+
+        for (int compU = 0; compU < componentCount; compU++) {
+            offsets[compU] = size;
+            for (int i = memberStart[compU]; i < memberStart[compU + 1]; i++) {
+                int u = members[i];
+                for (int e = adjacency.edgeStart(u), end = adjacency.edgeEnd(u); e < end; e++) {
+                    metrics.incrementOperation(); // process edge for condensation
+                    int compV = componentOf[adjacency.target(e)];
+                    if (compV == compU) {
+                        continue;
+                    }
+                    if (lastSource[compV] != compU) {
+                        lastSource[compV] = compU;
+                        slot[compV] = size;
+                        targets[size] = compV;
+                        weights[size] = adjacency.weight(e);
+                        size++;
+                        metrics.incrementOperation(); // add condensation edge
+                    } else {
+                        int s = slot[compV];
+                        weights[s] = aggregation.combine(weights[s], adjacency.weight(e));
+                    }
+                }
+            }
+        }
+        offsets[componentCount] = size;
+
+        if (size < m) {
+            targets = Arrays.copyOf(targets, size);
+            weights = Arrays.copyOf(weights, size);
+        }
+        CSRGraph csr = new CSRGraph(componentCount, offsets, targets, weights);
+        return new Graph(csr, true, originalGraph.getWeightModel(),
+                componentDurations(originalGraph.getNodeDurations(), componentOf, componentCount));
+    }
+
+    // A component takes as long as all of its tasks together (saturating at Integer.MAX_VALUE)
+    public static int[] componentDurations(int[] nodeDurations, int[] componentOf, int componentCount) {
+        int[] durations = new int[componentCount];
+        for (int v = 0; v < nodeDurations.length; v++) {
+            int c = componentOf[v];
+            durations[c] = WeightAggregation.SUM.combine(durations[c], nodeDurations[v]);
+        }
+        return durations;
+    }
+}
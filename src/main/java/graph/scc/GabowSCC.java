@@ -0,0 +1,108 @@
+package graph.scc;
+
+import graph.Adjacency;
+import graph.Graph;
+import graph.Metrics;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Gabow's path-based algorithm. Instead of Tarjan's lowlinks it keeps a second stack
+ * of boundaries: the preorder numbers where the current DFS path may still split into
+ * different components. Meeting an edge to an open node collapses the boundaries above
+ * it, and a node that is still the top boundary when it finishes closes a component.
+ * One DFS, iterative, with primitive stacks only.
+ */
+public class GabowSCC implements SCCAlgorithm {
+    private final WeightAggregation weightAggregation;
+
+    public GabowSCC() {
+        this(WeightAggregation.FIRST);
+    }
+
+    public GabowSCC(WeightAggregation weightAggregation) {
+        this.weightAggregation = weightAggregation;
+    }
+
+    @Override
+    public SCCResult findSCCs(Graph graph) {
+        Metrics metrics = Metrics.create();
+        metrics.startTimer();
+
+        int n = graph.getNodeCount();
+        Adjacency adjacency = graph.adjacency();
+        int[] preorder = new int[n];
+        int[] componentOf = new int[n];
+        int[] callStack = new int[n];
+        int[] edgeCursor = new int[n];
+        int[] openStack = new int[n];     // nodes without a component yet, in preorder
+        int[] boundaries = new int[n];    // nodes whose preorder starts a possible component
+        Arrays.fill(preorder, -1);
+        Arrays.fill(componentOf, -1);
+        int counter = 0;
+        int count = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (preorder[root] != -1) {
+                continue;
+            }
+            int depth = 0;
+            int openTop = 0;
+            int boundaryTop = 0;
+            preorder[root] = counter++;
+            edgeCursor[root] = adjacency.edgeStart(root);
+            callStack[depth++] = root;
+            openStack[openTop++] = root;
+            boundaries[boundaryTop++] = root;
+            metrics.incrementDfsVisits();
+            metrics.incrementOperation(); // node visit
+
+            while (depth > 0) {
+                int v = callStack[depth - 1];
+                int e = edgeCursor[v];
+                if (e < adjacency.edgeEnd(v)) {
+                    edgeCursor[v] = e + 1;
+                    int w = adjacency.target(e);
+                    metrics.incrementOperation(); // process edge
+                    metrics.incrementEdgeRelaxations();
+                    if (preorder[w] == -1) {
+                        preorder[w] = counter++;
+                        edgeCursor[w] = adjacency.edgeStart(w);
+                        callStack[depth++] = w;
+                        openStack[openTop++] = w;
+                        boundaries[boundaryTop++] = w;
+                        metrics.incrementDfsVisits();
+                        metrics.incrementOperation(); // node visit
+                    } else if (componentOf[w] == -1) {
+                        // w is on the current path's open stack: merge everything above it
+                        while (preorder[boundaries[boundaryTop - 1]] > preorder[w]) {
+                            boundaryTop--;
+                            metrics.incrementOperation(); // boundary pop
+                        }
+                    }
+                    continue;
+                }
+
+                if (boundaries[boundaryTop - 1] == v) {
+                    boundaryTop--;
+                    int w;
+                    do {
+                        w = openStack[--openTop];
+                        componentOf[w] = count;
+                        metrics.incrementOperation(); // pop from stack
+                    } while (w != v);
+                    count++;
+                }
+                depth--;
+            }
+        }
+
+        metrics.stopTimer();
+
+        List<List<Integer>> components = CondensationBuilder.renumberBySmallestNode(componentOf, count);
+        Graph condensationGraph = CondensationBuilder.build(graph, componentOf, components.size(),
+                weightAggregation, metrics);
+        return new SCCResult(components, componentOf, condensationGraph, metrics);
+    }
+}
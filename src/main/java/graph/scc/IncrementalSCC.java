@@ -0,0 +1,855 @@
+package graph.scc;
+
+import graph.Adjacency;
+import graph.CSRGraph;
+import graph.Graph;
+import graph.Metrics;
+import graph.topo.TopoResult;
+import graph.topo.TopologicalSort;
+import graph.util.IntIntHashMap;
+import graph.util.IntList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Strongly connected components maintained under edge insertions and batched deletions.
+ *
+ * Components are identified by one of their member nodes and keep a Pearce-Kelly
+ * topological order of the condensation DAG. An inserted edge that agrees with the
+ * order only updates an edge counter. Otherwise the components between the two ends
+ * are searched; if the edge closes a cycle, every component lying on a path from v's
+ * component to u's component is merged into the largest of them. A deleted edge inside
+ * a component re-runs Tarjan on that component alone and splices the pieces into the
+ * order in place of the component. The order array keeps holes, so a splice only
+ * shifts a few neighbours, and a dense region is re-spread with a doubling window as in
+ * a packed-memory array. {@link #toSCCResult()} takes a snapshot in the same shape as {@link TarjanSCC}.
+ */
+public class IncrementalSCC {
+    private static final int HOLE = -1;
+    private static final int NO_EDGE = -1;
+    // Holes further away than this are not shifted towards; the region is re-spread instead
+    private static final int LOCAL_SHIFT = 64;
+
+    private final int n;
+    private final String weightModel;
+    private final WeightAggregation aggregation;
+    private final int[] nodeDurations;
+    private final Metrics metrics;
+
+    // Node-level edges, out-lists and in-lists
+    private final IntList[] outTargets;
+    private final IntList[] outWeights;
+    private final IntList[] inSources;
+    private final IntList[] inWeights;
+    private int edgeCount;
+
+    // Components: members[id] is null unless id is a live component id
+    private final int[] componentOf;
+    private final IntList[] members;
+    private int componentCount;
+
+    // Condensation edges: outEdges[a] maps b, and inEdges[b] maps a, to the same edge id.
+    // An edge id holds the aggregated weight and the number of node-level edges it stands for
+    private final IntIntHashMap[] outEdges;
+    private final IntIntHashMap[] inEdges;
+    private int[] edgeWeight = new int[16];
+    private int[] edgeMultiplicity = new int[16];
+    private int edgeIds;
+    private final IntList freeEdgeIds = new IntList();
+
+    // Topological order of component ids in slots[0 .. slotCount), with holes; up to 2n slots
+    private final int[] position;
+    private final int[] slots;
+    private int slotCount;
+
+    // Scratch state, marks are valid when equal to the current epoch
+    private final int[] forwardMark;
+    private final int[] backwardMark;
+    private int epoch;
+    private final IntList stack = new IntList();
+
+    // Tarjan scratch for splitting components, allocated on first deletion
+    private int[] tarjanIndex;
+    private int[] tarjanLow;
+    private int[] tarjanCursor;
+    private int[] callStack;
+    private int[] sccStack;
+    private boolean[] onStack;
+    private int[] partMark;
+    private int partEpoch;
+
+    public IncrementalSCC(int n, String weightModel) {
+        this(n, weightModel, WeightAggregation.FIRST);
+    }
+
+    public IncrementalSCC(int n, String weightModel, WeightAggregation aggregation) {
+        this.n = n;
+        this.weightModel = weightModel;
+        this.aggregation = aggregation;
+        this.nodeDurations = new int[n];
+        this.metrics = Metrics.create();
+        this.outTargets = new IntList[n];
+        this.outWeights = new IntList[n];
+        this.inSources = new IntList[n];
+        this.inWeights = new IntList[n];
+        this.componentOf = new int[n];
+        this.members = new IntList[n];
+        this.outEdges = new IntIntHashMap[n];
+        this.inEdges = new IntIntHashMap[n];
+        this.position = new int[n];
+        this.slots = new int[Math.max(1, 2 * n)];
+        this.forwardMark = new int[n];
+        this.backwardMark = new int[n];
+        for (int v = 0; v < n; v++) {
+            outTargets[v] = new IntList(2);
+            outWeights[v] = new IntList(2);
+            inSources[v] = new IntList(2);
+            inWeights[v] = new IntList(2);
+            componentOf[v] = v;
+            members[v] = new IntList(1);
+            members[v].add(v);
+            outEdges[v] = new IntIntHashMap(2);
+            inEdges[v] = new IntIntHashMap(2);
+            position[v] = v;
+            slots[v] = v;
+        }
+        this.componentCount = n;
+        this.slotCount = n;
+    }
+
+    // Seeds the structure with one Tarjan run and a Kahn order of its condensation
+    public static IncrementalSCC fromGraph(Graph graph, WeightAggregation aggregation) {
+        if (!graph.isDirected()) {
+            throw new IllegalArgumentException("Incremental SCC requires a directed graph");
+        }
+        int n = graph.getNodeCount();
+        IncrementalSCC scc = new IncrementalSCC(n, graph.getWeightModel(), aggregation);
+        System.arraycopy(graph.getNodeDurations(), 0, scc.nodeDurations, 0, n);
+        SCCResult initial = new TarjanSCC(aggregation).findSCCs(graph);
+        TopoResult topoResult = new TopologicalSort().kahnAlgorithm(initial.getCondensationGraph());
+
+        List<List<Integer>> components = initial.getComponents();
+        int[] ids = new int[components.size()];
+        for (int c = 0; c < components.size(); c++) {
+            List<Integer> component = components.get(c);
+            int id = component.get(0);
+            ids[c] = id;
+            if (component.size() > 1) {
+                IntList list = new IntList(component.size());
+                for (int node : component) {
+                    list.add(node);
+                    scc.componentOf[node] = id;
+                    if (node != id) {
+                        scc.members[node] = null;
+                        scc.outEdges[node] = null;
+                        scc.inEdges[node] = null;
+                    }
+                }
+                scc.members[id] = list;
+            }
+        }
+        scc.componentCount = components.size();
+        scc.slotCount = topoResult.getOrderSize();
+        for (int i = 0; i < scc.slotCount; i++) {
+            int id = ids[topoResult.getNodeAt(i)];
+            scc.slots[i] = id;
+            scc.position[id] = i;
+        }
+
+        Adjacency adjacency = graph.adjacency();
+        for (int u = 0; u < n; u++) {
+            for (int e = adjacency.edgeStart(u), end = adjacency.edgeEnd(u); e < end; e++) {
+                int v = adjacency.target(e);
+                scc.link(u, v, adjacency.weight(e));
+                int cu = scc.componentOf[u];
+                int cv = scc.componentOf[v];
+                if (cu != cv) {
+                    scc.addCondensationEdge(cu, cv, adjacency.weight(e));
+                }
+            }
+        }
+        scc.metrics.addAll(initial.getMetrics());
+        scc.metrics.addAll(topoResult.getMetrics());
+        return scc;
+    }
+
+    public void addEdge(int u, int v, int weight) {
+        checkNode(u);
+        checkNode(v);
+        metrics.incrementOperation();
+        link(u, v, weight);
+
+        int cu = componentOf[u];
+        int cv = componentOf[v];
+        if (cu == cv) {
+            return;
+        }
+        boolean newEdge = addCondensationEdge(cu, cv, weight);
+        if (newEdge && position[cu] > position[cv]) {
+            restoreOrder(cu, cv);
+        }
+    }
+
+    public void removeEdge(int u, int v) {
+        removeEdges(new int[]{u}, new int[]{v});
+    }
+
+    /**
+     * Removes one u -> v edge per pair. Components that lost an internal edge are
+     * re-decomposed once at the end of the batch, and each one that broke up is replaced
+     * by its pieces in the order.
+     */
+    public void removeEdges(int[] sources, int[] targets) {
+        if (sources.length != targets.length) {
+            throw new IllegalArgumentException("Sources and targets must have the same length");
+        }
+        IntList dirty = new IntList();
+        epoch++;
+        for (int i = 0; i < sources.length; i++) {
+            int u = sources[i];
+            int v = targets[i];
+            checkNode(u);
+            checkNode(v);
+            metrics.incrementOperation();
+            unlink(u, v);
+
+            int cu = componentOf[u];
+            int cv = componentOf[v];
+            if (cu == cv) {
+                if (forwardMark[cu] != epoch) {
+                    forwardMark[cu] = epoch;
+                    dirty.add(cu);
+                }
+                continue;
+            }
+            int edge = outEdges[cu].get(cv, NO_EDGE);
+            if (--edgeMultiplicity[edge] == 0) {
+                outEdges[cu].remove(cv, NO_EDGE);
+                inEdges[cv].remove(cu, NO_EDGE);
+                freeEdge(edge);
+            } else {
+                edgeWeight[edge] = aggregatedWeight(cu, cv);
+            }
+        }
+
+        for (int i = 0; i < dirty.size(); i++) {
+            int c = dirty.get(i);
+            int slot = position[c];
+            int[] parts = split(c);
+            if (parts != null) {
+                splice(slot, parts);
+            }
+        }
+    }
+
+    // The new edge cu -> cv points backwards in the order; repair the region between them
+    private void restoreOrder(int cu, int cv) {
+        int lower = position[cv];
+        int upper = position[cu];
+        epoch++;
+
+        IntList forward = new IntList();
+        search(cv, forward, forwardMark, outEdges, lower, upper);
+        IntList backward = new IntList();
+        search(cu, backward, backwardMark, inEdges, lower, upper);
+        boolean cycle = forwardMark[cu] == epoch;
+
+        // Slots currently used by the affected components, ascending
+        IntList affected = new IntList(forward.size() + backward.size());
+        for (int i = 0; i < forward.size(); i++) {
+            affected.add(forward.get(i));
+        }
+        for (int i = 0; i < backward.size(); i++) {
+            if (forwardMark[backward.get(i)] != epoch) {
+                affected.add(backward.get(i));
+            }
+        }
+        int[] freeSlots = new int[affected.size()];
+        for (int i = 0; i < freeSlots.length; i++) {
+            freeSlots[i] = position[affected.get(i)];
+        }
+        Arrays.sort(freeSlots);
+
+        // Reaches cu only, then the merged cycle, then reachable from cv only
+        IntList before = new IntList();
+        IntList after = new IntList();
+        IntList merged = new IntList();
+        for (int i = 0; i < affected.size(); i++) {
+            int c = affected.get(i);
+            boolean reachable = forwardMark[c] == epoch;
+            boolean reaching = backwardMark[c] == epoch;
+            if (reachable && reaching) {
+                merged.add(c);
+            } else if (reaching) {
+                before.add(c);
+            } else {
+                after.add(c);
+            }
+        }
+        int[] beforeOrder = sortByPosition(before);
+        int[] afterOrder = sortByPosition(after);
+
+        // The merged slots left over become holes between the two groups: everything
+        // reaching u stays low and everything reachable from v stays high
+        int k = 0;
+        for (int c : beforeOrder) {
+            place(c, freeSlots[k++]);
+        }
+        if (cycle) {
+            place(merge(merged), freeSlots[k++]);
+        }
+        int firstAfter = freeSlots.length - afterOrder.length;
+        while (k < firstAfter) {
+            slots[freeSlots[k++]] = HOLE;
+        }
+        for (int c : afterOrder) {
+            place(c, freeSlots[k++]);
+        }
+    }
+
+    // DFS over condensation edges, staying inside positions lower .. upper
+    private void search(int start, IntList visited, int[] mark, IntIntHashMap[] edges, int lower, int upper) {
+        mark[start] = epoch;
+        visited.add(start);
+        stack.clear();
+        stack.add(start);
+        while (!stack.isEmpty()) {
+            int c = stack.removeLast();
+            metrics.incrementDfsVisits();
+            IntIntHashMap neighbours = edges[c];
+            for (int s = 0; s < neighbours.slotCount(); s++) {
+                int next = neighbours.keyAt(s);
+                if (next < 0) {
+                    continue;
+                }
+                metrics.incrementEdgeRelaxations();
+                int p = position[next];
+                if (mark[next] != epoch && p >= lower && p <= upper) {
+                    mark[next] = epoch;
+                    visited.add(next);
+                    stack.add(next);
+                }
+            }
+        }
+    }
+
+    /**
+     * Folds every component in the list into the one with the most members. Only the
+     * members of the smaller components are relabelled, and condensation edges between
+     * the merged components become internal and are dropped.
+     */
+    private int merge(IntList merged) {
+        int survivor = merged.get(0);
+        for (int i = 1; i < merged.size(); i++) {
+            if (members[merged.get(i)].size() > members[survivor].size()) {
+                survivor = merged.get(i);
+            }
+        }
+
+        for (int i = 0; i < merged.size(); i++) {
+            int c = merged.get(i);
+            if (c == survivor) {
+                continue;
+            }
+            IntList from = members[c];
+            IntList into = members[survivor];
+            for (int j = 0; j < from.size(); j++) {
+                int node = from.get(j);
+                componentOf[node] = survivor;
+                into.add(node);
+                metrics.incrementOperation();
+            }
+            members[c] = null;
+            componentCount--;
+
+            // Every edge between two merged components is met here once from its non-survivor end
+            IntIntHashMap out = outEdges[c];
+            for (int s = 0; s < out.slotCount(); s++) {
+                int target = out.keyAt(s);
+                if (target < 0) {
+                    continue;
+                }
+                inEdges[target].remove(c, NO_EDGE);
+                if (isMerged(target)) {
+                    freeEdge(out.valueAt(s));
+                } else {
+                    mergeCondensationEdge(survivor, target, out.valueAt(s));
+                }
+            }
+            IntIntHashMap in = inEdges[c];
+            for (int s = 0; s < in.slotCount(); s++) {
+                int source = in.keyAt(s);
+                if (source < 0) {
+                    continue;
+                }
+                outEdges[source].remove(c, NO_EDGE);
+                if (isMerged(source)) {
+                    freeEdge(in.valueAt(s));
+                } else {
+                    mergeCondensationEdge(source, survivor, in.valueAt(s));
+                }
+            }
+            outEdges[c] = null;
+            inEdges[c] = null;
+        }
+        return survivor;
+    }
+
+    private boolean isMerged(int c) {
+        return forwardMark[c] == epoch && backwardMark[c] == epoch;
+    }
+
+    /**
+     * Re-runs Tarjan on component c using only its internal edges. Returns the new
+     * component ids in topological order, or null when c is still strongly connected.
+     */
+    private int[] split(int c) {
+        IntList component = members[c];
+        if (component.size() == 1) {
+            return null;
+        }
+        if (tarjanIndex == null) {
+            tarjanIndex = new int[n];
+            tarjanLow = new int[n];
+            tarjanCursor = new int[n];
+            callStack = new int[n];
+            sccStack = new int[n];
+            onStack = new boolean[n];
+            partMark = new int[n];
+        }
+        for (int i = 0; i < component.size(); i++) {
+            tarjanIndex[component.get(i)] = -1;
+        }
+
+        List<IntList> parts = new ArrayList<>();
+        int index = 0;
+        int sccTop = 0;
+        for (int i = 0; i < component.size(); i++) {
+            int root = component.get(i);
+            if (tarjanIndex[root] != -1) {
+                continue;
+            }
+            int depth = 0;
+            callStack[depth++] = root;
+            tarjanIndex[root] = tarjanLow[root] = index++;
+            tarjanCursor[root] = 0;
+            sccStack[sccTop++] = root;
+            onStack[root] = true;
+
+            while (depth > 0) {
+                int v = callStack[depth - 1];
+                IntList targets = outTargets[v];
+                if (tarjanCursor[v] < targets.size()) {
+                    int w = targets.get(tarjanCursor[v]++);
+                    metrics.incrementOperation();
+                    if (componentOf[w] != c) {
+                        continue;
+                    }
+                    if (tarjanIndex[w] == -1) {
+                        tarjanIndex[w] = tarjanLow[w] = index++;
+                        tarjanCursor[w] = 0;
+                        sccStack[sccTop++] = w;
+                        onStack[w] = true;
+                        callStack[depth++] = w;
+                        metrics.incrementDfsVisits();
+                    } else if (onStack[w]) {
+                        tarjanLow[v] = Math.min(tarjanLow[v], tarjanIndex[w]);
+                    }
+                    continue;
+                }
+
+                if (tarjanLow[v] == tarjanIndex[v]) {
+                    IntList part = new IntList();
+                    int w;
+                    do {
+                        w = sccStack[--sccTop];
+                        onStack[w] = false;
+                        part.add(w);
+                    } while (w != v);
+                    parts.add(part);
+                }
+                depth--;
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    tarjanLow[parent] = Math.min(tarjanLow[parent], tarjanLow[v]);
+                }
+            }
+        }
+        if (parts.size() == 1) {
+            return null;
+        }
+
+        // Detach the old component from its neighbours before the pieces are relinked
+        IntIntHashMap out = outEdges[c];
+        for (int s = 0; s < out.slotCount(); s++) {
+            if (out.keyAt(s) >= 0) {
+                inEdges[out.keyAt(s)].remove(c, NO_EDGE);
+                freeEdge(out.valueAt(s));
+            }
+        }
+        IntIntHashMap in = inEdges[c];
+        for (int s = 0; s < in.slotCount(); s++) {
+            if (in.keyAt(s) >= 0) {
+                outEdges[in.keyAt(s)].remove(c, NO_EDGE);
+                freeEdge(in.valueAt(s));
+            }
+        }
+        outEdges[c] = null;
+        inEdges[c] = null;
+        members[c] = null;
+
+        // Tarjan emits sinks first, so the reversed emission order is topological
+        int[] ids = new int[parts.size()];
+        partEpoch++;
+        for (int p = 0; p < parts.size(); p++) {
+            IntList part = parts.get(parts.size() - 1 - p);
+            int id = part.get(0);
+            for (int i = 0; i < part.size(); i++) {
+                int node = part.get(i);
+                if (node == c) {
+                    id = c;
+                    break;
+                }
+                id = Math.min(id, node);
+            }
+            for (int i = 0; i < part.size(); i++) {
+                componentOf[part.get(i)] = id;
+            }
+            members[id] = part;
+            outEdges[id] = new IntIntHashMap(2);
+            inEdges[id] = new IntIntHashMap(2);
+            ids[p] = id;
+            partMark[id] = partEpoch;
+        }
+        componentCount += parts.size() - 1;
+
+        // Relink: out-edges of every member, plus in-edges arriving from outside the old component
+        for (int i = 0; i < component.size(); i++) {
+            int x = component.get(i);
+            int cx = componentOf[x];
+            for (int j = 0; j < outTargets[x].size(); j++) {
+                int cy = componentOf[outTargets[x].get(j)];
+                if (cy != cx) {
+                    addCondensationEdge(cx, cy, outWeights[x].get(j));
+                }
+            }
+            for (int j = 0; j < inSources[x].size(); j++) {
+                int y = inSources[x].get(j);
+                if (partMark[componentOf[y]] != partEpoch) {
+                    addCondensationEdge(componentOf[y], cx, inWeights[x].get(j));
+                }
+            }
+        }
+        return ids;
+    }
+
+    // Puts the parts of a split component, in order, where the component was
+    private void splice(int slot, int[] parts) {
+        place(parts[0], slot);
+        for (int i = 1; i < parts.length; i++) {
+            place(parts[i], openSlotAfter(parts[i - 1]));
+        }
+    }
+
+    /**
+     * Makes the slot right after component c a hole and returns it. The nearest hole
+     * within LOCAL_SHIFT slots is shifted next to c; without one, a window around c is
+     * doubled until a quarter of it is holes and its components are spread evenly.
+     */
+    private int openSlotAfter(int c) {
+        int reach = LOCAL_SHIFT;
+        while (true) {
+            int p = position[c];
+            for (int h = p + 1; h < Math.min(slotCount, p + 1 + reach); h++) {
+                if (slots[h] == HOLE) {
+                    for (int s = h; s > p + 1; s--) {
+                        move(slots[s - 1], s);
+                    }
+                    slots[p + 1] = HOLE;
+                    return p + 1;
+                }
+            }
+            if (slotCount < slots.length && slotCount - p <= reach) {
+                slots[slotCount++] = HOLE;
+                continue;
+            }
+            for (int h = p - 1; h >= Math.max(0, p - reach); h--) {
+                if (slots[h] == HOLE) {
+                    for (int s = h; s < p; s++) {
+                        move(slots[s + 1], s);
+                    }
+                    slots[p] = HOLE;
+                    return p;
+                }
+            }
+            if (rebalance(p)) {
+                // The whole order was spread; some hole exists but may be further away
+                reach = slotCount;
+            }
+        }
+    }
+
+    // Returns true if the window had to cover the whole order
+    private boolean rebalance(int p) {
+        int size = 4 * LOCAL_SHIFT;
+        while (true) {
+            int hi = Math.min(slotCount, Math.max(0, p - size / 2) + size);
+            int lo = Math.max(0, hi - size);
+            int holes = 0;
+            for (int s = lo; s < hi; s++) {
+                if (slots[s] == HOLE) {
+                    holes++;
+                }
+            }
+            if (4 * holes >= hi - lo && holes > 0) {
+                spread(lo, hi);
+                return lo == 0 && hi == slotCount;
+            }
+            if (lo == 0 && hi == slotCount) {
+                // Too dense everywhere: grow into the spare slots, up to half of them holes
+                int grown = (int) Math.min(slots.length, Math.max(slotCount + 1, 2L * (slotCount - holes)));
+                Arrays.fill(slots, slotCount, grown, HOLE);
+                slotCount = grown;
+                spread(0, slotCount);
+                return true;
+            }
+            size *= 2;
+        }
+    }
+
+    // Spreads the components in slots lo .. hi - 1 evenly over the range, keeping their order
+    private void spread(int lo, int hi) {
+        IntList items = new IntList(hi - lo);
+        for (int s = lo; s < hi; s++) {
+            if (slots[s] != HOLE) {
+                items.add(slots[s]);
+            }
+        }
+        Arrays.fill(slots, lo, hi, HOLE);
+        int width = hi - lo;
+        for (int i = 0; i < items.size(); i++) {
+            move(items.get(i), lo + (int) ((long) i * width / items.size()));
+        }
+    }
+
+    private void move(int c, int slot) {
+        slots[slot] = c;
+        if (c != HOLE) {
+            position[c] = slot;
+        }
+    }
+
+    private void place(int c, int slot) {
+        position[c] = slot;
+        slots[slot] = c;
+        metrics.incrementOperation();
+    }
+
+    private int[] sortByPosition(IntList components) {
+        long[] keys = new long[components.size()];
+        for (int i = 0; i < keys.length; i++) {
+            int c = components.get(i);
+            keys[i] = ((long) position[c] << 32) | c;
+        }
+        Arrays.sort(keys);
+        int[] sorted = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            sorted[i] = (int) keys[i];
+        }
+        return sorted;
+    }
+
+    // Returns true if a -> b is a new condensation edge
+    private boolean addCondensationEdge(int a, int b, int weight) {
+        int edge = outEdges[a].get(b, NO_EDGE);
+        if (edge == NO_EDGE) {
+            edge = newEdge(weight, 1);
+            outEdges[a].put(b, edge);
+            inEdges[b].put(a, edge);
+            return true;
+        }
+        edgeMultiplicity[edge]++;
+        edgeWeight[edge] = aggregation.combine(edgeWeight[edge], weight);
+        return false;
+    }
+
+    // Moves edge id merged to a -> b, folding it into an existing a -> b edge if there is one
+    private void mergeCondensationEdge(int a, int b, int merged) {
+        int edge = outEdges[a].get(b, NO_EDGE);
+        if (edge == NO_EDGE) {
+            outEdges[a].put(b, merged);
+            inEdges[b].put(a, merged);
+        } else {
+            edgeMultiplicity[edge] += edgeMultiplicity[merged];
+            edgeWeight[edge] = aggregation.combine(edgeWeight[edge], edgeWeight[merged]);
+            freeEdge(merged);
+        }
+    }
+
+    private int newEdge(int weight, int multiplicity) {
+        int edge;
+        if (!freeEdgeIds.isEmpty()) {
+            edge = freeEdgeIds.removeLast();
+        } else {
+            if (edgeIds == edgeWeight.length) {
+                edgeWeight = Arrays.copyOf(edgeWeight, edgeIds * 2);
+                edgeMultiplicity = Arrays.copyOf(edgeMultiplicity, edgeIds * 2);
+            }
+            edge = edgeIds++;
+        }
+        edgeWeight[edge] = weight;
+        edgeMultiplicity[edge] = multiplicity;
+        return edge;
+    }
+
+    private void freeEdge(int edge) {
+        freeEdgeIds.add(edge);
+    }
+
+    // Recomputes the weight of a -> b from the member edges after one of them was removed
+    private int aggregatedWeight(int a, int b) {
+        IntList from = members[a];
+        boolean found = false;
+        int weight = 0;
+        for (int i = 0; i < from.size(); i++) {
+            int x = from.get(i);
+            for (int j = 0; j < outTargets[x].size(); j++) {
+                metrics.incrementOperation();
+                if (componentOf[outTargets[x].get(j)] == b) {
+                    int w = outWeights[x].get(j);
+                    weight = found ? aggregation.combine(weight, w) : w;
+                    found = true;
+                }
+            }
+        }
+        return weight;
+    }
+
+    private void link(int u, int v, int weight) {
+        outTargets[u].add(v);
+        outWeights[u].add(weight);
+        inSources[v].add(u);
+        inWeights[v].add(weight);
+        edgeCount++;
+    }
+
+    private void unlink(int u, int v) {
+        int out = indexOf(outTargets[u], v);
+        int in = indexOf(inSources[v], u);
+        if (out < 0 || in < 0) {
+            throw new IllegalArgumentException("No edge " + u + " -> " + v);
+        }
+        swapRemove(outTargets[u], out);
+        swapRemove(outWeights[u], out);
+        swapRemove(inSources[v], in);
+        swapRemove(inWeights[v], in);
+        edgeCount--;
+    }
+
+    private static int indexOf(IntList list, int value) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void swapRemove(IntList list, int index) {
+        int last = list.removeLast();
+        if (index < list.size()) {
+            list.set(index, last);
+        }
+    }
+
+    private void checkNode(int node) {
+        if (node < 0 || node >= n) {
+            throw new IllegalArgumentException("Invalid node index " + node);
+        }
+    }
+
+    public int getNodeCount() {
+        return n;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    // Component id of the node; ids are member nodes and change when components merge or split
+    public int getComponentId(int node) {
+        return componentOf[node];
+    }
+
+    public boolean isStronglyConnected(int u, int v) {
+        return componentOf[u] == componentOf[v];
+    }
+
+    // Position of the node's component in the maintained topological order (not dense)
+    public int getOrderPosition(int node) {
+        return position[componentOf[node]];
+    }
+
+    /**
+     * Snapshot in TarjanSCC's shape: components sorted and ordered by their first node,
+     * condensation edges of each component ordered by target component.
+     */
+    public SCCResult toSCCResult() {
+        int[] ordinalOf = new int[n];
+        Arrays.fill(ordinalOf, -1);
+        int[] componentIndex = new int[n];
+        int[] ids = new int[componentCount];
+        List<List<Integer>> components = new ArrayList<>(componentCount);
+        for (int v = 0; v < n; v++) {
+            int id = componentOf[v];
+            if (ordinalOf[id] == -1) {
+                ordinalOf[id] = components.size();
+                ids[components.size()] = id;
+                components.add(new ArrayList<>(members[id].size()));
+            }
+            componentIndex[v] = ordinalOf[id];
+            components.get(ordinalOf[id]).add(v);
+        }
+
+        int[] offsets = new int[componentCount + 1];
+        for (int c = 0; c < componentCount; c++) {
+            offsets[c + 1] = offsets[c] + outEdges[ids[c]].size();
+        }
+        int[] targets = new int[offsets[componentCount]];
+        int[] weights = new int[offsets[componentCount]];
+        for (int c = 0; c < componentCount; c++) {
+            // Pack (target ordinal, edge index) so one primitive sort orders the edges
+            IntIntHashMap edges = outEdges[ids[c]];
+            long[] keys = new long[edges.size()];
+            int[] edgeWeights = new int[edges.size()];
+            int k = 0;
+            for (int s = 0; s < edges.slotCount(); s++) {
+                if (edges.keyAt(s) >= 0) {
+                    edgeWeights[k] = edgeWeight[edges.valueAt(s)];
+                    keys[k] = ((long) ordinalOf[edges.keyAt(s)] << 32) | k;
+                    k++;
+                }
+            }
+            Arrays.sort(keys);
+            for (int i = 0; i < keys.length; i++) {
+                targets[offsets[c] + i] = (int) (keys[i] >>> 32);
+                weights[offsets[c] + i] = edgeWeights[(int) keys[i]];
+            }
+        }
+
+        CSRGraph csr = new CSRGraph(componentCount, offsets, targets, weights);
+        Graph condensation = new Graph(csr, true, weightModel,
+                CondensationBuilder.componentDurations(nodeDurations, componentIndex, componentCount));
+        return new SCCResult(components, componentIndex, condensation, metrics);
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,117 @@
+package graph.scc;
+
+import graph.Adjacency;
+import graph.CSRGraph;
+import graph.Graph;
+import graph.Metrics;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Kosaraju's two-pass algorithm. The first pass records DFS finishing order on the
+ * graph, the second walks the reversed CSR in decreasing finishing time and every
+ * tree it grows is one component. Both passes are iterative, and the reverse is built
+ * straight from the CSR arrays instead of copying edge objects with Graph.transpose().
+ */
+public class KosarajuSCC implements SCCAlgorithm {
+    private final WeightAggregation weightAggregation;
+
+    public KosarajuSCC() {
+        this(WeightAggregation.FIRST);
+    }
+
+    public KosarajuSCC(WeightAggregation weightAggregation) {
+        this.weightAggregation = weightAggregation;
+    }
+
+    @Override
+    public SCCResult findSCCs(Graph graph) {
+        Metrics metrics = Metrics.create();
+        metrics.startTimer();
+
+        int n = graph.getNodeCount();
+        Adjacency forward = graph.adjacency();
+        int[] finished = finishingOrder(forward, metrics);
+
+        // Second pass: each tree of the reversed graph, rooted in finishing order, is an SCC
+        Adjacency backward = CSRGraph.reverseOf(forward);
+        int[] componentOf = new int[n];
+        Arrays.fill(componentOf, -1);
+        int[] stack = new int[n];
+        int count = 0;
+        for (int i = n - 1; i >= 0; i--) {
+            int root = finished[i];
+            if (componentOf[root] != -1) {
+                continue;
+            }
+            int top = 0;
+            stack[top++] = root;
+            componentOf[root] = count;
+            while (top > 0) {
+                int v = stack[--top];
+                metrics.incrementDfsVisits();
+                metrics.incrementOperation(); // node visit
+                for (int e = backward.edgeStart(v), end = backward.edgeEnd(v); e < end; e++) {
+                    int w = backward.target(e);
+                    metrics.incrementOperation(); // process edge
+                    metrics.incrementEdgeRelaxations();
+                    if (componentOf[w] == -1) {
+                        componentOf[w] = count;
+                        stack[top++] = w;
+                    }
+                }
+            }
+            count++;
+        }
+
+        metrics.stopTimer();
+
+        List<List<Integer>> components = CondensationBuilder.renumberBySmallestNode(componentOf, count);
+        Graph condensationGraph = CondensationBuilder.build(graph, componentOf, components.size(),
+                weightAggregation, metrics);
+        return new SCCResult(components, componentOf, condensationGraph, metrics);
+    }
+
+    // Nodes in the order their DFS finished, with an explicit call stack and edge cursors
+    private static int[] finishingOrder(Adjacency graph, Metrics metrics) {
+        int n = graph.getNodeCount();
+        boolean[] visited = new boolean[n];
+        int[] callStack = new int[n];
+        int[] edgeCursor = new int[n];
+        int[] finished = new int[n];
+        int finishedCount = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (visited[root]) {
+                continue;
+            }
+            int depth = 0;
+            visited[root] = true;
+            edgeCursor[root] = graph.edgeStart(root);
+            callStack[depth++] = root;
+            metrics.incrementDfsVisits();
+
+            while (depth > 0) {
+                int v = callStack[depth - 1];
+                int e = edgeCursor[v];
+                if (e < graph.edgeEnd(v)) {
+                    edgeCursor[v] = e + 1;
+                    int w = graph.target(e);
+                    metrics.incrementOperation(); // process edge
+                    metrics.incrementEdgeRelaxations();
+                    if (!visited[w]) {
+                        visited[w] = true;
+                        edgeCursor[w] = graph.edgeStart(w);
+                        callStack[depth++] = w;
+                        metrics.incrementDfsVisits();
+                    }
+                    continue;
+                }
+                finished[finishedCount++] = v;
+                depth--;
+            }
+        }
+        return finished;
+    }
+}
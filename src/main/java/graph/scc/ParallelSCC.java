@@ -0,0 +1,393 @@
+package graph.scc;
+
+import graph.Adjacency;
+import graph.CSRGraph;
+import graph.Graph;
+import graph.Metrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Forward-backward SCC decomposition with trimming on a ForkJoinPool.
+ * Every subproblem owns a color: trimming peels off nodes without in- or out-edges
+ * inside the color, then the forward and backward reachable sets of a pivot split
+ * the rest into the pivot's SCC and three independent subproblems. Subproblems
+ * below the sequential threshold, and whole graphs below it, are finished with Tarjan.
+ */
+public class ParallelSCC implements SCCAlgorithm {
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 1 << 14;
+
+    private static final int REMOVED = -1;
+
+    private final int parallelism;
+    private final int sequentialThreshold;
+    private final WeightAggregation weightAggregation;
+
+    public ParallelSCC() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    public ParallelSCC(int parallelism, int sequentialThreshold) {
+        this(parallelism, sequentialThreshold, WeightAggregation.FIRST);
+    }
+
+    public ParallelSCC(int parallelism, int sequentialThreshold, WeightAggregation weightAggregation) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        this.sequentialThreshold = Math.max(1, sequentialThreshold);
+        this.weightAggregation = weightAggregation;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getSequentialThreshold() {
+        return sequentialThreshold;
+    }
+
+    @Override
+    public SCCResult findSCCs(Graph graph) {
+        int n = graph.getNodeCount();
+        if (n < sequentialThreshold || parallelism == 1) {
+            return new TarjanSCC(weightAggregation).findSCCs(graph);
+        }
+
+        Metrics metrics = Metrics.createConcurrent();
+        metrics.startTimer();
+
+        Adjacency forward = graph.adjacency();
+        Decomposition decomposition = new Decomposition(forward, CSRGraph.reverseOf(forward), metrics);
+        int[] allNodes = new int[n];
+        for (int i = 0; i < n; i++) {
+            allNodes[i] = i;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(decomposition.new SubproblemTask(allNodes));
+        } finally {
+            pool.shutdown();
+        }
+
+        metrics.stopTimer();
+
+        List<List<Integer>> components = decomposition.collectComponents();
+        int[] componentOf = decomposition.componentOf;
+        Graph condensationGraph = CondensationBuilder.build(graph, componentOf, components.size(),
+                weightAggregation, metrics);
+        return new SCCResult(components, componentOf, condensationGraph, metrics);
+    }
+
+    /**
+     * Shared per-node state. Subproblems own disjoint node sets and colors are never
+     * reused, so a task only writes entries of its own nodes and a neighbor read from
+     * another task can never look like it belongs to the reading task's color.
+     */
+    private final class Decomposition {
+        private final Adjacency forward;
+        private final Adjacency backward;
+        private final Metrics metrics;
+        private final int[] color;
+        private final int[] componentOf;
+        private final AtomicInteger nextColor = new AtomicInteger(1);
+        private final AtomicInteger nextComponent = new AtomicInteger();
+
+        // Scratch entries, indexed by node and only touched by the task owning the node
+        private final int[] inDegree;
+        private final int[] outDegree;
+        private final int[] indices;
+        private final int[] lowlinks;
+        private final int[] edgeCursor;
+        private final boolean[] onStack;
+
+        Decomposition(Adjacency forward, Adjacency backward, Metrics metrics) {
+            int n = forward.getNodeCount();
+            this.forward = forward;
+            this.backward = backward;
+            this.metrics = metrics;
+            this.color = new int[n];
+            this.componentOf = new int[n];
+            this.inDegree = new int[n];
+            this.outDegree = new int[n];
+            this.indices = new int[n];
+            this.lowlinks = new int[n];
+            this.edgeCursor = new int[n];
+            this.onStack = new boolean[n];
+        }
+
+        List<List<Integer>> collectComponents() {
+            return CondensationBuilder.renumberBySmallestNode(componentOf, nextComponent.get());
+        }
+
+        final class SubproblemTask extends RecursiveAction {
+            private final int[] nodes;
+
+            SubproblemTask(int[] nodes) {
+                this.nodes = nodes;
+            }
+
+            @Override
+            protected void compute() {
+                Metrics local = Metrics.create(); // task-local, merged into the shared metrics once
+                List<SubproblemTask> forked = new ArrayList<>();
+                ArrayDeque<int[]> pendingNodes = new ArrayDeque<>();
+                pendingNodes.push(nodes);
+
+                // Small pieces are handled in this task's loop instead of deep recursion
+                while (!pendingNodes.isEmpty()) {
+                    int[] subset = pendingNodes.pop();
+                    int c = color[subset[0]]; // every node of a pending subset carries its color
+
+                    if (subset.length < sequentialThreshold) {
+                        tarjan(subset, c, local);
+                        continue;
+                    }
+
+                    int[] remaining = trim(subset, c, local);
+                    if (remaining.length == 0) {
+                        continue;
+                    }
+
+                    for (int[] part : split(remaining, c, local)) {
+                        if (part.length == 0) {
+                            continue;
+                        }
+                        if (part.length >= sequentialThreshold) {
+                            SubproblemTask task = new SubproblemTask(part);
+                            task.fork();
+                            forked.add(task);
+                        } else {
+                            pendingNodes.push(part);
+                        }
+                    }
+                }
+
+                metrics.addAll(local);
+                for (SubproblemTask task : forked) {
+                    task.join();
+                }
+            }
+        }
+
+        // Repeatedly removes nodes with no in- or out-edges inside color c; each is a singleton SCC
+        private int[] trim(int[] subset, int c, Metrics local) {
+            int[] queue = new int[subset.length];
+            int head = 0;
+            int tail = 0;
+
+            for (int v : subset) {
+                inDegree[v] = countInColor(backward, v, c, local);
+                outDegree[v] = countInColor(forward, v, c, local);
+            }
+            // Only start removing once every degree is counted against the full color
+            for (int v : subset) {
+                if (inDegree[v] == 0 || outDegree[v] == 0) {
+                    color[v] = REMOVED;
+                    queue[tail++] = v;
+                }
+            }
+
+            while (head < tail) {
+                int v = queue[head++];
+                componentOf[v] = nextComponent.getAndIncrement();
+                local.incrementOperation(); // trimmed singleton
+                tail = release(forward, v, c, inDegree, queue, tail, local);
+                tail = release(backward, v, c, outDegree, queue, tail, local);
+            }
+
+            if (tail == 0) {
+                return subset;
+            }
+            int[] remaining = new int[subset.length - tail];
+            int size = 0;
+            for (int v : subset) {
+                if (color[v] == c) {
+                    remaining[size++] = v;
+                }
+            }
+            return remaining;
+        }
+
+        private int countInColor(Adjacency adjacency, int v, int c, Metrics local) {
+            int count = 0;
+            for (int e = adjacency.edgeStart(v), end = adjacency.edgeEnd(v); e < end; e++) {
+                local.incrementEdgeRelaxations();
+                if (color[adjacency.target(e)] == c) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private int release(Adjacency adjacency, int v, int c, int[] degree, int[] queue, int tail, Metrics local) {
+            for (int e = adjacency.edgeStart(v), end = adjacency.edgeEnd(v); e < end; e++) {
+                int w = adjacency.target(e);
+                local.incrementOperation(); // degree update
+                if (color[w] == c && --degree[w] == 0) {
+                    color[w] = REMOVED;
+                    queue[tail++] = w;
+                }
+            }
+            return tail;
+        }
+
+        /**
+         * Forward and backward BFS from a pivot inside color c. F∩B becomes an SCC and
+         * F\B, B\F and the untouched rest come back as three newly colored subproblems.
+         */
+        private int[][] split(int[] subset, int c, Metrics local) {
+            int forwardColor = nextColor.getAndIncrement();
+            int backwardColor = nextColor.getAndIncrement();
+            int restColor = nextColor.getAndIncrement();
+            int component = nextComponent.getAndIncrement();
+            int pivot = subset[0];
+
+            int[] queue = new int[subset.length];
+            int forwardCount = bfs(forward, pivot, c, forwardColor, -1, 0, queue, local);
+            int backwardCount = bfs(backward, pivot, c, backwardColor, forwardColor, component, queue, local);
+
+            int sccSize = 0;
+            for (int v : subset) {
+                if (color[v] == REMOVED && componentOf[v] == component) {
+                    sccSize++;
+                }
+            }
+
+            int[] forwardOnly = new int[forwardCount - sccSize];
+            int[] backwardOnly = new int[backwardCount - sccSize];
+            int[] rest = new int[subset.length - forwardCount - backwardCount + sccSize];
+            int f = 0;
+            int b = 0;
+            int r = 0;
+            for (int v : subset) {
+                if (color[v] == forwardColor) {
+                    forwardOnly[f++] = v;
+                } else if (color[v] == backwardColor) {
+                    backwardOnly[b++] = v;
+                } else if (color[v] == c) {
+                    color[v] = restColor;
+                    rest[r++] = v;
+                }
+            }
+            return new int[][]{forwardOnly, backwardOnly, rest};
+        }
+
+        /**
+         * Colors everything reachable from start through nodes of color c (or sccColor).
+         * Nodes already carrying sccColor are the forward set, so reaching them backwards
+         * puts them in the pivot's SCC. Returns how many nodes were reached.
+         */
+        private int bfs(Adjacency adjacency, int start, int c, int newColor, int sccColor, int component,
+                        int[] queue, Metrics local) {
+            int head = 0;
+            int tail = 0;
+            int reached = 0;
+            queue[tail++] = start;
+            reached += mark(start, newColor, sccColor, component);
+
+            while (head < tail) {
+                int v = queue[head++];
+                local.incrementDfsVisits();
+                for (int e = adjacency.edgeStart(v), end = adjacency.edgeEnd(v); e < end; e++) {
+                    int w = adjacency.target(e);
+                    local.incrementEdgeRelaxations();
+                    int wColor = color[w];
+                    if (wColor == c || (sccColor != -1 && wColor == sccColor)) {
+                        reached += mark(w, newColor, sccColor, component);
+                        queue[tail++] = w;
+                    }
+                }
+            }
+            return reached;
+        }
+
+        private int mark(int v, int newColor, int sccColor, int component) {
+            if (sccColor != -1 && color[v] == sccColor) {
+                color[v] = REMOVED;
+                componentOf[v] = component;
+            } else {
+                color[v] = newColor;
+            }
+            return 1;
+        }
+
+        // Iterative Tarjan restricted to the nodes of color c
+        private void tarjan(int[] subset, int c, Metrics local) {
+            int size = subset.length;
+            int[] callStack = new int[size];
+            int[] sccStack = new int[size];
+            int sccTop = 0;
+            int index = 0;
+
+            for (int v : subset) {
+                indices[v] = -1;
+            }
+
+            for (int root : subset) {
+                if (indices[root] != -1) {
+                    continue;
+                }
+                int depth = 0;
+                indices[root] = lowlinks[root] = index++;
+                edgeCursor[root] = forward.edgeStart(root);
+                sccStack[sccTop++] = root;
+                onStack[root] = true;
+                callStack[depth++] = root;
+                local.incrementDfsVisits();
+
+                while (depth > 0) {
+                    int v = callStack[depth - 1];
+                    int e = edgeCursor[v];
+                    if (e < forward.edgeEnd(v)) {
+                        edgeCursor[v] = e + 1;
+                        int w = forward.target(e);
+                        local.incrementEdgeRelaxations();
+                        if (color[w] != c) {
+                            continue;
+                        }
+                        if (indices[w] == -1) {
+                            indices[w] = lowlinks[w] = index++;
+                            edgeCursor[w] = forward.edgeStart(w);
+                            sccStack[sccTop++] = w;
+                            onStack[w] = true;
+                            callStack[depth++] = w;
+                            local.incrementDfsVisits();
+                        } else if (onStack[w]) {
+                            lowlinks[v] = Math.min(lowlinks[v], indices[w]);
+                        }
+                        continue;
+                    }
+
+                    if (lowlinks[v] == indices[v]) {
+                        int component = nextComponent.getAndIncrement();
+                        int w;
+                        do {
+                            w = sccStack[--sccTop];
+                            onStack[w] = false;
+                            componentOf[w] = component;
+                            local.incrementOperation(); // pop from stack
+                        } while (w != v);
+                    }
+
+                    depth--;
+                    if (depth > 0) {
+                        int parent = callStack[depth - 1];
+                        lowlinks[parent] = Math.min(lowlinks[parent], lowlinks[v]);
+                    }
+                }
+            }
+
+            for (int v : subset) {
+                color[v] = REMOVED;
+            }
+        }
+    }
+}
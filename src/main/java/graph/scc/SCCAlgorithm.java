@@ -0,0 +1,31 @@
+package graph.scc;
+
+import graph.Graph;
+
+import java.util.Locale;
+
+/**
+ * A strongly connected components engine. Every implementation returns components
+ * ordered by their smallest node with ascending members, so results are interchangeable.
+ */
+public interface SCCAlgorithm {
+
+    SCCResult findSCCs(Graph graph);
+
+    // tarjan | kosaraju | gabow | parallel, as accepted by --scc= and the benchmarks
+    static SCCAlgorithm named(String name) {
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "tarjan":
+                return new TarjanSCC();
+            case "kosaraju":
+                return new KosarajuSCC();
+            case "gabow":
+                return new GabowSCC();
+            case "parallel":
+                return new ParallelSCC();
+            default:
+                throw new IllegalArgumentException("Unknown SCC algorithm '" + name
+                        + "', expected tarjan, kosaraju, gabow or parallel");
+        }
+    }
+}
@@ -8,19 +8,43 @@ import java.util.List;
 
 public class SCCResult {
     private final List<List<Integer>> components;
+    private final int[] componentOf;
     private final Graph condensationGraph;
     private final Metrics metrics;
 
     public SCCResult(List<List<Integer>> components, Graph condensationGraph, Metrics metrics) {
+        this(components, CondensationBuilder.componentIndex(components, countNodes(components)),
+                condensationGraph, metrics);
+    }
+
+    // componentOf[node] is the index of the node's component in components
+    public SCCResult(List<List<Integer>> components, int[] componentOf, Graph condensationGraph, Metrics metrics) {
         this.components = components;
+        this.componentOf = componentOf;
         this.condensationGraph = condensationGraph;
         this.metrics = metrics;
     }
 
+    private static int countNodes(List<List<Integer>> components) {
+        int count = 0;
+        for (List<Integer> component : components) {
+            count += component.size();
+        }
+        return count;
+    }
+
     public List<List<Integer>> getComponents() {
         return components;
     }
 
+    public int getComponentOf(int node) {
+        return componentOf[node];
+    }
+
+    public int[] getComponentIndex() {
+        return componentOf.clone();
+    }
+
     public Graph getCondensationGraph() {
         return condensationGraph;
     }
@@ -1,90 +1,142 @@
 package graph.scc;
 
+import graph.Adjacency;
 import graph.Graph;
 import graph.Metrics;
 
 import java.util.*;
 
-public class TarjanSCC {
+public class TarjanSCC implements SCCAlgorithm {
     private int index;
     private int[] indices;
     private int[] lowlinks;
     private boolean[] onStack;
-    private Stack<Integer> stack;
+    // Explicit DFS state: call stack of nodes, next edge to scan per node, and Tarjan's SCC stack
+    private int[] callStack;
+    private int[] edgeCursor;
+    private int[] sccStack;
+    private int sccTop;
     private List<List<Integer>> components;
     private Metrics metrics;
+    private final WeightAggregation weightAggregation;
 
+    public TarjanSCC() {
+        this(WeightAggregation.FIRST);
+    }
+
+    public TarjanSCC(WeightAggregation weightAggregation) {
+        this.weightAggregation = weightAggregation;
+    }
+
+    @Override
     public SCCResult findSCCs(Graph graph) {
-        metrics = new Metrics();
+        metrics = Metrics.create();
         metrics.startTimer();
 
         int n = graph.getNodeCount();
         indices = new int[n];
         lowlinks = new int[n];
         onStack = new boolean[n];
-        stack = new Stack<>();
+        callStack = new int[n];
+        edgeCursor = new int[n];
+        sccStack = new int[n];
+        sccTop = 0;
         components = new ArrayList<>();
 
         Arrays.fill(indices, -1);
         index = 0;
 
+        Adjacency adjacency = graph.adjacency();
         for (int i = 0; i < n; i++) {
             if (indices[i] == -1) {
-                strongConnect(graph, i);
+                strongConnect(adjacency, i);
             }
         }
 
         metrics.stopTimer();
 
-        sortComponents();
+        sortComponents(components);
 
         // Build condensation graph
-        Graph condensationGraph = buildCondensationGraph(graph, components);
+        int[] componentOf = CondensationBuilder.componentIndex(components, n);
+        Graph condensationGraph = CondensationBuilder.build(graph, componentOf, components.size(),
+                weightAggregation, metrics);
+
+        return new SCCResult(components, componentOf, condensationGraph, metrics);
+    }
+
+    // Iterative version of the recursive strongConnect, so long chains cannot overflow the thread stack
+    private void strongConnect(Adjacency graph, int root) {
+        int depth = 0;
+        visit(graph, root);
+        callStack[depth++] = root;
+
+        while (depth > 0) {
+            int v = callStack[depth - 1];
+            int e = edgeCursor[v];
+
+            if (e < graph.edgeEnd(v)) {
+                edgeCursor[v] = e + 1;
+                int w = graph.target(e);
+                metrics.incrementOperation(); // process edge
+                metrics.incrementEdgeRelaxations(); // COUNT AS EDGE RELAXATION FOR SCC
+
+                if (indices[w] == -1) {
+                    // "Recursive call": resume v once w is finished
+                    visit(graph, w);
+                    callStack[depth++] = w;
+                } else if (onStack[w]) {
+                    lowlinks[v] = Math.min(lowlinks[v], indices[w]);
+                    metrics.incrementOperation(); // found in stack
+                }
+                continue;
+            }
+
+            // All edges of v are scanned
+            if (lowlinks[v] == indices[v]) {
+                popComponent(v);
+            }
 
-        return new SCCResult(components, condensationGraph, metrics);
+            depth--;
+            if (depth > 0) {
+                int parent = callStack[depth - 1];
+                lowlinks[parent] = Math.min(lowlinks[parent], lowlinks[v]);
+                metrics.incrementOperation(); // update lowlink
+            }
+        }
     }
 
-    private void strongConnect(Graph graph, int v) {
+    private void visit(Adjacency graph, int v) {
         metrics.incrementDfsVisits();
         metrics.incrementOperation(); // node visit
         indices[v] = index;
         lowlinks[v] = index;
         index++;
-        stack.push(v);
+        edgeCursor[v] = graph.edgeStart(v);
+        sccStack[sccTop++] = v;
         onStack[v] = true;
         metrics.incrementOperation(); // stack push
+    }
 
-        for (Graph.Edge edge : graph.getEdges(v)) {
-            int w = edge.v;
-            metrics.incrementOperation(); // process edge
-            metrics.incrementEdgeRelaxations(); // COUNT AS EDGE RELAXATION FOR SCC
-
-            if (indices[w] == -1) {
-                strongConnect(graph, w);
-                lowlinks[v] = Math.min(lowlinks[v], lowlinks[w]);
-                metrics.incrementOperation(); // update lowlink
-            } else if (onStack[w]) {
-                lowlinks[v] = Math.min(lowlinks[v], indices[w]);
-                metrics.incrementOperation(); // found in stack
-            }
-        }
-
-        if (lowlinks[v] == indices[v]) {
-            List<Integer> component = new ArrayList<>();
-            int w;
-            do {
-                w = stack.pop();
-                onStack[w] = false;
-                component.add(w);
-                metrics.incrementOperation(); // pop from stack
-            } while (w != v);
-
-            Collections.sort(component);
-            components.add(component);
+    private void popComponent(int v) {
+        int bottom = sccTop;
+        do {
+            bottom--;
+            onStack[sccStack[bottom]] = false;
+            metrics.incrementOperation(); // pop from stack
+        } while (sccStack[bottom] != v);
+
+        // The popped slice becomes the component, sorted in place for stable output
+        Arrays.sort(sccStack, bottom, sccTop);
+        List<Integer> component = new ArrayList<>(sccTop - bottom);
+        for (int i = bottom; i < sccTop; i++) {
+            component.add(sccStack[i]);
         }
+        components.add(component);
+        sccTop = bottom;
     }
 
-    private void sortComponents() {
+    private static void sortComponents(List<List<Integer>> components) {
         for (List<Integer> component : components) {
             Collections.sort(component);
         }
@@ -95,39 +147,4 @@ public class TarjanSCC {
             return Integer.compare(first1, first2);
         });
     }
-
-    private Graph buildCondensationGraph(Graph originalGraph, List<List<Integer>> components) {
-        int componentCount = components.size();
-        Graph condensationGraph = new Graph(componentCount, true, originalGraph.getWeightModel());
-
-        // Map each node to its component index
-        int[] componentMap = new int[originalGraph.getNodeCount()];
-        for (int i = 0; i < components.size(); i++) {
-            for (int node : components.get(i)) {
-                componentMap[node] = i;
-            }
-        }
-
-        // Add edges between different components
-        Set<String> addedEdges = new HashSet<>();
-        for (int u = 0; u < originalGraph.getNodeCount(); u++) {
-            for (Graph.Edge edge : originalGraph.getEdges(u)) {
-                metrics.incrementOperation(); // process edge for condensation
-                int v = edge.v;
-                int compU = componentMap[u];
-                int compV = componentMap[v];
-
-                if (compU != compV) {
-                    String edgeKey = compU + "->" + compV;
-                    if (!addedEdges.contains(edgeKey)) {
-                        condensationGraph.addEdge(compU, compV, edge.weight);
-                        addedEdges.add(edgeKey);
-                        metrics.incrementOperation(); // add condensation edge
-                    }
-                }
-            }
-        }
-
-        return condensationGraph;
-    }
-}
\ No newline at end of file
+}
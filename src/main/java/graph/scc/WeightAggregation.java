@@ -0,0 +1,26 @@
+package graph.scc;
+
+/**
+ * How the weights of parallel edges between two components are merged into
+ * the single condensation edge.
+ */
+public enum WeightAggregation {
+    MIN,
+    MAX,
+    FIRST,
+    SUM;
+
+    public int combine(int current, int weight) {
+        switch (this) {
+            case MIN:
+                return Math.min(current, weight);
+            case MAX:
+                return Math.max(current, weight);
+            case SUM:
+                long sum = (long) current + weight;
+                return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, sum));
+            default:
+                return current;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package graph.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import graph.dagsp.CriticalPathResult;
+import graph.dagsp.DAGShortestPath;
+import graph.dagsp.PathResult;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local HTTP daemon answering queries against cached graphs. Every endpoint takes
+ * file=&lt;path relative to the root directory&gt; and answers in JSON:
+ * <pre>
+ *   GET /shortest?file=F[&amp;source=S][&amp;target=T]   shortest distances over the condensation
+ *   GET /longest?file=F[&amp;source=S][&amp;target=T]    longest distances over the condensation
+ *   GET /critical?file=F                          critical path length and path
+ *   GET /scc?file=F&amp;node=N                        component of N and its members
+ *   GET /stats                                    cache statistics
+ * </pre>
+ * Paths run between components, like Main; source defaults to the file's own source.
+ */
+public class AnalysisServer {
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final GraphCache cache;
+    private final Path root;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    // Binds to the loopback interface only; port 0 picks a free port
+    public AnalysisServer(int port, int workerCount, GraphCache cache, Path root) throws IOException {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("Worker count must be at least 1");
+        }
+        this.cache = cache;
+        this.root = root.toAbsolutePath().normalize();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        this.workers = Executors.newFixedThreadPool(workerCount);
+        server.setExecutor(workers);
+
+        server.createContext("/shortest", exchange -> handle(exchange, query -> paths(query, true)));
+        server.createContext("/longest", exchange -> handle(exchange, query -> paths(query, false)));
+        server.createContext("/critical", exchange -> handle(exchange, this::critical));
+        server.createContext("/scc", exchange -> handle(exchange, this::membership));
+        server.createContext("/stats", exchange -> handle(exchange, query -> stats()));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        workers.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private ObjectNode paths(Map<String, String> query, boolean shortest) throws IOException {
+        AnalyzedGraph entry = load(query);
+        int source = query.containsKey("source") ? intParam(query, "source") : entry.getSource();
+        checkNode(entry, source, "source");
+        int sourceComponent = entry.getSccResult().getComponentOf(source);
+
+        DAGShortestPath dagSP = new DAGShortestPath();
+        PathResult result = shortest
+                ? dagSP.findShortestPath(entry.getCondensationGraph(), sourceComponent, entry.getTopoResult())
+                : dagSP.findLongestPath(entry.getCondensationGraph(), sourceComponent, entry.getTopoResult());
+
+        ObjectNode response = mapper.createObjectNode();
+        response.put("file", query.get("file"));
+        response.put("source", source);
+        response.put("sourceComponent", sourceComponent);
+        if (query.containsKey("target")) {
+            int target = intParam(query, "target");
+            checkNode(entry, target, "target");
+            int targetComponent = entry.getSccResult().getComponentOf(target);
+            boolean reachable = result.isReachable(targetComponent);
+            response.put("target", target);
+            response.put("targetComponent", targetComponent);
+            response.put("reachable", reachable);
+            if (reachable) {
+                response.put("distance", result.distanceAt(targetComponent));
+                ArrayNode path = response.putArray("componentPath");
+                for (int component : result.reconstructPathArray(targetComponent)) {
+                    path.add(component);
+                }
+            }
+        } else {
+            ArrayNode array = response.putArray("distances");
+            for (int c = 0, count = result.getNodeCount(); c < count; c++) {
+                if (result.isReachable(c)) {
+                    array.add(result.distanceAt(c));
+                } else {
+                    array.addNull();
+                }
+            }
+        }
+        return response;
+    }
+
+    private ObjectNode critical(Map<String, String> query) throws IOException {
+        AnalyzedGraph entry = load(query);
+        CriticalPathResult result = entry.getCriticalPath();
+        ObjectNode response = mapper.createObjectNode();
+        response.put("file", query.get("file"));
+        response.put("length", result.getLength());
+        addList(response.putArray("componentPath"), result.getCriticalPath());
+        return response;
+    }
+
+    private ObjectNode membership(Map<String, String> query) throws IOException {
+        AnalyzedGraph entry = load(query);
+        int node = intParam(query, "node");
+        checkNode(entry, node, "node");
+        int component = entry.getSccResult().getComponentOf(node);
+
+        ObjectNode response = mapper.createObjectNode();
+        response.put("file", query.get("file"));
+        response.put("node", node);
+        response.put("component", component);
+        response.put("componentCount", entry.getSccResult().getComponents().size());
+        addList(response.putArray("members"), entry.getSccResult().getComponents().get(component));
+        return response;
+    }
+
+    private ObjectNode stats() {
+        ObjectNode response = mapper.createObjectNode();
+        response.put("entries", cache.size());
+        response.put("usedBytes", cache.getUsedBytes());
+        response.put("budgetBytes", cache.getBudgetBytes());
+        response.put("hits", cache.getHits());
+        response.put("misses", cache.getMisses());
+        response.put("evictions", cache.getEvictions());
+        return response;
+    }
+
+    private AnalyzedGraph load(Map<String, String> query) throws IOException {
+        String file = query.get("file");
+        if (file == null) {
+            throw new QueryException(400, "Missing parameter 'file'");
+        }
+        Path path = root.resolve(file).normalize();
+        if (!path.startsWith(root)) {
+            throw new QueryException(403, "File is outside the served directory");
+        }
+        return cache.get(path);
+    }
+
+    private void handle(HttpExchange exchange, Query query) throws IOException {
+        int status = 200;
+        ObjectNode body;
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                throw new QueryException(405, "Only GET is supported");
+            }
+            body = query.answer(parseQuery(exchange.getRequestURI().getRawQuery()));
+        } catch (QueryException e) {
+            status = e.status;
+            body = error(e.getMessage());
+        } catch (NoSuchFileException e) {
+            status = 404;
+            body = error("No such file: " + e.getFile());
+        } catch (IllegalArgumentException | IOException e) {
+            status = 400;
+            body = error(e.getMessage());
+        } catch (RuntimeException e) {
+            status = 500;
+            body = error(e.toString());
+        }
+
+        byte[] bytes = mapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private ObjectNode error(String message) {
+        ObjectNode node = mapper.createObjectNode();
+        node.put("error", message);
+        return node;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static int intParam(Map<String, String> query, String name) {
+        String value = query.get(name);
+        if (value == null) {
+            throw new QueryException(400, "Missing parameter '" + name + "'");
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new QueryException(400, "Parameter '" + name + "' must be an integer");
+        }
+    }
+
+    private static void checkNode(AnalyzedGraph entry, int node, String name) {
+        if (node < 0 || node >= entry.getGraph().getNodeCount()) {
+            throw new QueryException(400, "Parameter '" + name + "' is not a node of the graph");
+        }
+    }
+
+    private static void addList(ArrayNode array, List<Integer> values) {
+        for (int value : values) {
+            array.add(value);
+        }
+    }
+
+    private interface Query {
+        ObjectNode answer(Map<String, String> query) throws IOException;
+    }
+
+    private static final class QueryException extends RuntimeException {
+        final int status;
+
+        QueryException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package graph.server;
+
+import graph.Adjacency;
+import graph.Graph;
+import graph.GraphParser;
+import graph.dagsp.CriticalPathResult;
+import graph.dagsp.DAGShortestPath;
+import graph.io.LoadedGraph;
+import graph.scc.SCCResult;
+import graph.scc.TarjanSCC;
+import graph.topo.TopoResult;
+import graph.topo.TopologicalSort;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * A parsed graph with everything the queries share: SCCs, the condensation and its
+ * topological order. Instances are immutable apart from the lazily computed critical
+ * path, so any number of worker threads can query one entry at the same time.
+ */
+public class AnalyzedGraph {
+    private final Path path;
+    private final long modifiedMillis;
+    private final Graph graph;
+    private final int source;
+    private final SCCResult sccResult;
+    private final TopoResult topoResult;
+    private volatile CriticalPathResult criticalPath;
+
+    AnalyzedGraph(Path path, long modifiedMillis, Graph graph, int source, SCCResult sccResult,
+                  TopoResult topoResult) {
+        this.path = path;
+        this.modifiedMillis = modifiedMillis;
+        this.graph = graph;
+        this.source = source;
+        this.sccResult = sccResult;
+        this.topoResult = topoResult;
+    }
+
+    public static AnalyzedGraph load(Path path, long modifiedMillis) throws IOException {
+        LoadedGraph input = GraphParser.load(path.toString());
+        Graph graph = input.getGraph();
+        SCCResult sccResult = new TarjanSCC().findSCCs(graph);
+        TopoResult topoResult = new TopologicalSort().kahnAlgorithm(sccResult.getCondensationGraph());
+        return new AnalyzedGraph(path, modifiedMillis, graph, input.getSource(), sccResult, topoResult);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getModifiedMillis() {
+        return modifiedMillis;
+    }
+
+    public Graph getGraph() {
+        return graph;
+    }
+
+    // Source node declared in the file
+    public int getSource() {
+        return source;
+    }
+
+    public SCCResult getSccResult() {
+        return sccResult;
+    }
+
+    public Graph getCondensationGraph() {
+        return sccResult.getCondensationGraph();
+    }
+
+    public TopoResult getTopoResult() {
+        return topoResult;
+    }
+
+    public CriticalPathResult getCriticalPath() {
+        CriticalPathResult result = criticalPath;
+        if (result == null) {
+            // Racing threads compute the same value, so the last write wins harmlessly
+            result = new DAGShortestPath().findCriticalPath(getCondensationGraph(), topoResult);
+            criticalPath = result;
+        }
+        return result;
+    }
+
+    /**
+     * Rough heap footprint used for the cache budget: CSR arrays of the graph and its
+     * condensation, the component index and order arrays, and boxed component lists.
+     */
+    public long estimateBytes() {
+        Adjacency adjacency = graph.adjacency();
+        Adjacency condensation = getCondensationGraph().adjacency();
+        long n = adjacency.getNodeCount();
+        long c = condensation.getNodeCount();
+        long graphBytes = 4 * (n + 1) + 8L * adjacency.getEdgeCount() + 4 * n;
+        long sccBytes = 4 * n + 24 * n + 40 * c;
+        long condensationBytes = 4 * (c + 1) + 8L * condensation.getEdgeCount() + 4 * c;
+        long orderBytes = 4 * c;
+        return graphBytes + sccBytes + condensationBytes + orderBytes;
+    }
+}
@@ -0,0 +1,128 @@
+package graph.server;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * LRU cache of analyzed graphs keyed by file path and modification time, so an edited
+ * file is reloaded on its next query. Entries are evicted least recently used first
+ * once their estimated size exceeds the memory budget; the newest entry always stays.
+ * Loading runs outside the lock, so a slow parse does not block queries on cached files.
+ */
+public class GraphCache {
+    private final long budgetBytes;
+    private final LinkedHashMap<Key, AnalyzedGraph> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public GraphCache(long budgetBytes) {
+        if (budgetBytes < 1) {
+            throw new IllegalArgumentException("Cache budget must be positive");
+        }
+        this.budgetBytes = budgetBytes;
+    }
+
+    public AnalyzedGraph get(Path file) throws IOException {
+        Path path = file.toAbsolutePath().normalize();
+        long modified = Files.getLastModifiedTime(path).toMillis();
+        Key key = new Key(path, modified);
+
+        synchronized (this) {
+            AnalyzedGraph cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+
+        AnalyzedGraph loaded = AnalyzedGraph.load(path, modified);
+        long size = loaded.estimateBytes();
+
+        synchronized (this) {
+            AnalyzedGraph raced = entries.get(key);
+            if (raced != null) {
+                return raced;
+            }
+            // Older versions of the same file can never be hit again
+            Iterator<Map.Entry<Key, AnalyzedGraph>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Key, AnalyzedGraph> entry = it.next();
+                if (entry.getKey().path.equals(path)) {
+                    usedBytes -= entry.getValue().estimateBytes();
+                    it.remove();
+                }
+            }
+
+            entries.put(key, loaded);
+            usedBytes += size;
+            evict();
+            return loaded;
+        }
+    }
+
+    private void evict() {
+        Iterator<AnalyzedGraph> it = entries.values().iterator();
+        while (usedBytes > budgetBytes && entries.size() > 1) {
+            AnalyzedGraph eldest = it.next();
+            usedBytes -= eldest.estimateBytes();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    private static final class Key {
+        final Path path;
+        final long modified;
+
+        Key(Path path, long modified) {
+            this.path = path;
+            this.modified = modified;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return modified == other.modified && path.equals(other.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, modified);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package graph.topo;
+
+import java.util.List;
+
+// Thrown when an edge insertion would close a cycle; the cycle lists the nodes in edge order
+public class CycleDetectedException extends IllegalArgumentException {
+    private final List<Integer> cycle;
+
+    public CycleDetectedException(List<Integer> cycle) {
+        super("Edge would create cycle " + cycle);
+        this.cycle = cycle;
+    }
+
+    public List<Integer> getCycle() {
+        return cycle;
+    }
+}
@@ -0,0 +1,272 @@
+package graph.topo;
+
+import graph.Adjacency;
+import graph.Graph;
+import graph.Metrics;
+import graph.util.IntList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Topological order maintained under edge insertions (Pearce-Kelly). An edge u -> v
+ * that already agrees with the order costs O(1). Otherwise only the nodes placed
+ * between v and u are searched: those reachable from v and those reaching u swap
+ * into the positions they already occupied. An insertion that would close a cycle
+ * is rejected with a {@link CycleDetectedException} and the structure is unchanged.
+ */
+public class DynamicTopologicalOrder {
+    private final int n;
+    private final int[] position;   // node -> index in the order
+    private final int[] nodeAt;     // index in the order -> node
+    private final IntList[] outTargets;
+    private final IntList[] outWeights;
+    private final IntList[] inSources;
+    private int edgeCount;
+    private final Metrics metrics;
+
+    // Scratch state of one insertion
+    private final boolean[] visited;
+    private final int[] parent;
+    private final IntList stack = new IntList();
+    private final IntList forwardSet = new IntList();
+    private final IntList backwardSet = new IntList();
+
+    // Starts from n isolated nodes in the order 0 .. n-1
+    public DynamicTopologicalOrder(int n) {
+        this.n = n;
+        this.position = new int[n];
+        this.nodeAt = new int[n];
+        this.outTargets = new IntList[n];
+        this.outWeights = new IntList[n];
+        this.inSources = new IntList[n];
+        this.visited = new boolean[n];
+        this.parent = new int[n];
+        this.metrics = Metrics.create();
+        for (int i = 0; i < n; i++) {
+            position[i] = i;
+            nodeAt[i] = i;
+            outTargets[i] = new IntList(2);
+            outWeights[i] = new IntList(2);
+            inSources[i] = new IntList(2);
+        }
+    }
+
+    // Seeds the structure with a DAG and its Kahn order
+    public static DynamicTopologicalOrder fromGraph(Graph graph) {
+        if (!graph.isDirected()) {
+            throw new IllegalArgumentException("Topological order requires a directed graph");
+        }
+        TopoResult topoResult = new TopologicalSort().kahnAlgorithm(graph);
+        if (topoResult.hasCycle()) {
+            throw new IllegalArgumentException("Graph contains cycles - cannot maintain a topological order");
+        }
+
+        DynamicTopologicalOrder dynamic = new DynamicTopologicalOrder(graph.getNodeCount());
+        for (int i = 0; i < topoResult.getOrderSize(); i++) {
+            int node = topoResult.getNodeAt(i);
+            dynamic.nodeAt[i] = node;
+            dynamic.position[node] = i;
+        }
+        Adjacency adjacency = graph.adjacency();
+        for (int u = 0; u < dynamic.n; u++) {
+            for (int e = adjacency.edgeStart(u), end = adjacency.edgeEnd(u); e < end; e++) {
+                dynamic.link(u, adjacency.target(e), adjacency.weight(e));
+            }
+        }
+        dynamic.metrics.addAll(topoResult.getMetrics());
+        return dynamic;
+    }
+
+    public void addEdge(int u, int v, int weight) {
+        if (u < 0 || u >= n || v < 0 || v >= n) {
+            throw new IllegalArgumentException("Invalid edge " + u + " -> " + v);
+        }
+        metrics.incrementOperation();
+        if (u == v) {
+            throw new CycleDetectedException(List.of(u));
+        }
+
+        int lowerBound = position[v];
+        int upperBound = position[u];
+        if (upperBound > lowerBound) {
+            // v currently precedes u: the affected region is positions lowerBound .. upperBound
+            try {
+                if (searchForward(v, u, upperBound)) {
+                    throw new CycleDetectedException(cyclePath(v, u));
+                }
+                searchBackward(u, lowerBound);
+                reorder();
+            } finally {
+                clearMarks();
+            }
+        }
+        link(u, v, weight);
+    }
+
+    private void link(int u, int v, int weight) {
+        outTargets[u].add(v);
+        outWeights[u].add(weight);
+        inSources[v].add(u);
+        edgeCount++;
+    }
+
+    // DFS over out-edges from start, staying at positions <= upperBound; true if target is reached
+    private boolean searchForward(int start, int target, int upperBound) {
+        visited[start] = true;
+        parent[start] = -1;
+        forwardSet.add(start);
+        stack.clear();
+        stack.add(start);
+        while (!stack.isEmpty()) {
+            int w = stack.removeLast();
+            metrics.incrementDfsVisits();
+            IntList targets = outTargets[w];
+            for (int i = 0; i < targets.size(); i++) {
+                int x = targets.get(i);
+                metrics.incrementEdgeRelaxations();
+                if (x == target) {
+                    parent[x] = w;
+                    return true;
+                }
+                if (!visited[x] && position[x] < upperBound) {
+                    visited[x] = true;
+                    parent[x] = w;
+                    forwardSet.add(x);
+                    stack.add(x);
+                }
+            }
+        }
+        return false;
+    }
+
+    // DFS over in-edges from start, staying at positions > lowerBound
+    private void searchBackward(int start, int lowerBound) {
+        visited[start] = true;
+        backwardSet.add(start);
+        stack.clear();
+        stack.add(start);
+        while (!stack.isEmpty()) {
+            int w = stack.removeLast();
+            metrics.incrementDfsVisits();
+            IntList sources = inSources[w];
+            for (int i = 0; i < sources.size(); i++) {
+                int x = sources.get(i);
+                metrics.incrementEdgeRelaxations();
+                if (!visited[x] && position[x] > lowerBound) {
+                    visited[x] = true;
+                    backwardSet.add(x);
+                    stack.add(x);
+                }
+            }
+        }
+    }
+
+    /**
+     * Nodes that reach u must now precede nodes reachable from v. Both groups keep their
+     * relative order and reuse exactly the positions they occupied before.
+     */
+    private void reorder() {
+        int[] backward = sortByPosition(backwardSet);
+        int[] forward = sortByPosition(forwardSet);
+        int[] slots = new int[backward.length + forward.length];
+        int k = 0;
+        for (int node : backward) {
+            slots[k++] = position[node];
+        }
+        for (int node : forward) {
+            slots[k++] = position[node];
+        }
+        Arrays.sort(slots);
+
+        k = 0;
+        for (int node : backward) {
+            place(node, slots[k++]);
+        }
+        for (int node : forward) {
+            place(node, slots[k++]);
+        }
+    }
+
+    private void place(int node, int slot) {
+        position[node] = slot;
+        nodeAt[slot] = node;
+        metrics.incrementOperation();
+    }
+
+    private int[] sortByPosition(IntList nodes) {
+        // Sort by position through packed longs: high half position, low half node
+        long[] keys = new long[nodes.size()];
+        for (int i = 0; i < keys.length; i++) {
+            int node = nodes.get(i);
+            keys[i] = ((long) position[node] << 32) | node;
+        }
+        Arrays.sort(keys);
+        int[] sorted = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            sorted[i] = (int) keys[i];
+        }
+        return sorted;
+    }
+
+    // start ... end following the DFS parents, then the rejected edge end -> start closes it
+    private List<Integer> cyclePath(int start, int end) {
+        List<Integer> path = new ArrayList<>();
+        for (int w = end; w != -1; w = parent[w]) {
+            path.add(w);
+            if (w == start) {
+                break;
+            }
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private void clearMarks() {
+        for (int i = 0; i < forwardSet.size(); i++) {
+            visited[forwardSet.get(i)] = false;
+        }
+        for (int i = 0; i < backwardSet.size(); i++) {
+            visited[backwardSet.get(i)] = false;
+        }
+        forwardSet.clear();
+        backwardSet.clear();
+    }
+
+    public int getNodeCount() {
+        return n;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    public int getPosition(int node) {
+        return position[node];
+    }
+
+    public int getNodeAt(int index) {
+        return nodeAt[index];
+    }
+
+    // Snapshot of the current order; never has a cycle since cyclic insertions are rejected
+    public TopoResult toTopoResult() {
+        return new TopoResult(nodeAt.clone(), false, metrics);
+    }
+
+    public Graph toGraph(String weightModel) {
+        Graph graph = new Graph(n, true, weightModel);
+        for (int u = 0; u < n; u++) {
+            for (int i = 0; i < outTargets[u].size(); i++) {
+                graph.addEdge(u, outTargets[u].get(i), outWeights[u].get(i));
+            }
+        }
+        return graph;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+}
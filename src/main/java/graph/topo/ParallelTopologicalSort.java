@@ -0,0 +1,175 @@
+package graph.topo;
+
+import graph.Adjacency;
+import graph.Graph;
+import graph.Metrics;
+import graph.util.IntList;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Level-synchronous Kahn's algorithm. Every frontier (all nodes whose last
+ * prerequisite was in the previous level) is processed in parallel chunks with
+ * atomic in-degree decrements. The result keeps the level boundaries, and each
+ * level is sorted so the order does not depend on thread scheduling.
+ */
+public class ParallelTopologicalSort {
+    public static final int DEFAULT_GRAIN = 4096;
+
+    private final int parallelism;
+    private final int grain;
+
+    public ParallelTopologicalSort() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_GRAIN);
+    }
+
+    // grain is the number of nodes below which a frontier is processed on the calling thread
+    public ParallelTopologicalSort(int parallelism, int grain) {
+        if (parallelism < 1 || grain < 1) {
+            throw new IllegalArgumentException("Parallelism and grain must be at least 1");
+        }
+        this.parallelism = parallelism;
+        this.grain = grain;
+    }
+
+    public TopoResult wavefront(Graph graph) {
+        Metrics metrics = Metrics.createConcurrent();
+        metrics.startTimer();
+
+        int n = graph.getNodeCount();
+        Adjacency adjacency = graph.adjacency();
+        AtomicIntegerArray inDegree = new AtomicIntegerArray(n);
+        int[] order = new int[n];
+        IntList levelOffsets = new IntList();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            // Calculate in-degrees
+            forEachChunk(pool, n, (from, to) -> {
+                Metrics local = Metrics.create();
+                for (int u = from; u < to; u++) {
+                    for (int e = adjacency.edgeStart(u), end = adjacency.edgeEnd(u); e < end; e++) {
+                        inDegree.incrementAndGet(adjacency.target(e));
+                        local.incrementKahnOperations();
+                    }
+                }
+                metrics.addAll(local);
+            });
+
+            // Level 0: every node without prerequisites, in ascending order
+            int tail = 0;
+            for (int v = 0; v < n; v++) {
+                if (inDegree.get(v) == 0) {
+                    order[tail++] = v;
+                }
+            }
+
+            int head = 0;
+            levelOffsets.add(0);
+            while (head < tail) {
+                int levelStart = head;
+                int levelEnd = tail;
+                levelOffsets.add(levelEnd);
+
+                IntList[] released = releaseLevel(pool, adjacency, inDegree, order, levelStart, levelEnd, metrics);
+                for (IntList chunk : released) {
+                    System.arraycopy(chunk.rawArray(), 0, order, tail, chunk.size());
+                    tail += chunk.size();
+                }
+                Arrays.sort(order, levelEnd, tail);
+                head = levelEnd;
+            }
+
+            metrics.stopTimer();
+            boolean hasCycle = tail != n;
+            int[] finalOrder = hasCycle ? Arrays.copyOf(order, tail) : order;
+            return new TopoResult(finalOrder, levelOffsets.toArray(), hasCycle, metrics);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Decrements the in-degree of every successor of the level; returns newly freed nodes per chunk
+    private IntList[] releaseLevel(ForkJoinPool pool, Adjacency adjacency, AtomicIntegerArray inDegree,
+                                   int[] order, int levelStart, int levelEnd, Metrics metrics) {
+        int size = levelEnd - levelStart;
+        int chunks = chunkCount(size);
+        IntList[] released = new IntList[chunks];
+        int chunkSize = (size + chunks - 1) / chunks;
+
+        IntConsumer body = chunk -> {
+            Metrics local = Metrics.create();
+            IntList freed = new IntList();
+            int from = levelStart + chunk * chunkSize;
+            int to = Math.min(levelEnd, from + chunkSize);
+            for (int i = from; i < to; i++) {
+                int u = order[i];
+                local.incrementOperation();
+                for (int e = adjacency.edgeStart(u), end = adjacency.edgeEnd(u); e < end; e++) {
+                    int v = adjacency.target(e);
+                    local.incrementKahnOperations();
+                    if (inDegree.decrementAndGet(v) == 0) {
+                        freed.add(v);
+                    }
+                }
+            }
+            released[chunk] = freed;
+            metrics.addAll(local);
+        };
+
+        if (chunks == 1) {
+            body.accept(0);
+        } else {
+            pool.invoke(new ChunkAction(body, 0, chunks));
+        }
+        return released;
+    }
+
+    private void forEachChunk(ForkJoinPool pool, int size, RangeBody body) {
+        int chunks = chunkCount(size);
+        int chunkSize = (size + chunks - 1) / chunks;
+        IntConsumer chunkBody = chunk -> body.run(chunk * chunkSize, Math.min(size, (chunk + 1) * chunkSize));
+        if (chunks == 1) {
+            chunkBody.accept(0);
+        } else {
+            pool.invoke(new ChunkAction(chunkBody, 0, chunks));
+        }
+    }
+
+    private int chunkCount(int size) {
+        if (size < grain) {
+            return 1;
+        }
+        return Math.min(parallelism * 4, (size + grain - 1) / grain);
+    }
+
+    private interface RangeBody {
+        void run(int from, int to);
+    }
+
+    private static final class ChunkAction extends RecursiveAction {
+        private final IntConsumer body;
+        private final int from;
+        private final int to;
+
+        ChunkAction(IntConsumer body, int from, int to) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkAction(body, from, mid), new ChunkAction(body, mid, to));
+        }
+    }
+}
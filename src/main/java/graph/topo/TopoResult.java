@@ -2,21 +2,88 @@ package graph.topo;
 
 import graph.Metrics;
 
+import java.util.AbstractList;
 import java.util.List;
 
 public class TopoResult {
-    private final List<Integer> topologicalOrder;
+    private final int[] order;
+    private final int[] levelOffsets;
     private final boolean hasCycle;
     private final Metrics metrics;
 
     public TopoResult(List<Integer> topologicalOrder, boolean hasCycle, Metrics metrics) {
-        this.topologicalOrder = topologicalOrder;
+        this(toArray(topologicalOrder), hasCycle, metrics);
+    }
+
+    // Takes ownership of the order array
+    public TopoResult(int[] order, boolean hasCycle, Metrics metrics) {
+        this(order, null, hasCycle, metrics);
+    }
+
+    /**
+     * Wavefront result: level l is order[levelOffsets[l] .. levelOffsets[l + 1] - 1], and the
+     * tasks of one level have no dependencies among each other.
+     */
+    public TopoResult(int[] order, int[] levelOffsets, boolean hasCycle, Metrics metrics) {
+        this.order = order;
+        this.levelOffsets = levelOffsets;
         this.hasCycle = hasCycle;
         this.metrics = metrics;
     }
 
+    private static int[] toArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    // Read-only list view over the primitive order
     public List<Integer> getTopologicalOrder() {
-        return topologicalOrder;
+        return new AbstractList<Integer>() {
+            @Override
+            public Integer get(int index) {
+                return order[index];
+            }
+
+            @Override
+            public int size() {
+                return order.length;
+            }
+        };
+    }
+
+    public int[] getOrder() {
+        return order.clone();
+    }
+
+    public int getOrderSize() {
+        return order.length;
+    }
+
+    public int getNodeAt(int position) {
+        return order[position];
+    }
+
+    public boolean hasLevels() {
+        return levelOffsets != null;
+    }
+
+    public int getLevelCount() {
+        return levelOffsets == null ? 0 : levelOffsets.length - 1;
+    }
+
+    public int getLevelStart(int level) {
+        return levelOffsets[level];
+    }
+
+    public int getLevelEnd(int level) {
+        return levelOffsets[level + 1];
+    }
+
+    public int[] getLevelOffsets() {
+        return levelOffsets == null ? null : levelOffsets.clone();
     }
 
     public boolean hasCycle() {
@@ -26,4 +93,4 @@ public class TopoResult {
     public Metrics getMetrics() {
         return metrics;
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package graph.topo;
 
+import graph.Adjacency;
 import graph.Graph;
 import graph.Metrics;
 
@@ -8,58 +9,58 @@ import java.util.*;
 public class TopologicalSort {
 
     public TopoResult kahnAlgorithm(Graph graph) {
-        Metrics metrics = new Metrics();
+        Metrics metrics = Metrics.create();
         metrics.startTimer();
 
         int n = graph.getNodeCount();
+        Adjacency adjacency = graph.adjacency();
         int[] inDegree = new int[n];
 
         // Calculate in-degrees
         for (int u = 0; u < n; u++) {
             metrics.incrementOperation(); // process node u
-            for (Graph.Edge edge : graph.getEdges(u)) {
-                inDegree[edge.v]++;
+            for (int e = adjacency.edgeStart(u), end = adjacency.edgeEnd(u); e < end; e++) {
+                inDegree[adjacency.target(e)]++;
                 metrics.incrementKahnOperations();
                 metrics.incrementOperation(); // process edge
             }
         }
 
+        // The order array doubles as the FIFO queue: [head, tail) are the queued nodes
+        int[] topoOrder = new int[n];
+        int head = 0;
+        int tail = 0;
+
         // Initialize queue with nodes having zero in-degree
-        Queue<Integer> queue = new LinkedList<>();
         for (int i = 0; i < n; i++) {
             metrics.incrementOperation(); // check node i
             if (inDegree[i] == 0) {
-                queue.offer(i);
+                topoOrder[tail++] = i;
                 metrics.incrementKahnOperations();
             }
         }
 
-        List<Integer> topoOrder = new ArrayList<>();
-        int visited = 0;
-
         // Process nodes
-        while (!queue.isEmpty()) {
+        while (head < tail) {
             metrics.incrementOperation(); // while loop
-            int u = queue.poll();
-            topoOrder.add(u);
-            visited++;
+            int u = topoOrder[head++];
             metrics.incrementKahnOperations();
 
-            for (Graph.Edge edge : graph.getEdges(u)) {
+            for (int e = adjacency.edgeStart(u), end = adjacency.edgeEnd(u); e < end; e++) {
                 metrics.incrementOperation(); // process edge
-                int v = edge.v;
+                int v = adjacency.target(e);
                 inDegree[v]--;
                 metrics.incrementKahnOperations();
 
                 if (inDegree[v] == 0) {
-                    queue.offer(v);
+                    topoOrder[tail++] = v;
                     metrics.incrementKahnOperations();
                 }
             }
         }
 
         metrics.stopTimer();
-        boolean hasCycle = (visited != n);
-        return new TopoResult(topoOrder, hasCycle, metrics);
+        boolean hasCycle = (tail != n);
+        return new TopoResult(tail == n ? topoOrder : Arrays.copyOf(topoOrder, tail), hasCycle, metrics);
     }
 }
\ No newline at end of file
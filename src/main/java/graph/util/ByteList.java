@@ -0,0 +1,82 @@
+package graph.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Growable ASCII byte buffer. Integers are appended digit by digit, so writing numeric
+ * text does not create a String per value.
+ */
+public final class ByteList {
+    private byte[] data;
+    private int size;
+
+    public ByteList() {
+        this(256);
+    }
+
+    public ByteList(int initialCapacity) {
+        this.data = new byte[Math.max(16, initialCapacity)];
+    }
+
+    public ByteList append(char c) {
+        ensureCapacity(1);
+        data[size++] = (byte) c;
+        return this;
+    }
+
+    // Only for ASCII text; every char is truncated to one byte
+    public ByteList append(String text) {
+        ensureCapacity(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            data[size++] = (byte) text.charAt(i);
+        }
+        return this;
+    }
+
+    public ByteList append(long value) {
+        if (value == Long.MIN_VALUE) {
+            return append(Long.toString(value));
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            data[size++] = '-';
+            value = -value;
+        }
+        int start = size;
+        do {
+            data[size++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        // Digits were written least significant first
+        for (int i = start, j = size - 1; i < j; i++, j--) {
+            byte tmp = data[i];
+            data[i] = data[j];
+            data[j] = tmp;
+        }
+        return this;
+    }
+
+    public int length() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    // Wraps the backing array without copying; valid until the next append
+    public ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(data, 0, size);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, size + extra));
+        }
+    }
+}
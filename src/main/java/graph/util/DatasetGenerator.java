@@ -1,17 +1,36 @@
 package graph.util;
 
+import graph.Adjacency;
 import graph.Graph;
+import graph.util.StreamingGraphGenerator.Shape;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.Random;
 
 public class DatasetGenerator {
     private static final ObjectMapper mapper = new ObjectMapper();
     private static final Random random = new Random(42); // Fixed seed for reproducibility
 
+    /**
+     * Without arguments regenerates the datasets under data/. Otherwise streams one large graph:
+     * {@code DatasetGenerator <shape> <nodes> <degree> <out.json|out.bin> [groups] [seed] [threads]}
+     * with shape one of chain, layered, power_law, giant_scc, uniform.
+     */
     public static void main(String[] args) throws IOException {
+        if (args.length > 0) {
+            generateLarge(args);
+            return;
+        }
         DatasetGenerator generator = new DatasetGenerator();
 
         // Generate all datasets
@@ -22,6 +41,33 @@ public class DatasetGenerator {
         System.out.println("All datasets generated successfully!");
     }
 
+    private static void generateLarge(String[] args) throws IOException {
+        if (args.length < 4) {
+            throw new IllegalArgumentException(
+                    "Usage: DatasetGenerator <shape> <nodes> <degree> <out.json|out.bin> [groups] [seed] [threads]");
+        }
+        Shape shape = Shape.valueOf(args[0].toUpperCase(Locale.ROOT));
+        int nodes = Integer.parseInt(args[1]);
+        int degree = Integer.parseInt(args[2]);
+        Path output = Paths.get(args[3]);
+        int groups = args.length > 4 ? Integer.parseInt(args[4]) : 4;
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : 42;
+        int threads = args.length > 6 ? Integer.parseInt(args[6]) : Runtime.getRuntime().availableProcessors();
+
+        StreamingGraphGenerator generator = new StreamingGraphGenerator(shape, nodes, degree, groups, seed, threads);
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        long start = System.nanoTime();
+        if (output.toString().endsWith(".bin")) {
+            generator.writeBinary(output);
+        } else {
+            generator.writeJson(output);
+        }
+        System.out.printf("Generated: %s (%s, %d nodes) in %.1f s%n", output, shape, nodes,
+                (System.nanoTime() - start) / 1e9);
+    }
+
     public void generateSmallDatasets() throws IOException {
         // 3 small datasets: 6-10 nodes
         generateDataset("data/small/small_dag_1.json", 8, 12, 0.0, "DAG");
@@ -45,62 +91,67 @@ public class DatasetGenerator {
 
     private void generateDataset(String filename, int nodes, int edges,
                                  double cycleProbability, String type) throws IOException {
-        Map<String, Object> graphData = new HashMap<>();
-        graphData.put("directed", true);
-        graphData.put("n", nodes);
-        graphData.put("source", 0);
-        graphData.put("weight_model", "edge");
-
-        List<Map<String, Object>> edgeList = new ArrayList<>();
-        Set<String> existingEdges = new HashSet<>();
+        EdgeBuffer edgeList = new EdgeBuffer(nodes);
 
         if (type.equals("DAG")) {
-            generateDAG(edgeList, existingEdges, nodes, edges);
+            generateDAG(edgeList, nodes, edges);
         } else {
-            generateGraphWithCycles(edgeList, existingEdges, nodes, edges, cycleProbability);
+            generateGraphWithCycles(edgeList, nodes, edges, cycleProbability);
         }
 
-        graphData.put("edges", edgeList);
-
         // Ensure directory exists
         new File(filename).getParentFile().mkdirs();
 
-        // Write to file
-        mapper.writerWithDefaultPrettyPrinter().writeValue(new File(filename), graphData);
+        // Stream to file, same layout the Map-based writer produced
+        try (JsonGenerator json = mapper.getFactory().createGenerator(new File(filename), JsonEncoding.UTF8)) {
+            json.setPrettyPrinter(new DefaultPrettyPrinter());
+            json.writeStartObject();
+            json.writeStringField("weight_model", "edge");
+            json.writeBooleanField("directed", true);
+            json.writeArrayFieldStart("edges");
+            for (int i = 0; i < edgeList.size(); i++) {
+                json.writeStartObject();
+                json.writeNumberField("u", edgeList.sources.get(i));
+                json.writeNumberField("v", edgeList.targets.get(i));
+                json.writeNumberField("w", edgeList.weights.get(i));
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeNumberField("source", 0);
+            json.writeNumberField("n", nodes);
+            json.writeEndObject();
+        }
 
         System.out.println("Generated: " + filename + " (nodes: " + nodes +
                 ", edges: " + edgeList.size() + ", type: " + type + ")");
     }
 
-    private void generateDAG(List<Map<String, Object>> edgeList, Set<String> existingEdges,
-                             int nodes, int targetEdges) {
+    private void generateDAG(EdgeBuffer edgeList, int nodes, int targetEdges) {
         int edgesGenerated = 0;
 
         while (edgesGenerated < targetEdges) {
             int u = random.nextInt(nodes - 1);
             int v = u + 1 + random.nextInt(nodes - u - 1);
 
-            String edgeKey = u + "->" + v;
-            if (!existingEdges.contains(edgeKey)) {
-                addEdge(edgeList, existingEdges, u, v);
+            if (!edgeList.contains(u, v)) {
+                addEdge(edgeList, u, v);
                 edgesGenerated++;
             }
 
             // Avoid infinite loop
-            if (existingEdges.size() >= (nodes * (nodes - 1)) / 2) {
+            if (edgeList.size() >= (nodes * (nodes - 1)) / 2) {
                 break;
             }
         }
     }
 
-    private void generateGraphWithCycles(List<Map<String, Object>> edgeList, Set<String> existingEdges,
-                                         int nodes, int targetEdges, double cycleProbability) {
+    private void generateGraphWithCycles(EdgeBuffer edgeList, int nodes, int targetEdges, double cycleProbability) {
         int edgesGenerated = 0;
 
         // First create a spanning tree to ensure connectivity
         for (int i = 1; i < nodes; i++) {
             int u = random.nextInt(i);
-            addEdge(edgeList, existingEdges, u, i);
+            addEdge(edgeList, u, i);
             edgesGenerated++;
         }
 
@@ -109,13 +160,13 @@ public class DatasetGenerator {
             int u = random.nextInt(nodes);
             int v = random.nextInt(nodes);
 
-            if (u != v && !existingEdges.contains(u + "->" + v)) {
+            if (u != v && !edgeList.contains(u, v)) {
                 // With some probability, allow cycles (v < u for back edges)
                 if (u > v && random.nextDouble() < cycleProbability) {
-                    addEdge(edgeList, existingEdges, u, v);
+                    addEdge(edgeList, u, v);
                     edgesGenerated++;
                 } else if (u < v) {
-                    addEdge(edgeList, existingEdges, u, v);
+                    addEdge(edgeList, u, v);
                     edgesGenerated++;
                 }
             }
@@ -127,16 +178,88 @@ public class DatasetGenerator {
         }
     }
 
-    private void addEdge(List<Map<String, Object>> edgeList, Set<String> existingEdges, int u, int v) {
-        String edgeKey = u + "->" + v;
-        if (!existingEdges.contains(edgeKey)) {
-            Map<String, Object> edge = new HashMap<>();
-            edge.put("u", u);
-            edge.put("v", v);
-            edge.put("w", random.nextInt(10) + 1); // Weight 1-10
+    private void addEdge(EdgeBuffer edgeList, int u, int v) {
+        if (!edgeList.contains(u, v)) {
+            edgeList.add(u, v, random.nextInt(10) + 1); // Weight 1-10
+        }
+    }
+
+    // Edge triples plus an n x n bitmap, replacing the "u->v" string set of the hand-sized datasets
+    private static final class EdgeBuffer {
+        final IntList sources = new IntList();
+        final IntList targets = new IntList();
+        final IntList weights = new IntList();
+        private final int nodes;
+        private final BitSet present;
+
+        EdgeBuffer(int nodes) {
+            this.nodes = nodes;
+            this.present = new BitSet(nodes * nodes);
+        }
+
+        boolean contains(int u, int v) {
+            return present.get(u * nodes + v);
+        }
+
+        void add(int u, int v, int weight) {
+            sources.add(u);
+            targets.add(v);
+            weights.add(weight);
+            present.set(u * nodes + v);
+        }
+
+        int size() {
+            return sources.size();
+        }
+    }
+
+    // In-memory graphs of a given shape, used by the benchmarks; see StreamingGraphGenerator for large ones
 
-            edgeList.add(edge);
-            existingEdges.add(edgeKey);
+    // 0 -> 1 -> ... -> n-1, the deepest possible DFS
+    public static Graph chain(int nodes, long seed) {
+        return new StreamingGraphGenerator(Shape.CHAIN, nodes, 1, 1, seed).toGraph();
+    }
+
+    // Nodes split into layers; every node points to edgesPerNode random nodes of the next layer
+    public static Graph layeredDag(int nodes, int layers, int edgesPerNode, long seed) {
+        return new StreamingGraphGenerator(Shape.LAYERED, nodes, edgesPerNode, layers, seed).toGraph();
+    }
+
+    // Uniformly random edges, so almost every node ends up in one giant SCC
+    public static Graph denseCyclic(int nodes, int edgesPerNode, long seed) {
+        return new StreamingGraphGenerator(Shape.UNIFORM, nodes, edgesPerNode, 1, seed).toGraph();
+    }
+
+    // Writes a graph in the tasks.json layout with Jackson's streaming generator
+    public static void writeJson(Graph graph, int source, File file) throws IOException {
+        Adjacency adjacency = graph.adjacency();
+        try (JsonGenerator json = mapper.getFactory().createGenerator(file, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeBooleanField("directed", graph.isDirected());
+            json.writeNumberField("n", graph.getNodeCount());
+            json.writeNumberField("source", source);
+            json.writeStringField("weight_model", graph.getWeightModel());
+            json.writeArrayFieldStart("edges");
+            for (int u = 0; u < adjacency.getNodeCount(); u++) {
+                for (int e = adjacency.edgeStart(u), end = adjacency.edgeEnd(u); e < end; e++) {
+                    int v = adjacency.target(e);
+                    if (!graph.isDirected() && v < u) {
+                        continue; // the loader re-creates the reverse direction
+                    }
+                    json.writeStartObject();
+                    json.writeNumberField("u", u);
+                    json.writeNumberField("v", v);
+                    json.writeNumberField("w", adjacency.weight(e));
+                    json.writeEndObject();
+                }
+            }
+            json.writeEndArray();
+            if ("node".equals(graph.getWeightModel())) {
+                json.writeFieldName("node_durations");
+                int[] durations = graph.getNodeDurations();
+                json.writeArray(durations, 0, durations.length);
+            }
+            json.writeEndObject();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,148 @@
+package graph.util;
+
+import java.util.Arrays;
+
+/**
+ * Hash map from non-negative int keys to int values, used where a HashMap<Integer, ...>
+ * would box every key. Open addressing with linear probing and backward-shift deletion,
+ * so there are no tombstones. Iterate over the raw slots with slotCount/keyAt/valueAt;
+ * the map must not be changed while iterating.
+ */
+public final class IntIntHashMap {
+    private static final int EMPTY = -1;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+
+    public IntIntHashMap() {
+        this(4);
+    }
+
+    public IntIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(int key) {
+        return key >= 0 && keys[find(key)] == key;
+    }
+
+    public int get(int key, int missing) {
+        if (key < 0) {
+            return missing;
+        }
+        int slot = find(key);
+        return keys[slot] == key ? values[slot] : missing;
+    }
+
+    public void put(int key, int value) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Keys must not be negative");
+        }
+        int slot = find(key);
+        if (keys[slot] == key) {
+            values[slot] = value;
+            return;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+    }
+
+    // Returns the removed value, or missing if the key was absent
+    public int remove(int key, int missing) {
+        if (key < 0) {
+            return missing;
+        }
+        int slot = find(key);
+        if (keys[slot] != key) {
+            return missing;
+        }
+        int removed = values[slot];
+        int mask = keys.length - 1;
+        // Pull back later entries of the probe run that would no longer be found
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = EMPTY;
+        size--;
+        return removed;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    public int slotCount() {
+        return keys.length;
+    }
+
+    // Key stored in the slot, or -1 if the slot is empty
+    public int keyAt(int slot) {
+        return keys[slot];
+    }
+
+    public int valueAt(int slot) {
+        return values[slot];
+    }
+
+    // Keys in slot order
+    public int[] keys() {
+        int[] result = new int[size];
+        int k = 0;
+        for (int key : keys) {
+            if (key != EMPTY) {
+                result[k++] = key;
+            }
+        }
+        return result;
+    }
+
+    private int find(int key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package graph.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * An int array outside the Java heap, made of direct ByteBuffer chunks of 2^chunkShift
+ * ints each, so it can hold more than 2 GB and grows by adding chunks instead of
+ * copying. Only the last chunk may be smaller; it doubles until it is full.
+ * close() frees the memory right away instead of waiting for a GC; the array must
+ * not be used afterwards.
+ */
+public final class OffHeapIntArray implements AutoCloseable {
+    // 2^27 ints = 512 MB per chunk
+    public static final int DEFAULT_CHUNK_SHIFT = 27;
+    // A direct buffer holds at most 2^31 - 1 bytes
+    private static final int MAX_CHUNK_SHIFT = 28;
+    private static final int MIN_LAST_CHUNK = 1024;
+
+    private static final Cleaner CLEANER = Cleaner.find();
+
+    private final int chunkShift;
+    private final int chunkMask;
+    private ByteBuffer[] chunks;
+    private IntBuffer[] views;
+    private long length;
+
+    public OffHeapIntArray(long length) {
+        this(length, DEFAULT_CHUNK_SHIFT);
+    }
+
+    public OffHeapIntArray(long length, int chunkShift) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Length must not be negative");
+        }
+        if (chunkShift < 1 || chunkShift > MAX_CHUNK_SHIFT) {
+            throw new IllegalArgumentException("Chunk shift must be between 1 and " + MAX_CHUNK_SHIFT);
+        }
+        this.chunkShift = chunkShift;
+        this.chunkMask = (1 << chunkShift) - 1;
+        this.chunks = new ByteBuffer[0];
+        this.views = new IntBuffer[0];
+        ensureLength(length);
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public int get(long index) {
+        checkIndex(index);
+        return views[(int) (index >>> chunkShift)].get((int) index & chunkMask);
+    }
+
+    public void set(long index, int value) {
+        checkIndex(index);
+        views[(int) (index >>> chunkShift)].put((int) index & chunkMask, value);
+    }
+
+    // The last chunk usually has room past length; that slack must not be reachable
+    private void checkIndex(long index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+    }
+
+    // Grows to at least newLength; new entries are zero
+    public void ensureLength(long newLength) {
+        if (newLength <= length) {
+            return;
+        }
+        if (chunks == null) {
+            throw new IllegalStateException("Array is closed");
+        }
+        if (newLength <= capacity()) {
+            length = newLength;
+            return;
+        }
+        long chunkSize = 1L << chunkShift;
+        int needed = (int) ((newLength + chunkSize - 1) >>> chunkShift);
+        int last = chunks.length - 1;
+
+        // A partial last chunk is replaced by a bigger copy before new chunks are added behind it
+        if (last >= 0 && views[last].capacity() < chunkSize) {
+            long want = needed > chunks.length ? chunkSize : newLength - ((long) last << chunkShift);
+            resizeChunk(last, (int) Math.min(chunkSize, Math.max(want, 2L * views[last].capacity())));
+        }
+        if (needed > chunks.length) {
+            int old = chunks.length;
+            chunks = Arrays.copyOf(chunks, needed);
+            views = Arrays.copyOf(views, needed);
+            for (int c = old; c < needed; c++) {
+                long remaining = newLength - ((long) c << chunkShift);
+                int size = c < needed - 1 ? (int) chunkSize
+                        : (int) Math.min(chunkSize, Math.max(remaining, Math.min(chunkSize, MIN_LAST_CHUNK)));
+                allocate(c, size);
+            }
+        }
+        length = newLength;
+    }
+
+    private long capacity() {
+        int last = views.length - 1;
+        return last < 0 ? 0 : ((long) last << chunkShift) + views[last].capacity();
+    }
+
+    public long getAllocatedBytes() {
+        long bytes = 0;
+        if (chunks != null) {
+            for (ByteBuffer chunk : chunks) {
+                bytes += chunk.capacity();
+            }
+        }
+        return bytes;
+    }
+
+    @Override
+    public void close() {
+        if (chunks == null) {
+            return;
+        }
+        ByteBuffer[] released = chunks;
+        // Drop the references and the length first, so a later access fails instead of reading freed memory
+        chunks = null;
+        views = null;
+        length = 0;
+        for (ByteBuffer chunk : released) {
+            CLEANER.free(chunk);
+        }
+    }
+
+    private void allocate(int c, int ints) {
+        chunks[c] = ByteBuffer.allocateDirect(ints * Integer.BYTES).order(ByteOrder.nativeOrder());
+        views[c] = chunks[c].asIntBuffer();
+    }
+
+    private void resizeChunk(int c, int ints) {
+        ByteBuffer old = chunks[c];
+        allocate(c, ints);
+        ByteBuffer source = old.duplicate();
+        source.clear();
+        chunks[c].duplicate().put(source);
+        CLEANER.free(old);
+    }
+
+    /**
+     * Frees a direct buffer through sun.misc.Unsafe.invokeCleaner when the JDK offers it.
+     * Without it the buffer is released by the GC once unreachable, as usual.
+     */
+    private static final class Cleaner {
+        private final Object unsafe;
+        private final Method invokeCleaner;
+
+        private Cleaner(Object unsafe, Method invokeCleaner) {
+            this.unsafe = unsafe;
+            this.invokeCleaner = invokeCleaner;
+        }
+
+        static Cleaner find() {
+            try {
+                Class<?> type = Class.forName("sun.misc.Unsafe");
+                Field field = type.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                return new Cleaner(field.get(null), type.getMethod("invokeCleaner", ByteBuffer.class));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return new Cleaner(null, null);
+            }
+        }
+
+        void free(ByteBuffer buffer) {
+            if (invokeCleaner == null) {
+                return;
+            }
+            try {
+                invokeCleaner.invoke(unsafe, buffer);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // Left to the GC
+            }
+        }
+    }
+}
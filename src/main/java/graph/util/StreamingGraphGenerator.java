@@ -0,0 +1,308 @@
+package graph.util;
+
+import graph.Graph;
+import graph.io.BinaryGraphSink;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Generates large synthetic graphs source by source and streams them to disk.
+ *
+ * Sources are split into fixed blocks and every block draws from its own
+ * SplittableRandom derived from (seed, block index), so the output depends only on
+ * the seed and never on the thread count. Out-edges of a source are deduplicated by
+ * sorting them, which also keeps memory to one block of edges per worker. Blocks are
+ * generated on a ForkJoinPool a bounded window ahead of the writer, which consumes
+ * them strictly in order. Weights are 1..10 like the hand-written datasets.
+ */
+public class StreamingGraphGenerator {
+    public static final int BLOCK_NODES = 1 << 14;
+
+    public enum Shape {
+        // 0 -> 1 -> ... -> n-1
+        CHAIN,
+        // groups layers; each node points to degree random nodes of the next layer
+        LAYERED,
+        // DAG with heavy-tailed out-degrees (exponent 2.5, mean close to degree) pointing forward
+        POWER_LAW,
+        // groups rings with random chords; a few edges lead to later groups only, so each group is one SCC
+        GIANT_SCC,
+        // degree uniformly random targets, usually one giant SCC
+        UNIFORM
+    }
+
+    private final Shape shape;
+    private final int nodes;
+    private final int degree;
+    private final int groups;
+    private final long seed;
+    private final int parallelism;
+
+    public StreamingGraphGenerator(Shape shape, int nodes, int degree, int groups, long seed) {
+        this(shape, nodes, degree, groups, seed, 1);
+    }
+
+    // groups is the number of layers (LAYERED) or giant components (GIANT_SCC) and is ignored otherwise
+    public StreamingGraphGenerator(Shape shape, int nodes, int degree, int groups, long seed, int parallelism) {
+        if (nodes < 1 || degree < 0 || groups < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Nodes, groups and parallelism must be positive and degree non-negative");
+        }
+        this.shape = shape;
+        this.nodes = nodes;
+        this.degree = degree;
+        this.groups = groups;
+        this.seed = seed;
+        this.parallelism = parallelism;
+    }
+
+    public Graph toGraph() {
+        Graph graph = new Graph(nodes, true, "edge");
+        try {
+            forEachBlock(block -> block, block -> {
+                for (int i = 0; i < block.size(); i++) {
+                    int u = block.firstNode + i;
+                    for (int e = block.offsets[i]; e < block.offsets[i + 1]; e++) {
+                        graph.addEdge(u, block.targets.get(e), block.weights.get(e));
+                    }
+                }
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // no I/O happens here
+        }
+        return graph;
+    }
+
+    // Writes the tasks.json layout, formatting each block to bytes on the worker that generated it
+    public void writeJson(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(channel, ("{\"directed\":true,\"n\":" + nodes
+                    + ",\"source\":0,\"weight_model\":\"edge\",\"edges\":[").getBytes(StandardCharsets.US_ASCII));
+            boolean[] first = {true};
+            forEachBlock(StreamingGraphGenerator::formatJson, bytes -> {
+                if (bytes.length() == 0) {
+                    return;
+                }
+                if (!first[0]) {
+                    write(channel, new byte[]{','});
+                }
+                first[0] = false;
+                write(channel, bytes.toByteBuffer());
+            });
+            write(channel, "]}\n".getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    /**
+     * Writes the binary format. The offsets must precede the edges, so a first pass
+     * only counts degrees and a second pass regenerates the same blocks and writes them.
+     */
+    public void writeBinary(Path path) throws IOException {
+        int[] offsets = new int[nodes + 1];
+        long[] total = {0};
+        int[] cursor = {0};
+        forEachBlock(block -> block, block -> {
+            for (int i = 0; i < block.size(); i++) {
+                total[0] += block.offsets[i + 1] - block.offsets[i];
+                if (total[0] > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Binary format holds at most " + Integer.MAX_VALUE + " edges");
+                }
+                offsets[cursor[0] + 1] = (int) total[0];
+                cursor[0]++;
+            }
+        });
+
+        try (BinaryGraphSink sink = new BinaryGraphSink(path, offsets, true, "edge", 0)) {
+            forEachBlock(block -> block, block -> sink.writeEdges(offsets[block.firstNode],
+                    block.targets.rawArray(), block.weights.rawArray(), block.targets.size()));
+        }
+    }
+
+    private interface BlockMapper<T> {
+        T map(Block block);
+    }
+
+    private interface BlockConsumer<T> {
+        void accept(T value) throws IOException;
+    }
+
+    // Generates blocks up to 2 * parallelism ahead and hands them to the consumer in block order
+    private <T> void forEachBlock(BlockMapper<T> mapper, BlockConsumer<T> consumer) throws IOException {
+        int blockCount = (nodes + BLOCK_NODES - 1) / BLOCK_NODES;
+        if (parallelism == 1) {
+            for (int b = 0; b < blockCount; b++) {
+                consumer.accept(mapper.map(generateBlock(b)));
+            }
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            ArrayDeque<Future<T>> window = new ArrayDeque<>();
+            int next = 0;
+            while (next < blockCount || !window.isEmpty()) {
+                while (next < blockCount && window.size() < 2 * parallelism) {
+                    int b = next++;
+                    window.add(pool.submit(() -> mapper.map(generateBlock(b))));
+                }
+                consumer.accept(window.poll().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Generation interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Block generateBlock(int b) {
+        int firstNode = b * BLOCK_NODES;
+        int lastNode = Math.min(nodes, firstNode + BLOCK_NODES);
+        SplittableRandom random = new SplittableRandom(blockSeed(seed, b));
+        Block block = new Block(firstNode, lastNode - firstNode);
+        IntList candidates = new IntList();
+
+        for (int u = firstNode; u < lastNode; u++) {
+            candidates.clear();
+            addTargets(u, random, candidates);
+
+            // Sort and drop duplicates and self-loops in place
+            int[] raw = candidates.rawArray();
+            Arrays.sort(raw, 0, candidates.size());
+            int previous = -1;
+            for (int i = 0; i < candidates.size(); i++) {
+                int v = raw[i];
+                if (v != previous && v != u) {
+                    block.targets.add(v);
+                    block.weights.add(random.nextInt(10) + 1);
+                }
+                previous = v;
+            }
+            block.offsets[u - firstNode + 1] = block.targets.size();
+        }
+        return block;
+    }
+
+    private void addTargets(int u, SplittableRandom random, IntList targets) {
+        switch (shape) {
+            case CHAIN:
+                if (u + 1 < nodes) {
+                    targets.add(u + 1);
+                }
+                break;
+            case LAYERED: {
+                int layerSize = Math.max(1, nodes / groups);
+                int nextLayerStart = (u / layerSize + 1) * layerSize;
+                if (nextLayerStart < nodes) {
+                    int nextLayerSize = Math.min(layerSize, nodes - nextLayerStart);
+                    for (int k = 0; k < degree; k++) {
+                        targets.add(nextLayerStart + random.nextInt(nextLayerSize));
+                    }
+                }
+                break;
+            }
+            case POWER_LAW: {
+                int remaining = nodes - u - 1;
+                if (remaining > 0) {
+                    // Pareto with exponent 2.5 has mean 3 * xmin
+                    double xmin = Math.max(1e-9, degree / 3.0);
+                    double sample = xmin * Math.pow(1 - random.nextDouble(), -1 / 1.5);
+                    int count = (int) Math.min(remaining, Math.round(sample));
+                    for (int k = 0; k < count; k++) {
+                        targets.add(u + 1 + random.nextInt(remaining));
+                    }
+                }
+                break;
+            }
+            case GIANT_SCC: {
+                int groupSize = (nodes + groups - 1) / groups;
+                int groupStart = u / groupSize * groupSize;
+                int groupEnd = Math.min(nodes, groupStart + groupSize);
+                targets.add(u + 1 < groupEnd ? u + 1 : groupStart);
+                for (int k = 1; k < degree; k++) {
+                    if (groupEnd < nodes && random.nextInt(10) == 0) {
+                        targets.add(groupEnd + random.nextInt(nodes - groupEnd));
+                    } else {
+                        targets.add(groupStart + random.nextInt(groupEnd - groupStart));
+                    }
+                }
+                break;
+            }
+            case UNIFORM:
+                for (int k = 0; k < degree; k++) {
+                    targets.add(random.nextInt(nodes));
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unknown shape " + shape);
+        }
+    }
+
+    // splitmix64 finalizer, so neighbouring blocks start from unrelated states
+    private static long blockSeed(long seed, int block) {
+        long z = seed + (block + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static ByteList formatJson(Block block) {
+        ByteList bytes = new ByteList(block.targets.size() * 24);
+        for (int i = 0; i < block.size(); i++) {
+            int u = block.firstNode + i;
+            for (int e = block.offsets[i]; e < block.offsets[i + 1]; e++) {
+                if (bytes.length() > 0) {
+                    bytes.append(',');
+                }
+                bytes.append("{\"u\":").append(u)
+                        .append(",\"v\":").append(block.targets.get(e))
+                        .append(",\"w\":").append(block.weights.get(e))
+                        .append('}');
+            }
+        }
+        return bytes;
+    }
+
+    private static void write(FileChannel channel, byte[] bytes) throws IOException {
+        write(channel, ByteBuffer.wrap(bytes));
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // Out-edges of sources firstNode .. firstNode + size - 1, CSR style with local offsets
+    private static final class Block {
+        final int firstNode;
+        final int[] offsets;
+        final IntList targets = new IntList();
+        final IntList weights = new IntList();
+
+        Block(int firstNode, int size) {
+            this.firstNode = firstNode;
+            this.offsets = new int[size + 1];
+        }
+
+        int size() {
+            return offsets.length - 1;
+        }
+    }
+}
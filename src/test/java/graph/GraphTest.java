@@ -0,0 +1,59 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphTest {
+
+    @Test
+    void testCsrKeepsInsertionOrder() {
+        Graph graph = new Graph(4, true, "edge");
+        graph.addEdge(2, 3, 7);
+        graph.addEdge(0, 2, 1);
+        graph.addEdge(0, 1, 4);
+        graph.addEdge(2, 0, 5);
+
+        Adjacency csr = graph.adjacency();
+        assertEquals(4, csr.getEdgeCount());
+        assertEquals(2, csr.outDegree(0));
+        assertEquals(2, csr.target(csr.edgeStart(0)));
+        assertEquals(1, csr.target(csr.edgeStart(0) + 1));
+        assertEquals(4, csr.weight(csr.edgeStart(0) + 1));
+        assertEquals(0, csr.outDegree(1));
+        assertEquals(3, csr.target(csr.edgeStart(2)));
+    }
+
+    @Test
+    void testAddEdgeAfterAdjacencyWasBuilt() {
+        Graph graph = new Graph(3, true, "edge");
+        graph.addEdge(0, 1, 2);
+        assertEquals(1, graph.adjacency().getEdgeCount());
+
+        graph.addEdge(1, 2, 3);
+        List<Graph.Edge> edges = graph.getEdges(1);
+        assertEquals(1, edges.size());
+        assertEquals(2, edges.get(0).v);
+        assertEquals(2, graph.getEdgesCount());
+    }
+
+    @Test
+    void testUndirectedAndTranspose() {
+        Graph undirected = new Graph(2, false, "edge");
+        undirected.addEdge(0, 1, 3);
+        assertEquals(1, undirected.getEdgesCount());
+        assertEquals(1, undirected.adjacency().outDegree(1));
+
+        Graph graph = new Graph(3, true, "edge");
+        graph.addEdge(0, 2, 1);
+        graph.addEdge(1, 2, 2);
+        Graph transposed = graph.transpose();
+        List<Graph.Edge> edges = transposed.getEdges(2);
+        assertEquals(2, edges.size());
+        assertEquals(0, edges.get(0).v);
+        assertEquals(1, edges.get(1).v);
+        assertEquals(2, edges.get(1).weight);
+    }
+}
@@ -0,0 +1,46 @@
+package graph;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+
+    @AfterEach
+    void restoreDefaultMode() {
+        Metrics.setDefaultMode(Metrics.Mode.COUNT);
+    }
+
+    @Test
+    void testModesSelectImplementation() {
+        Metrics.setDefaultMode(Metrics.Mode.OFF);
+        Metrics off = Metrics.create();
+        off.incrementOperation();
+        assertTrue(off instanceof NoOpMetrics);
+        assertEquals(0, off.getOperationCount());
+
+        Metrics.setDefaultMode(Metrics.Mode.COUNT);
+        assertTrue(Metrics.create() instanceof CountingMetrics);
+        assertTrue(Metrics.createConcurrent() instanceof ConcurrentMetrics);
+    }
+
+    @Test
+    void testCountersAreLong() {
+        Metrics metrics = new CountingMetrics();
+        Metrics big = new CountingMetrics();
+        big.add(Integer.MAX_VALUE, 0, 0, 0);
+        metrics.addAll(big);
+        metrics.addAll(big);
+        assertEquals(2L * Integer.MAX_VALUE, metrics.getOperationCount());
+    }
+
+    @Test
+    void testConcurrentMetricsFromManyThreads() {
+        Metrics metrics = new ConcurrentMetrics();
+        IntStream.range(0, 10_000).parallel().forEach(i -> metrics.incrementEdgeRelaxations());
+        assertEquals(10_000, metrics.getEdgeRelaxations());
+    }
+}
@@ -0,0 +1,88 @@
+package graph;
+
+import graph.dagsp.DAGShortestPath;
+import graph.scc.TarjanSCC;
+import graph.topo.TopologicalSort;
+import graph.util.OffHeapIntArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapAdjacencyTest {
+
+    @Test
+    void testAlgorithmsRunUnchangedOnOffHeapCopy() {
+        Random random = new Random(24);
+        int n = 500;
+        Graph heap = new Graph(n, true, "edge");
+        for (int i = 0; i < 1500; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            // Mostly forward edges, so the condensation has some depth
+            heap.addEdge(u, random.nextInt(10) == 0 ? v : Math.max(u, v), 1 + random.nextInt(9));
+        }
+
+        // Tiny chunks of 8 ints, so every array spans many buffers
+        try (OffHeapAdjacency offHeap = OffHeapAdjacency.copyOf(heap.adjacency(), 3)) {
+            assertEquals(heap.adjacency().getEdgeCount(), offHeap.getEdgeCount());
+            Graph graph = new Graph(offHeap, true, "edge", new int[n]);
+
+            assertEquals(new TarjanSCC().findSCCs(heap).getComponents(),
+                    new TarjanSCC().findSCCs(graph).getComponents());
+            Graph condensation = new TarjanSCC().findSCCs(graph).getCondensationGraph();
+            Graph heapCondensation = new TarjanSCC().findSCCs(heap).getCondensationGraph();
+            assertEquals(new TopologicalSort().kahnAlgorithm(heapCondensation).getTopologicalOrder(),
+                    new TopologicalSort().kahnAlgorithm(condensation).getTopologicalOrder());
+
+            try (OffHeapAdjacency dagAdjacency = OffHeapAdjacency.copyOf(heapCondensation.adjacency(), 2)) {
+                Graph dag = new Graph(dagAdjacency, true, "edge", new int[heapCondensation.getNodeCount()]);
+                assertArrayEquals(new DAGShortestPath().findLongestPath(heapCondensation, 0).getDistances(),
+                        new DAGShortestPath().findLongestPath(dag, 0).getDistances());
+            }
+        }
+    }
+
+    @Test
+    void testBuilderAndLifecycle() {
+        OffHeapAdjacency adjacency = OffHeapAdjacency.builder(5, 2)
+                .addEdge(1, 2, 7)
+                .addEdge(1, 4, 3)
+                .addEdge(3, 0, 1)
+                .build();
+        assertEquals(3, adjacency.getEdgeCount());
+        assertEquals(0, adjacency.outDegree(0));
+        assertEquals(2, adjacency.outDegree(1));
+        assertEquals(0, adjacency.outDegree(2));
+        assertEquals(4, adjacency.target(1));
+        assertEquals(1, adjacency.weight(2));
+        assertEquals(0, adjacency.outDegree(4));
+        assertTrue(adjacency.getAllocatedBytes() > 0);
+
+        adjacency.close();
+        adjacency.close(); // idempotent
+        assertThrows(IndexOutOfBoundsException.class, () -> adjacency.target(0));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> OffHeapAdjacency.builder(3).addEdge(2, 0, 1).addEdge(1, 0, 1));
+    }
+
+    @Test
+    void testIntArrayGrowsAcrossChunks() {
+        try (OffHeapIntArray array = new OffHeapIntArray(0, 12)) {
+            for (int i = 0; i < 10000; i++) {
+                array.ensureLength(i + 1);
+                array.set(i, i * 3);
+            }
+            assertEquals(10000, array.length());
+            for (int i = 0; i < 10000; i++) {
+                assertEquals(i * 3, array.get(i));
+            }
+            // The last chunk has room beyond the length, but it is not addressable
+            assertThrows(IndexOutOfBoundsException.class, () -> array.get(10000));
+            assertThrows(IndexOutOfBoundsException.class, () -> array.set(10000, 1));
+            assertThrows(IndexOutOfBoundsException.class, () -> array.get(-1));
+        }
+    }
+}
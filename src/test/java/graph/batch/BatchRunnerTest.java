@@ -0,0 +1,56 @@
+package graph.batch;
+
+import graph.util.DatasetGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchRunnerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testBatchStreamsRowsAndIsolatesFailures() throws Exception {
+        Path nested = Files.createDirectories(directory.resolve("small"));
+        DatasetGenerator.writeJson(DatasetGenerator.chain(20, 1), 0, nested.resolve("chain.json").toFile());
+        DatasetGenerator.writeJson(DatasetGenerator.denseCyclic(30, 3, 2), 0, nested.resolve("cyclic.json").toFile());
+        Files.writeString(directory.resolve("broken.json"), "{\"n\": 3, \"edges\": [");
+        Files.writeString(directory.resolve("notes.txt"), "ignored");
+
+        Path report = directory.resolve("out").resolve("batch.csv");
+        BatchSummary summary = new BatchRunner(2).run(directory, report);
+
+        assertEquals(3, summary.getFileCount());
+        assertEquals(2, summary.getProcessedCount());
+        assertEquals(1, summary.getFailures().size());
+        assertTrue(summary.getFailures().get(0).contains("broken.json"));
+        assertEquals(50, summary.getTotalNodes());
+
+        List<String> lines = Files.readAllLines(report);
+        assertEquals(1 + 2 * 4, lines.size());
+        assertTrue(lines.get(0).startsWith("Dataset,Nodes,Edges,Algorithm"));
+        assertEquals(2, lines.stream().filter(line -> line.contains(",CriticalPath,")).count());
+    }
+
+    @Test
+    void testErrorInOneFileDoesNotAbortBatch() throws Exception {
+        DatasetGenerator.writeJson(DatasetGenerator.chain(20, 1), 0, directory.resolve("chain.json").toFile());
+        // new int[Integer.MAX_VALUE] exceeds the VM's array limit on any heap size
+        Files.writeString(directory.resolve("huge.json"),
+                "{\"directed\": true, \"n\": " + Integer.MAX_VALUE + ", \"edges\": [], \"weight_model\": \"edge\"}");
+
+        BatchSummary summary = new BatchRunner(2).run(directory, directory.resolve("batch.csv"));
+
+        assertEquals(2, summary.getFileCount());
+        assertEquals(1, summary.getProcessedCount());
+        assertEquals(1, summary.getFailures().size());
+        assertTrue(summary.getFailures().get(0).contains("huge.json"));
+        assertTrue(summary.getFailures().get(0).contains("OutOfMemoryError"));
+    }
+}
@@ -0,0 +1,61 @@
+package graph.dagsp;
+
+import graph.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchedDAGShortestPathTest {
+
+    @Test
+    void testMatchesSingleSourceRuns() {
+        Random random = new Random(11);
+        int n = 60;
+        Graph graph = new Graph(n, true, "edge");
+        for (int i = 0; i < 200; i++) {
+            int u = random.nextInt(n - 1);
+            int v = u + 1 + random.nextInt(n - u - 1);
+            graph.addEdge(u, v, 1 + random.nextInt(20));
+        }
+
+        int[] sources = new int[20];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = random.nextInt(n);
+        }
+
+        BatchedDAGShortestPath batched = new BatchedDAGShortestPath(3, 2);
+        DistanceMatrix shortest = batched.findShortestPaths(graph, sources);
+        DistanceMatrix longest = batched.findLongestPaths(graph, sources);
+        DAGShortestPath single = new DAGShortestPath();
+
+        assertEquals(sources.length, shortest.getSourceCount());
+        for (int i = 0; i < sources.length; i++) {
+            assertArrayEquals(single.findShortestPath(graph, sources[i]).getDistances(), shortest.getDistances(i));
+            assertArrayEquals(single.findLongestPath(graph, sources[i]).getDistances(), longest.getDistances(i));
+        }
+    }
+
+    @Test
+    void testCycleIsRejected() {
+        Graph graph = new Graph(2, true, "edge");
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 0, 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchedDAGShortestPath().findShortestPaths(graph, new int[]{0}));
+    }
+
+    @Test
+    void testTileWidthFitsInOneArray() {
+        assertEquals(16, BatchedDAGShortestPath.tileWidth(1000, 16));
+        // 200M nodes times 16 sources would overflow int; the tile shrinks instead
+        int width = BatchedDAGShortestPath.tileWidth(200_000_000, 16);
+        assertEquals(10, width);
+        assertTrue((long) 200_000_000 * width <= Integer.MAX_VALUE - 8);
+        assertEquals(1, BatchedDAGShortestPath.tileWidth(Integer.MAX_VALUE - 8, 16));
+        assertThrows(IllegalArgumentException.class,
+                () -> BatchedDAGShortestPath.tileWidth(Integer.MAX_VALUE, 16));
+    }
+}
@@ -0,0 +1,76 @@
+package graph.dagsp;
+
+import graph.Graph;
+import graph.topo.TopologicalSort;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CriticalPathMethodTest {
+
+    @Test
+    void testSlackAndAllCriticalTasks() {
+        // Two equally long branches 0->1->3 and 0->2->3, plus a short detour 0->4->3
+        Graph graph = new Graph(5, true, "edge");
+        graph.addEdge(0, 1, 2);
+        graph.addEdge(0, 2, 3);
+        graph.addEdge(0, 4, 1);
+        graph.addEdge(1, 3, 4);
+        graph.addEdge(2, 3, 3);
+        graph.addEdge(4, 3, 1);
+
+        CPMResult result = new CriticalPathMethod().analyze(graph);
+
+        assertEquals(6, result.getProjectLength());
+        assertArrayEquals(new int[]{0, 2, 3, 6, 1}, result.getEarliestStarts());
+        assertArrayEquals(new int[]{0, 2, 3, 6, 5}, result.getLatestStarts());
+        assertEquals(4, result.getSlack(4));
+        assertArrayEquals(new int[]{0, 1, 2, 3}, result.getCriticalTasks());
+        assertEquals(4, result.getCriticalEdgeCount());
+        assertFalse(result.isCritical(4));
+    }
+
+    @Test
+    void testMatchesCriticalPathLength() {
+        Graph graph = new Graph(6, true, "edge");
+        graph.addEdge(0, 1, 5);
+        graph.addEdge(0, 2, 3);
+        graph.addEdge(1, 3, 6);
+        graph.addEdge(2, 4, 4);
+        graph.addEdge(3, 4, 1);
+        graph.addEdge(4, 5, 3);
+
+        CPMResult result = new CriticalPathMethod().analyze(graph, new TopologicalSort().kahnAlgorithm(graph));
+        CriticalPathResult path = new DAGShortestPath().findCriticalPath(graph);
+
+        assertEquals(path.getLength(), result.getProjectLength());
+        for (int node : path.getCriticalPath()) {
+            assertTrue(result.isCritical(node));
+        }
+        assertEquals(5, result.getSlack(2));
+    }
+
+    @Test
+    void testNodeDurations() {
+        Graph graph = new Graph(4, true, "node", new int[]{2, 5, 1, 3});
+        graph.addEdge(0, 1, 0);
+        graph.addEdge(0, 2, 0);
+        graph.addEdge(1, 3, 0);
+        graph.addEdge(2, 3, 0);
+
+        CPMResult result = new CriticalPathMethod().analyze(graph);
+
+        assertEquals(10, result.getProjectLength());
+        assertArrayEquals(new int[]{0, 2, 2, 7}, result.getEarliestStarts());
+        assertArrayEquals(new int[]{0, 2, 6, 7}, result.getLatestStarts());
+        assertArrayEquals(new int[]{0, 1, 3}, result.getCriticalTasks());
+    }
+
+    @Test
+    void testCycleIsRejected() {
+        Graph graph = new Graph(2, true, "edge");
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 0, 1);
+        assertThrows(IllegalArgumentException.class, () -> new CriticalPathMethod().analyze(graph));
+    }
+}
@@ -1,8 +1,14 @@
 package graph.dagsp;
 
 import graph.Graph;
+import graph.topo.TopoResult;
+import graph.topo.TopologicalSort;
 import org.junit.jupiter.api.Test;
 
+import java.nio.IntBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -144,4 +150,80 @@ class DAGShortestPathTest {
         assertEquals(0, (int) criticalPath.get(0));
         assertEquals(3, (int) criticalPath.get(criticalPath.size() - 1));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPrecomputedTopologicalOrderIsReused() {
+        Graph graph = new Graph(4, true, "edge");
+        graph.addEdge(0, 1, 2);
+        graph.addEdge(0, 2, 3);
+        graph.addEdge(1, 3, 4);
+        graph.addEdge(2, 3, 2);
+
+        DAGShortestPath dagSP = new DAGShortestPath();
+        TopoResult topoResult = new TopologicalSort().kahnAlgorithm(graph);
+
+        assertArrayEquals(dagSP.findShortestPath(graph, 0).getDistances(),
+                dagSP.findShortestPath(graph, 0, topoResult).getDistances());
+        assertArrayEquals(dagSP.findLongestPath(graph, 0).getDistances(),
+                dagSP.findLongestPath(graph, 0, topoResult).getDistances());
+        assertEquals(dagSP.findCriticalPath(graph).getCriticalPath(),
+                dagSP.findCriticalPath(graph, topoResult).getCriticalPath());
+
+        TopoResult foreignOrder = new TopologicalSort().kahnAlgorithm(new Graph(2, true, "edge"));
+        assertThrows(IllegalArgumentException.class, () -> dagSP.findCriticalPath(graph, foreignOrder));
+    }
+
+    @Test
+    void testNodeDurationModel() {
+        // Edge weights are ignored; a path costs the durations of its nodes
+        Graph graph = new Graph(4, true, "node", new int[]{2, 5, 1, 3});
+        graph.addEdge(0, 1, 100);
+        graph.addEdge(0, 2, 100);
+        graph.addEdge(1, 3, 100);
+        graph.addEdge(2, 3, 100);
+
+        DAGShortestPath dagSP = new DAGShortestPath();
+        assertArrayEquals(new int[]{2, 7, 3, 6}, dagSP.findShortestPath(graph, 0).getDistances());
+        assertArrayEquals(new int[]{2, 7, 3, 10}, dagSP.findLongestPath(graph, 0).getDistances());
+
+        CriticalPathResult critical = dagSP.findCriticalPath(graph);
+        assertEquals(10, critical.getLength());
+        assertEquals(List.of(0, 1, 3), critical.getCriticalPath());
+
+        DistanceMatrix batched = new BatchedDAGShortestPath(2, 1).findShortestPaths(graph, new int[]{0, 2});
+        assertArrayEquals(new int[]{2, 7, 3, 6}, batched.getDistances(0));
+        assertEquals(4, batched.getDistance(1, 3));
+    }
+
+    @Test
+    void testZeroCopyViewsAndPathTree() {
+        Graph graph = new Graph(7, true, "edge");
+        graph.addEdge(0, 1, 2);
+        graph.addEdge(0, 2, 1);
+        graph.addEdge(1, 3, 1);
+        graph.addEdge(2, 3, 5);
+        graph.addEdge(2, 4, 2);
+        graph.addEdge(4, 5, 1);
+        // node 6 is unreachable
+
+        PathResult result = new DAGShortestPath().findShortestPath(graph, 0);
+        IntBuffer view = result.distancesView();
+        assertEquals(7, view.remaining());
+        assertEquals(3, view.get(3));
+        assertTrue(view.isReadOnly());
+        assertThrows(ReadOnlyBufferException.class, () -> view.put(0, 1));
+        assertEquals(2, result.predecessorsView().get(4));
+        assertEquals(4, result.distanceAt(5));
+        assertFalse(result.isReachable(6));
+        assertArrayEquals(new int[]{0, 2, 4, 5}, result.reconstructPathArray(5));
+        assertArrayEquals(new int[0], result.reconstructPathArray(6));
+
+        // One pass over the tree yields the same path for every reached node
+        List<Integer> visited = new ArrayList<>();
+        result.toPathTree().forEachPath((target, path, length) -> {
+            visited.add(target);
+            assertArrayEquals(result.reconstructPathArray(target), Arrays.copyOf(path, length));
+        });
+        assertEquals(List.of(0, 1, 3, 2, 4, 5), visited);
+    }
+}
@@ -0,0 +1,105 @@
+package graph.dagsp;
+
+import graph.Adjacency;
+import graph.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KBestPathsTest {
+
+    @Test
+    void testSmallDiamond() {
+        Graph graph = new Graph(4, true, "edge");
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(0, 2, 4);
+        graph.addEdge(1, 2, 2);
+        graph.addEdge(1, 3, 6);
+        graph.addEdge(2, 3, 1);
+
+        KPathsResult shortest = new KBestPaths(5).findShortestPaths(graph, 0, 3);
+        assertEquals(3, shortest.getPathCount());
+        assertEquals(4, shortest.getCost(0));
+        assertArrayEquals(new int[]{0, 1, 2, 3}, shortest.getPath(0));
+        assertEquals(5, shortest.getCost(1));
+        assertArrayEquals(new int[]{0, 2, 3}, shortest.getPath(1));
+        assertEquals(7, shortest.getCost(2));
+        assertArrayEquals(new int[]{0, 1, 3}, shortest.getPath(2));
+
+        KPathsResult longest = new KBestPaths(2).findLongestPaths(graph, 0, 3);
+        assertEquals(2, longest.getPathCount());
+        assertEquals(7, longest.getCost(0));
+        assertEquals(5, longest.getCost(1));
+
+        assertThrows(IllegalArgumentException.class, () -> new KBestPaths(0));
+    }
+
+    @Test
+    void testMatchesEnumerationOnRandomDags() {
+        Random random = new Random(21);
+        for (int round = 0; round < 30; round++) {
+            int n = 2 + random.nextInt(9);
+            boolean nodeModel = round % 3 == 0;
+            int[] durations = new int[n];
+            for (int i = 0; i < n; i++) {
+                durations[i] = 1 + random.nextInt(5);
+            }
+            Graph graph = nodeModel ? new Graph(n, true, "node", durations) : new Graph(n, true, "edge");
+            for (int u = 0; u < n; u++) {
+                for (int v = u + 1; v < n; v++) {
+                    if (random.nextInt(3) == 0) {
+                        graph.addEdge(u, v, 1 + random.nextInt(9));
+                    }
+                }
+            }
+            int k = 1 + random.nextInt(6);
+            int target = n - 1;
+
+            List<Integer> all = new ArrayList<>();
+            enumerate(graph.adjacency(), nodeModel ? durations : null, 0, target,
+                    nodeModel ? durations[0] : 0, all);
+            Collections.sort(all);
+            assertCosts(all, new KBestPaths(k).findShortestPaths(graph, 0, target), k);
+
+            Collections.reverse(all);
+            KPathsResult longest = new KBestPaths(k).findLongestPaths(graph, 0, target);
+            assertCosts(all, longest, k);
+            for (int i = 0; i < longest.getPathCount(); i++) {
+                int[] path = longest.getPath(i);
+                assertEquals(0, path[0]);
+                assertEquals(target, path[path.length - 1]);
+            }
+
+            KPathsResult chains = new KBestPaths(k).findLongestChains(graph);
+            assertEquals(new DAGShortestPath().findCriticalPath(graph).getLength(), chains.getCost(0));
+            for (int i = 1; i < chains.getPathCount(); i++) {
+                assertTrue(chains.getCost(i - 1) >= chains.getCost(i));
+            }
+        }
+    }
+
+    private static void assertCosts(List<Integer> expected, KPathsResult result, int k) {
+        assertEquals(Math.min(k, expected.size()), result.getPathCount());
+        for (int i = 0; i < result.getPathCount(); i++) {
+            assertEquals((int) expected.get(i), result.getCost(i));
+        }
+    }
+
+    private static void enumerate(Adjacency adjacency, int[] durations, int u, int target, int cost,
+                                  List<Integer> costs) {
+        if (u == target) {
+            costs.add(cost);
+            return;
+        }
+        for (int e = adjacency.edgeStart(u), end = adjacency.edgeEnd(u); e < end; e++) {
+            int v = adjacency.target(e);
+            enumerate(adjacency, durations, v, target,
+                    cost + (durations != null ? durations[v] : adjacency.weight(e)), costs);
+        }
+    }
+}
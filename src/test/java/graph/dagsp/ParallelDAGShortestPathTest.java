@@ -0,0 +1,61 @@
+package graph.dagsp;
+
+import graph.Graph;
+import graph.topo.ParallelTopologicalSort;
+import graph.topo.TopoResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelDAGShortestPathTest {
+
+    @Test
+    void testMatchesSequentialIncludingTies() {
+        Random random = new Random(23);
+        DAGShortestPath sequential = new DAGShortestPath();
+        ParallelDAGShortestPath parallel = new ParallelDAGShortestPath(4, 1);
+        for (int round = 0; round < 30; round++) {
+            int n = 2 + random.nextInt(400);
+            boolean nodeModel = round % 4 == 0;
+            int[] durations = new int[n];
+            for (int i = 0; i < n; i++) {
+                durations[i] = 1 + random.nextInt(2);
+            }
+            Graph graph = nodeModel ? new Graph(n, true, "node", durations) : new Graph(n, true, "edge");
+            int edges = random.nextInt(4 * n);
+            for (int i = 0; i < edges; i++) {
+                int u = random.nextInt(n);
+                int v = random.nextInt(n);
+                if (u != v) {
+                    // Tiny weights so many candidates tie
+                    graph.addEdge(Math.min(u, v), Math.max(u, v), 1 + random.nextInt(2));
+                }
+            }
+            int source = random.nextInt(n);
+
+            assertSame(sequential.findShortestPath(graph, source), parallel.findShortestPath(graph, source));
+            assertSame(sequential.findLongestPath(graph, source), parallel.findLongestPath(graph, source));
+
+            TopoResult wavefront = new ParallelTopologicalSort(2, 1).wavefront(graph);
+            assertSame(sequential.findShortestPath(graph, source, wavefront),
+                    parallel.findShortestPath(graph, source, wavefront));
+            assertSame(sequential.findLongestPath(graph, source, wavefront),
+                    parallel.findLongestPath(graph, source, wavefront));
+        }
+    }
+
+    @Test
+    void testRejectsCycles() {
+        Graph graph = new Graph(2, true, "edge");
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 0, 1);
+        assertThrows(IllegalArgumentException.class, () -> new ParallelDAGShortestPath().findShortestPath(graph, 0));
+    }
+
+    private static void assertSame(PathResult expected, PathResult actual) {
+        assertArrayEquals(expected.getDistances(), actual.getDistances());
+        assertArrayEquals(expected.getPredecessors(), actual.getPredecessors());
+    }
+}
@@ -0,0 +1,172 @@
+package graph.external;
+
+import graph.Graph;
+import graph.GraphParser;
+import graph.scc.SCCResult;
+import graph.scc.TarjanSCC;
+import graph.scc.WeightAggregation;
+import graph.topo.TopologicalSort;
+import graph.util.StreamingGraphGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalPipelineTest {
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    void testMatchesInMemoryPipelineOnRandomGraphs() throws IOException {
+        Random random = new Random(25);
+        for (int round = 0; round < 25; round++) {
+            int n = 1 + random.nextInt(400);
+            Graph graph = new Graph(n, true, "edge");
+            int edges = random.nextInt(3 * n);
+            for (int i = 0; i < edges; i++) {
+                // Few distinct weights and some dense spots, so parallel condensation edges are common
+                int u = random.nextInt(4) == 0 ? random.nextInt(Math.min(n, 10)) : random.nextInt(n);
+                graph.addEdge(u, random.nextInt(n), 1 + random.nextInt(9));
+            }
+            int[] durations = new int[n];
+            for (int v = 0; v < n; v++) {
+                durations[v] = random.nextInt(5);
+            }
+            graph.setNodeDurations(durations);
+            WeightAggregation aggregation = WeightAggregation.values()[round % WeightAggregation.values().length];
+
+            // A tiny budget forces many partitions and several sort runs
+            ExternalResult result = new ExternalPipeline(workDirectory.resolve("run" + round), 2048, aggregation)
+                    .run(graph);
+            SCCResult expected = new TarjanSCC(aggregation).findSCCs(graph);
+
+            assertEquals(expected.getComponents().size(), result.getComponentCount());
+            for (int v = 0; v < n; v++) {
+                assertEquals(expected.getComponentOf(v), result.getComponentOf(v));
+            }
+
+            Graph expectedCondensation = expected.getCondensationGraph();
+            Graph condensation = GraphParser.load(result.getCondensationFile().toString()).getGraph();
+            assertEquals(expectedCondensation.getNodeCount(), condensation.getNodeCount());
+            assertEquals(expectedCondensation.getEdgesCount(), result.getCondensationEdgeCount());
+            for (int c = 0; c < condensation.getNodeCount(); c++) {
+                assertEquals(expectedCondensation.getEdges(c).toString(), condensation.getEdges(c).toString());
+                assertEquals(expectedCondensation.getNodeDuration(c), condensation.getNodeDuration(c));
+            }
+
+            assertArrayEquals(new TopologicalSort().kahnAlgorithm(expectedCondensation).getOrder(),
+                    result.readTopologicalOrder());
+        }
+    }
+
+    @Test
+    void testChainOfCyclesReadsEdgesAFewTimes() throws IOException {
+        // k two-node cycles, each pointing at the one with the next lower ids
+        int k = 4000;
+        Graph graph = new Graph(2 * k, true, "edge");
+        for (int i = 0; i < k; i++) {
+            graph.addEdge(2 * i, 2 * i + 1, 1);
+            graph.addEdge(2 * i + 1, 2 * i, 1);
+            if (i > 0) {
+                graph.addEdge(2 * i, 2 * i - 2, 1);
+            }
+        }
+
+        ExternalResult result = new ExternalPipeline(workDirectory, 2048).run(graph);
+
+        assertEquals(k, result.getComponentCount());
+        for (int v = 0; v < 2 * k; v++) {
+            assertEquals(v / 2, result.getComponentOf(v));
+        }
+        // I/O must not grow with the number of components
+        assertTrue(result.getPartitionCount() > 100);
+        assertTrue(result.getPartitionLoads() <= 2 * result.getPartitionCount(),
+                result.getPartitionLoads() + " loads for " + result.getPartitionCount() + " partitions");
+        assertTrue(result.getBytesRead() <= 48L * graph.getEdgesCount(), result.getBytesRead() + " bytes read");
+    }
+
+    @Test
+    void testLargeComponentInOnePartitionRelaxesEachEdgeOnce() throws IOException {
+        Graph graph = new StreamingGraphGenerator(StreamingGraphGenerator.Shape.GIANT_SCC, 20000, 4, 2, 25)
+                .toGraph();
+
+        ExternalResult result = new ExternalPipeline(workDirectory, 1L << 30).run(graph);
+
+        assertArrayEquals(new TarjanSCC().findSCCs(graph).getComponentIndex(), result.getComponentIndex());
+        assertEquals(2, result.getPartitionCount());
+        // One forward and one reverse DFS, each looking at every edge once
+        assertEquals(2L * graph.getEdgesCount(), result.getMetrics().getEdgeRelaxations());
+    }
+
+    @Test
+    void testPartitionWritersStayWithinLimits() {
+        // About 1,500 partitions at 256 MB: written in groups, never all open at once
+        assertEquals(EdgePartitions.MAX_OPEN_WRITERS, EdgePartitions.groupSize(1500, 256L << 20));
+        assertEquals(2, EdgePartitions.groupSize(472, 2048));
+        assertEquals(1, EdgePartitions.groupSize(472, 100));
+        assertEquals(3, EdgePartitions.groupSize(3, 256L << 20));
+    }
+
+    @Test
+    void testStreamsJsonInput() throws IOException {
+        Path input = workDirectory.resolve("graph.json");
+        Files.writeString(input, "{\"edges\": [{\"u\": 0, \"v\": 1, \"w\": 2}, {\"u\": 1, \"v\": 2, \"w\": 3},"
+                + " {\"u\": 2, \"v\": 0, \"w\": 1}, {\"u\": 2, \"v\": 3, \"w\": 4}, {\"u\": 0, \"v\": 3, \"w\": 7},"
+                + " {\"u\": 4, \"v\": 3, \"w\": 5}], \"n\": 5, \"weight_model\": \"node\","
+                + " \"node_durations\": [1, 2, 3, 4, 5]}");
+        Path undirected = workDirectory.resolve("undirected.json");
+        Files.writeString(undirected, "{\"n\": 4, \"directed\": false, \"edges\": [{\"u\": 0, \"v\": 1, \"w\": 2},"
+                + " {\"u\": 2, \"v\": 3, \"w\": 1}]}");
+
+        for (Path file : new Path[]{input, undirected}) {
+            Graph graph = GraphParser.load(file.toString()).getGraph();
+            ExternalResult result = new ExternalPipeline(workDirectory.resolve("out"), 1024).run(file.toString());
+            SCCResult expected = new TarjanSCC().findSCCs(graph);
+
+            assertArrayEquals(expected.getComponentIndex(), result.getComponentIndex());
+            Graph expectedCondensation = expected.getCondensationGraph();
+            Graph condensation = GraphParser.load(result.getCondensationFile().toString()).getGraph();
+            assertEquals(expectedCondensation.getWeightModel(), condensation.getWeightModel());
+            for (int c = 0; c < condensation.getNodeCount(); c++) {
+                assertEquals(expectedCondensation.getEdges(c).toString(), condensation.getEdges(c).toString());
+                assertEquals(expectedCondensation.getNodeDuration(c), condensation.getNodeDuration(c));
+            }
+        }
+    }
+
+    @Test
+    void testRejectsJsonEdgesOutOfRange() throws IOException {
+        Path input = workDirectory.resolve("bad.json");
+        Files.writeString(input, "{\"n\": 2, \"edges\": [{\"u\": 0, \"v\": 5, \"w\": 1}]}");
+        assertThrows(IOException.class, () -> new ExternalPipeline(workDirectory.resolve("out"), 1024)
+                .run(input.toString()));
+    }
+
+    @Test
+    void testWorkFilesAreRemoved() throws IOException {
+        Graph graph = new Graph(4, true, "edge");
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 0, 1);
+        graph.addEdge(1, 2, 3);
+        graph.addEdge(2, 3, 1);
+
+        ExternalResult result = new ExternalPipeline(workDirectory, 1024).run(graph);
+
+        assertEquals(3, result.getComponentCount());
+        assertArrayEquals(new int[]{0, 1, 2}, result.readTopologicalOrder());
+        try (var files = Files.list(workDirectory)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    void testRejectsTinyBudget() {
+        assertThrows(IllegalArgumentException.class, () -> new ExternalPipeline(workDirectory, 100));
+    }
+}
@@ -0,0 +1,58 @@
+package graph.io;
+
+import graph.Graph;
+import graph.scc.SCCResult;
+import graph.scc.TarjanSCC;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryGraphLoaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRoundTrip() throws IOException {
+        Graph graph = new Graph(4, true, "node", new int[]{3, 1, 4, 1});
+        graph.addEdge(0, 1, 2);
+        graph.addEdge(1, 2, 5);
+        graph.addEdge(2, 1, 7);
+        graph.addEdge(2, 3, 1);
+
+        Path file = tempDir.resolve("graph.bin");
+        BinaryGraphWriter.write(graph, 2, file);
+        LoadedGraph loaded = BinaryGraphLoader.load(file);
+        Graph mapped = loaded.getGraph();
+
+        assertEquals(2, loaded.getSource());
+        assertTrue(mapped.isDirected());
+        assertEquals("node", mapped.getWeightModel());
+        assertArrayEquals(new int[]{3, 1, 4, 1}, mapped.getNodeDurations());
+        assertEquals(4, mapped.getEdgesCount());
+        for (int u = 0; u < 4; u++) {
+            assertEquals(graph.getEdges(u).toString(), mapped.getEdges(u).toString());
+        }
+
+        SCCResult sccResult = new TarjanSCC().findSCCs(mapped);
+        assertEquals(3, sccResult.getComponents().size());
+    }
+
+    @Test
+    void testAddEdgeOnMappedGraphCopiesOnWrite() throws IOException {
+        Graph graph = new Graph(3, true, "edge");
+        graph.addEdge(0, 1, 1);
+
+        Path file = tempDir.resolve("small.bin");
+        BinaryGraphWriter.write(graph, 0, file);
+        Graph mapped = BinaryGraphLoader.load(file).getGraph();
+        mapped.addEdge(1, 2, 4);
+
+        assertEquals(2, mapped.getEdgesCount());
+        assertEquals(1, BinaryGraphLoader.load(file).getGraph().getEdgesCount());
+    }
+}
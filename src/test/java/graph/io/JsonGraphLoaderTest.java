@@ -0,0 +1,60 @@
+package graph.io;
+
+import graph.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonGraphLoaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testKeysInAnyOrder() throws IOException {
+        Path file = tempDir.resolve("graph.json");
+        Files.writeString(file, "{\"edges\": [{\"w\": 4, \"v\": 2, \"u\": 0}, {\"u\": 2, \"v\": 1, \"w\": 3}],"
+                + " \"source\": 2, \"extra\": {\"ignored\": [1, 2]}, \"weight_model\": \"node\","
+                + " \"node_durations\": [5, 6, 7], \"n\": 3, \"directed\": true}");
+
+        LoadedGraph loaded = JsonGraphLoader.load(file.toString());
+        Graph graph = loaded.getGraph();
+
+        assertEquals(2, loaded.getSource());
+        assertEquals(3, graph.getNodeCount());
+        assertEquals(2, graph.getEdgesCount());
+        assertEquals("node", graph.getWeightModel());
+        assertEquals(7, graph.getNodeDuration(2));
+
+        List<Graph.Edge> edges = graph.getEdges(0);
+        assertEquals(1, edges.size());
+        assertEquals(2, edges.get(0).v);
+        assertEquals(4, edges.get(0).weight);
+    }
+
+    @Test
+    void testUndirectedGraphMatchesAddEdge() throws IOException {
+        Path file = tempDir.resolve("undirected.json");
+        Files.writeString(file, "{\"directed\": false, \"n\": 3, \"edges\": [{\"u\": 0, \"v\": 1, \"w\": 2}]}");
+
+        Graph graph = JsonGraphLoader.load(file.toString()).getGraph();
+
+        assertEquals(1, graph.getEdgesCount());
+        assertEquals(0, graph.getEdges(1).get(0).v);
+        assertEquals(0, JsonGraphLoader.load(file.toString()).getSource());
+    }
+
+    @Test
+    void testMissingNodeCountIsRejected() throws IOException {
+        Path file = tempDir.resolve("broken.json");
+        Files.writeString(file, "{\"directed\": true, \"edges\": []}");
+
+        assertThrows(IOException.class, () -> JsonGraphLoader.load(file.toString()));
+    }
+}
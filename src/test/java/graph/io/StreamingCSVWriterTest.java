@@ -0,0 +1,74 @@
+package graph.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingCSVWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testFieldsAndQuoting() throws IOException {
+        Path file = tempDir.resolve("rows.csv");
+        try (StreamingCSVWriter writer = new StreamingCSVWriter(file, "A,B,C", false)) {
+            writer.field(-42).field("plain").field(Arrays.asList(1, 2, 3));
+            writer.endRow();
+            writer.field(Long.MAX_VALUE).field("a,\"b\"").field(Arrays.asList());
+            writer.endRow();
+        }
+        assertEquals(Arrays.asList(
+                "A,B,C",
+                "-42,plain,\"[1, 2, 3]\"",
+                Long.MAX_VALUE + ",\"a,\"\"b\"\"\",\"[]\""), Files.readAllLines(file));
+    }
+
+    @Test
+    void testAppendWritesHeaderOnce() throws IOException {
+        Path file = tempDir.resolve("history.csv");
+        for (int run = 0; run < 3; run++) {
+            try (StreamingCSVWriter writer = new StreamingCSVWriter(file, "Run", true)) {
+                writer.field(run);
+                writer.endRow();
+            }
+        }
+        assertEquals(Arrays.asList("Run", "0", "1", "2"), Files.readAllLines(file));
+    }
+
+    @Test
+    void testGzipAppendAndLargeOutput() throws IOException {
+        Path file = tempDir.resolve("history.csv.gz");
+        int rows = 50_000; // several buffer flushes per run
+        for (int run = 0; run < 2; run++) {
+            try (StreamingCSVWriter writer = new StreamingCSVWriter(file, "Run,Row", true)) {
+                for (int i = 0; i < rows; i++) {
+                    writer.field(run).field(i);
+                    writer.endRow();
+                }
+            }
+        }
+
+        List<String> lines;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.US_ASCII))) {
+            lines = reader.lines().collect(Collectors.toList());
+        }
+        assertEquals(1 + 2 * rows, lines.size());
+        assertEquals("Run,Row", lines.get(0));
+        assertEquals("0,0", lines.get(1));
+        assertEquals("1,49999", lines.get(lines.size() - 1));
+    }
+}
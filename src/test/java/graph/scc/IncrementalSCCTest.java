@@ -0,0 +1,155 @@
+package graph.scc;
+
+import graph.Adjacency;
+import graph.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalSCCTest {
+
+    @Test
+    void testInsertionMergesCycle() {
+        IncrementalSCC scc = new IncrementalSCC(5, "edge");
+        scc.addEdge(0, 1, 4);
+        scc.addEdge(1, 2, 2);
+        scc.addEdge(2, 3, 7);
+        assertEquals(5, scc.getComponentCount());
+
+        scc.addEdge(3, 1, 1);
+        assertEquals(3, scc.getComponentCount());
+        assertTrue(scc.isStronglyConnected(1, 3));
+
+        SCCResult result = scc.toSCCResult();
+        assertEquals(List.of(List.of(0), List.of(1, 2, 3), List.of(4)), result.getComponents());
+        List<Graph.Edge> edges = result.getCondensationGraph().getEdges(0);
+        assertEquals(1, edges.size());
+        assertEquals(1, edges.get(0).v);
+        assertEquals(4, edges.get(0).weight);
+    }
+
+    @Test
+    void testDeletionSplitsComponent() {
+        Graph graph = new Graph(4, true, "edge");
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 0, 1);
+        graph.addEdge(2, 3, 1);
+        IncrementalSCC scc = IncrementalSCC.fromGraph(graph, WeightAggregation.MIN);
+        assertEquals(2, scc.getComponentCount());
+
+        scc.removeEdge(2, 0);
+        assertEquals(4, scc.getComponentCount());
+        assertTrue(scc.getOrderPosition(0) < scc.getOrderPosition(1));
+        assertTrue(scc.getOrderPosition(1) < scc.getOrderPosition(2));
+        assertTrue(scc.getOrderPosition(2) < scc.getOrderPosition(3));
+        assertThrows(IllegalArgumentException.class, () -> scc.removeEdge(2, 0));
+    }
+
+    @Test
+    void testRandomUpdatesMatchTarjan() {
+        Random random = new Random(5);
+        int n = 60;
+        IncrementalSCC scc = new IncrementalSCC(n, "edge", WeightAggregation.MIN);
+        List<int[]> edges = new ArrayList<>();
+
+        for (int round = 0; round < 40; round++) {
+            for (int i = 0; i < 6; i++) {
+                int u = random.nextInt(n);
+                int v = random.nextInt(n);
+                int w = 1 + random.nextInt(9);
+                scc.addEdge(u, v, w);
+                edges.add(new int[]{u, v, w});
+            }
+            if (round % 3 == 2) {
+                int[] sources = new int[4];
+                int[] targets = new int[4];
+                for (int i = 0; i < 4; i++) {
+                    int[] edge = edges.remove(random.nextInt(edges.size()));
+                    sources[i] = edge[0];
+                    targets[i] = edge[1];
+                }
+                scc.removeEdges(sources, targets);
+            }
+            assertMatchesTarjan(scc, n, edges);
+        }
+    }
+
+    @Test
+    void testSplittingLargeComponentKeepsOrder() {
+        // Large enough that splices have to re-spread the order instead of shifting a few slots
+        Random random = new Random(13);
+        int n = 1500;
+        Graph graph = new Graph(n, true, "edge");
+        List<int[]> edges = new ArrayList<>();
+        for (int i = 0; i < 3 * n; i++) {
+            int[] edge = randomEdge(random, n);
+            graph.addEdge(edge[0], edge[1], edge[2]);
+            edges.add(edge);
+        }
+        IncrementalSCC scc = IncrementalSCC.fromGraph(graph, WeightAggregation.MIN);
+
+        while (!edges.isEmpty()) {
+            int batch = Math.min(edges.size(), 150);
+            int[] sources = new int[batch];
+            int[] targets = new int[batch];
+            for (int i = 0; i < batch; i++) {
+                int[] edge = edges.remove(random.nextInt(edges.size()));
+                sources[i] = edge[0];
+                targets[i] = edge[1];
+            }
+            scc.removeEdges(sources, targets);
+            for (int i = 0; i < 20; i++) {
+                int[] edge = randomEdge(random, n);
+                if (edges.size() > 40) {
+                    scc.addEdge(edge[0], edge[1], edge[2]);
+                    edges.add(edge);
+                }
+            }
+            assertMatchesTarjan(scc, n, edges);
+        }
+        assertEquals(n, scc.getComponentCount());
+    }
+
+    // Parallel edges share one weight, so removing any copy of u -> v leaves the same graph
+    private static int[] randomEdge(Random random, int n) {
+        int u = random.nextInt(n);
+        int v = random.nextInt(n);
+        return new int[] {u, v, 1 + (u * 31 + v) % 9};
+    }
+
+    private static void assertMatchesTarjan(IncrementalSCC scc, int n, List<int[]> edges) {
+        Graph graph = new Graph(n, true, "edge");
+        for (int[] edge : edges) {
+            graph.addEdge(edge[0], edge[1], edge[2]);
+        }
+        SCCResult expected = new TarjanSCC(WeightAggregation.MIN).findSCCs(graph);
+        SCCResult actual = scc.toSCCResult();
+        assertEquals(expected.getComponents(), actual.getComponents());
+
+        Adjacency expectedDag = expected.getCondensationGraph().adjacency();
+        Adjacency actualDag = actual.getCondensationGraph().adjacency();
+        assertEquals(expectedDag.getEdgeCount(), actualDag.getEdgeCount());
+        for (int c = 0; c < expectedDag.getNodeCount(); c++) {
+            assertEquals(sortedEdges(expectedDag, c), sortedEdges(actualDag, c));
+            for (int e = actualDag.edgeStart(c), end = actualDag.edgeEnd(c); e < end; e++) {
+                int target = actual.getComponents().get(actualDag.target(e)).get(0);
+                int source = actual.getComponents().get(c).get(0);
+                assertTrue(scc.getOrderPosition(source) < scc.getOrderPosition(target));
+            }
+        }
+    }
+
+    private static List<Long> sortedEdges(Adjacency adjacency, int u) {
+        List<Long> edges = new ArrayList<>();
+        for (int e = adjacency.edgeStart(u), end = adjacency.edgeEnd(u); e < end; e++) {
+            edges.add(((long) adjacency.target(e) << 32) | adjacency.weight(e));
+        }
+        edges.sort(null);
+        return edges;
+    }
+}
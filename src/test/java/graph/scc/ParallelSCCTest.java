@@ -0,0 +1,47 @@
+package graph.scc;
+
+import graph.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelSCCTest {
+
+    @Test
+    void testMatchesTarjanOnRandomGraphs() {
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            int n = 50 + random.nextInt(400);
+            Graph graph = new Graph(n, true, "edge");
+            int edges = n + random.nextInt(2 * n);
+            for (int i = 0; i < edges; i++) {
+                graph.addEdge(random.nextInt(n), random.nextInt(n), 1 + random.nextInt(9));
+            }
+
+            SCCResult expected = new TarjanSCC().findSCCs(graph);
+            SCCResult actual = new ParallelSCC(4, 8).findSCCs(graph);
+
+            assertEquals(expected.getComponents(), actual.getComponents());
+            Graph expectedCondensation = expected.getCondensationGraph();
+            Graph actualCondensation = actual.getCondensationGraph();
+            for (int c = 0; c < expectedCondensation.getNodeCount(); c++) {
+                assertEquals(expectedCondensation.getEdges(c).toString(), actualCondensation.getEdges(c).toString());
+            }
+        }
+    }
+
+    @Test
+    void testSmallGraphFallsBackToTarjan() {
+        Graph graph = new Graph(3, true, "edge");
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 0, 1);
+        graph.addEdge(1, 2, 1);
+
+        SCCResult result = new ParallelSCC().findSCCs(graph);
+
+        assertEquals(2, result.getComponents().size());
+        assertEquals(2, result.getComponents().get(0).size());
+    }
+}
@@ -0,0 +1,62 @@
+package graph.scc;
+
+import graph.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SCCAlgorithmTest {
+
+    @Test
+    void testEnginesMatchTarjanOnRandomGraphs() {
+        Random random = new Random(22);
+        SCCAlgorithm[] engines = {new KosarajuSCC(), new GabowSCC(), new ParallelSCC(4, 8)};
+        for (int round = 0; round < 30; round++) {
+            int n = 1 + random.nextInt(300);
+            Graph graph = new Graph(n, true, "edge");
+            int edges = random.nextInt(3 * n);
+            for (int i = 0; i < edges; i++) {
+                graph.addEdge(random.nextInt(n), random.nextInt(n), 1 + random.nextInt(9));
+            }
+
+            SCCResult expected = new TarjanSCC().findSCCs(graph);
+            for (SCCAlgorithm engine : engines) {
+                SCCResult actual = engine.findSCCs(graph);
+                assertEquals(expected.getComponents(), actual.getComponents(), engine.getClass().getSimpleName());
+                for (int v = 0; v < n; v++) {
+                    assertEquals(expected.getComponentOf(v), actual.getComponentOf(v));
+                }
+                Graph expectedCondensation = expected.getCondensationGraph();
+                Graph actualCondensation = actual.getCondensationGraph();
+                for (int c = 0; c < expectedCondensation.getNodeCount(); c++) {
+                    assertEquals(expectedCondensation.getEdges(c).toString(),
+                            actualCondensation.getEdges(c).toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testLongChainDoesNotOverflowStack() {
+        int n = 200_000;
+        Graph graph = new Graph(n, true, "edge");
+        for (int i = 0; i + 1 < n; i++) {
+            graph.addEdge(i, i + 1, 1);
+        }
+        graph.addEdge(n - 1, 0, 1);
+
+        assertEquals(1, new KosarajuSCC().findSCCs(graph).getComponents().size());
+        assertEquals(1, new GabowSCC().findSCCs(graph).getComponents().size());
+    }
+
+    @Test
+    void testNamedEngines() {
+        assertTrue(SCCAlgorithm.named("Kosaraju") instanceof KosarajuSCC);
+        assertTrue(SCCAlgorithm.named("gabow") instanceof GabowSCC);
+        assertTrue(SCCAlgorithm.named("tarjan") instanceof TarjanSCC);
+        assertTrue(SCCAlgorithm.named("parallel") instanceof ParallelSCC);
+        assertThrows(IllegalArgumentException.class, () -> SCCAlgorithm.named("bogus"));
+    }
+}
@@ -52,4 +52,61 @@ class TarjanSCCTest {
 
         assertEquals(4, components.size()); // Each node is its own component
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDeepChainDoesNotOverflow() {
+        int n = 300_000;
+        Graph graph = new Graph(n, true, "edge");
+        for (int i = 0; i + 1 < n; i++) {
+            graph.addEdge(i, i + 1, 1);
+        }
+        graph.addEdge(n - 1, 0, 1); // Closes one huge cycle
+
+        TarjanSCC tarjan = new TarjanSCC();
+        SCCResult result = tarjan.findSCCs(graph);
+
+        assertEquals(1, result.getComponents().size());
+        assertEquals(n, result.getComponents().get(0).size());
+        assertEquals(0, result.getCondensationGraph().getEdgesCount());
+    }
+
+    @Test
+    void testCondensationWeightAggregation() {
+        Graph graph = new Graph(4, true, "edge");
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 0, 1); // {0, 1} is one component
+        graph.addEdge(0, 2, 5);
+        graph.addEdge(1, 2, 3);
+        graph.addEdge(1, 2, 9);
+        graph.addEdge(2, 3, 4);
+
+        assertEquals(5, condensationWeight(graph, WeightAggregation.FIRST));
+        assertEquals(3, condensationWeight(graph, WeightAggregation.MIN));
+        assertEquals(9, condensationWeight(graph, WeightAggregation.MAX));
+        assertEquals(17, condensationWeight(graph, WeightAggregation.SUM));
+
+        SCCResult result = new TarjanSCC().findSCCs(graph);
+        assertEquals(0, result.getComponentOf(1));
+        assertEquals(2, result.getComponentOf(3));
+        assertEquals(2, result.getCondensationGraph().getEdgesCount());
+    }
+
+    @Test
+    void testCondensationSumsNodeDurations() {
+        Graph graph = new Graph(3, true, "node", new int[]{4, 6, 1});
+        graph.addEdge(0, 1, 0);
+        graph.addEdge(1, 0, 0);
+        graph.addEdge(1, 2, 0);
+
+        Graph condensation = new TarjanSCC().findSCCs(graph).getCondensationGraph();
+        assertArrayEquals(new int[]{10, 1}, condensation.getNodeDurations());
+        assertEquals("node", condensation.getWeightModel());
+    }
+
+    private int condensationWeight(Graph graph, WeightAggregation aggregation) {
+        Graph condensation = new TarjanSCC(aggregation).findSCCs(graph).getCondensationGraph();
+        List<Graph.Edge> edges = condensation.getEdges(0);
+        assertEquals(1, edges.size());
+        return edges.get(0).weight;
+    }
+}
@@ -0,0 +1,89 @@
+package graph.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graph.Graph;
+import graph.util.DatasetGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalysisServerTest {
+
+    @TempDir
+    Path directory;
+
+    private AnalysisServer server;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @BeforeEach
+    void startServer() throws Exception {
+        // 0 -> 1 <-> 2 -> 3, weights 2, 1, 1, 5
+        Graph graph = new Graph(4, true, "edge");
+        graph.addEdge(0, 1, 2);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 1, 1);
+        graph.addEdge(2, 3, 5);
+        DatasetGenerator.writeJson(graph, 0, directory.resolve("tasks.json").toFile());
+
+        server = new AnalysisServer(0, 2, new GraphCache(1 << 20), directory);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    void testQueries() throws Exception {
+        JsonNode shortest = get("/shortest?file=tasks.json&target=3", 200);
+        assertTrue(shortest.get("reachable").asBoolean());
+        assertEquals(7, shortest.get("distance").asInt());
+        assertEquals(3, shortest.get("componentPath").size());
+
+        JsonNode longest = get("/longest?file=tasks.json&source=3", 200);
+        assertTrue(longest.get("distances").get(0).isNull());
+
+        JsonNode critical = get("/critical?file=tasks.json", 200);
+        assertEquals(7, critical.get("length").asInt());
+
+        JsonNode scc = get("/scc?file=tasks.json&node=2", 200);
+        assertEquals(3, scc.get("componentCount").asInt());
+        assertEquals(2, scc.get("members").size());
+
+        JsonNode stats = get("/stats", 200);
+        assertEquals(1, stats.get("entries").asInt());
+        assertEquals(1, stats.get("misses").asInt());
+    }
+
+    @Test
+    void testErrors() throws Exception {
+        assertTrue(get("/scc?file=tasks.json", 400).has("error"));
+        assertTrue(get("/scc?file=tasks.json&node=9", 400).has("error"));
+        assertTrue(get("/critical?file=missing.json", 404).has("error"));
+        assertTrue(get("/critical?file=../outside.json", 403).has("error"));
+    }
+
+    private JsonNode get(String pathAndQuery, int expectedStatus) throws IOException {
+        URL url = new URL("http://127.0.0.1:" + server.getPort() + pathAndQuery);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            assertEquals(expectedStatus, connection.getResponseCode());
+            try (InputStream in = expectedStatus == 200 ? connection.getInputStream() : connection.getErrorStream()) {
+                return mapper.readTree(in);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
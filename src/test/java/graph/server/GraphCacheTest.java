@@ -0,0 +1,60 @@
+package graph.server;
+
+import graph.util.DatasetGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testModifiedFileIsReloaded() throws Exception {
+        Path file = directory.resolve("chain.json");
+        DatasetGenerator.writeJson(DatasetGenerator.chain(10, 1), 0, file.toFile());
+        GraphCache cache = new GraphCache(1 << 20);
+
+        AnalyzedGraph first = cache.get(file);
+        assertSame(first, cache.get(file));
+        assertEquals(1, cache.getHits());
+
+        DatasetGenerator.writeJson(DatasetGenerator.chain(12, 1), 0, file.toFile());
+        Files.setLastModifiedTime(file, FileTime.fromMillis(first.getModifiedMillis() + 5000));
+        AnalyzedGraph second = cache.get(file);
+        assertNotSame(first, second);
+        assertEquals(12, second.getGraph().getNodeCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() throws Exception {
+        Path a = directory.resolve("a.json");
+        Path b = directory.resolve("b.json");
+        Path c = directory.resolve("c.json");
+        for (Path file : new Path[]{a, b, c}) {
+            DatasetGenerator.writeJson(DatasetGenerator.chain(100, 1), 0, file.toFile());
+        }
+        long entryBytes = AnalyzedGraph.load(a, 0).estimateBytes();
+        GraphCache cache = new GraphCache(entryBytes * 2);
+
+        cache.get(a);
+        cache.get(b);
+        cache.get(a); // b is now the least recently used
+        cache.get(c);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        long misses = cache.getMisses();
+        cache.get(a);
+        assertEquals(misses, cache.getMisses());
+        cache.get(b);
+        assertEquals(misses + 1, cache.getMisses());
+    }
+}
@@ -0,0 +1,71 @@
+package graph.topo;
+
+import graph.Adjacency;
+import graph.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DynamicTopologicalOrderTest {
+
+    @Test
+    void testBackwardEdgeReordersAffectedRegion() {
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(5);
+        order.addEdge(3, 1, 1);
+
+        assertTrue(order.getPosition(3) < order.getPosition(1));
+        // Nodes outside positions 1 .. 3 are not moved
+        assertEquals(0, order.getPosition(0));
+        assertEquals(4, order.getPosition(4));
+        assertArrayEquals(new int[]{0, 3, 2, 1, 4}, order.toTopoResult().getOrder());
+    }
+
+    @Test
+    void testCycleIsRejectedAndReported() {
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(4);
+        order.addEdge(0, 1, 1);
+        order.addEdge(1, 2, 1);
+        order.addEdge(2, 3, 1);
+        int[] before = order.toTopoResult().getOrder();
+
+        CycleDetectedException e = assertThrows(CycleDetectedException.class, () -> order.addEdge(3, 1, 1));
+        assertEquals(List.of(1, 2, 3), e.getCycle());
+        assertArrayEquals(before, order.toTopoResult().getOrder());
+        assertEquals(3, order.getEdgeCount());
+
+        assertThrows(CycleDetectedException.class, () -> order.addEdge(2, 2, 1));
+    }
+
+    @Test
+    void testRandomInsertionsKeepValidOrder() {
+        Random random = new Random(11);
+        int n = 300;
+        DynamicTopologicalOrder order = DynamicTopologicalOrder.fromGraph(new Graph(n, true, "edge"));
+        int rejected = 0;
+        for (int i = 0; i < 3000; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            try {
+                order.addEdge(u, v, 1);
+            } catch (CycleDetectedException e) {
+                rejected++;
+                List<Integer> cycle = e.getCycle();
+                assertEquals(v, cycle.get(0));
+                assertEquals(u, cycle.get(cycle.size() - 1));
+            }
+        }
+        assertTrue(rejected > 0);
+
+        Graph graph = order.toGraph("edge");
+        Adjacency adjacency = graph.adjacency();
+        for (int u = 0; u < n; u++) {
+            for (int e = adjacency.edgeStart(u), end = adjacency.edgeEnd(u); e < end; e++) {
+                assertTrue(order.getPosition(u) < order.getPosition(adjacency.target(e)));
+            }
+        }
+        assertFalse(new TopologicalSort().kahnAlgorithm(graph).hasCycle());
+    }
+}
@@ -0,0 +1,69 @@
+package graph.topo;
+
+import graph.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelTopologicalSortTest {
+
+    @Test
+    void testLevelsOfSmallDag() {
+        Graph graph = new Graph(6, true, "edge");
+        graph.addEdge(5, 2, 1);
+        graph.addEdge(5, 0, 1);
+        graph.addEdge(4, 0, 1);
+        graph.addEdge(4, 1, 1);
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(3, 1, 1);
+
+        TopoResult result = new ParallelTopologicalSort(2, 1).wavefront(graph);
+
+        assertFalse(result.hasCycle());
+        assertEquals(4, result.getLevelCount());
+        assertArrayEquals(new int[]{4, 5, 0, 2, 3, 1}, result.getOrder());
+        assertArrayEquals(new int[]{0, 2, 4, 5, 6}, result.getLevelOffsets());
+    }
+
+    @Test
+    void testWideRandomDagRespectsEdgesAndLevels() {
+        Random random = new Random(3);
+        int n = 5000;
+        Graph graph = new Graph(n, true, "edge");
+        for (int i = 0; i < 20000; i++) {
+            int u = random.nextInt(n - 1);
+            graph.addEdge(u, u + 1 + random.nextInt(n - u - 1), 1);
+        }
+
+        TopoResult result = new ParallelTopologicalSort(4, 16).wavefront(graph);
+        assertFalse(result.hasCycle());
+
+        int[] level = new int[n];
+        for (int l = 0; l < result.getLevelCount(); l++) {
+            for (int i = result.getLevelStart(l); i < result.getLevelEnd(l); i++) {
+                level[result.getNodeAt(i)] = l;
+            }
+        }
+        for (int u = 0; u < n; u++) {
+            for (Graph.Edge edge : graph.getEdges(u)) {
+                assertTrue(level[edge.u] < level[edge.v]);
+            }
+        }
+    }
+
+    @Test
+    void testCycleIsReported() {
+        Graph graph = new Graph(4, true, "edge");
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 1, 1);
+        graph.addEdge(2, 3, 1);
+
+        TopoResult result = new ParallelTopologicalSort().wavefront(graph);
+
+        assertTrue(result.hasCycle());
+        assertEquals(1, result.getOrderSize());
+    }
+}
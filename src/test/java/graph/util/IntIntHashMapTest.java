@@ -0,0 +1,51 @@
+package graph.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntIntHashMapTest {
+
+    @Test
+    void testMatchesHashMapUnderRandomUpdates() {
+        Random random = new Random(13);
+        IntIntHashMap map = new IntIntHashMap();
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            // Small key range so probe runs collide and removals shift entries back
+            int key = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? -1 : removed, map.remove(key, -1));
+            } else {
+                expected.put(key, i);
+                map.put(key, i);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key = 0; key < 500; key++) {
+            assertEquals(expected.getOrDefault(key, -1), map.get(key, -1));
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+        }
+        int seen = 0;
+        for (int s = 0; s < map.slotCount(); s++) {
+            if (map.keyAt(s) >= 0) {
+                assertEquals(expected.get(map.keyAt(s)), map.valueAt(s));
+                seen++;
+            }
+        }
+        assertEquals(expected.size(), seen);
+    }
+
+    @Test
+    void testRejectsNegativeKeys() {
+        IntIntHashMap map = new IntIntHashMap();
+        assertThrows(IllegalArgumentException.class, () -> map.put(-1, 0));
+        assertFalse(map.containsKey(-1));
+        assertEquals(7, map.get(-1, 7));
+    }
+}
@@ -0,0 +1,81 @@
+package graph.util;
+
+import graph.Adjacency;
+import graph.Graph;
+import graph.io.BinaryGraphLoader;
+import graph.io.JsonGraphLoader;
+import graph.scc.TarjanSCC;
+import graph.topo.TopologicalSort;
+import graph.util.StreamingGraphGenerator.Shape;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingGraphGeneratorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testOutputDoesNotDependOnThreadCount() {
+        int n = 3 * StreamingGraphGenerator.BLOCK_NODES + 17;
+        Graph sequential = new StreamingGraphGenerator(Shape.UNIFORM, n, 3, 1, 7, 1).toGraph();
+        Graph parallel = new StreamingGraphGenerator(Shape.UNIFORM, n, 3, 1, 7, 4).toGraph();
+        assertSameEdges(sequential.adjacency(), parallel.adjacency());
+
+        // Out-edges are deduplicated and free of self-loops
+        Adjacency adjacency = sequential.adjacency();
+        for (int u = 0; u < n; u++) {
+            for (int e = adjacency.edgeStart(u) + 1; e < adjacency.edgeEnd(u); e++) {
+                assertTrue(adjacency.target(e - 1) < adjacency.target(e));
+            }
+            for (int e = adjacency.edgeStart(u); e < adjacency.edgeEnd(u); e++) {
+                assertNotEquals(u, adjacency.target(e));
+            }
+        }
+    }
+
+    @Test
+    void testJsonAndBinarySinksMatchInMemoryGraph() throws Exception {
+        StreamingGraphGenerator generator =
+                new StreamingGraphGenerator(Shape.POWER_LAW, StreamingGraphGenerator.BLOCK_NODES + 500, 4, 1, 3, 2);
+        Graph expected = generator.toGraph();
+
+        Path json = directory.resolve("power.json");
+        generator.writeJson(json);
+        assertSameEdges(expected.adjacency(), JsonGraphLoader.load(json.toString()).getGraph().adjacency());
+
+        Path bin = directory.resolve("power.bin");
+        generator.writeBinary(bin);
+        assertSameEdges(expected.adjacency(), BinaryGraphLoader.load(bin.toString()).getGraph().adjacency());
+
+        assertFalse(new TopologicalSort().kahnAlgorithm(expected).hasCycle());
+    }
+
+    @Test
+    void testShapes() {
+        Graph giant = new StreamingGraphGenerator(Shape.GIANT_SCC, 1000, 4, 3, 11).toGraph();
+        assertEquals(3, new TarjanSCC().findSCCs(giant).getComponents().size());
+
+        Graph chain = new StreamingGraphGenerator(Shape.CHAIN, 50, 1, 1, 1).toGraph();
+        assertEquals(49, chain.getEdgesCount());
+
+        Graph layered = new StreamingGraphGenerator(Shape.LAYERED, 100, 3, 10, 5).toGraph();
+        assertEquals(100, new TarjanSCC().findSCCs(layered).getComponents().size());
+    }
+
+    private static void assertSameEdges(Adjacency expected, Adjacency actual) {
+        assertEquals(expected.getNodeCount(), actual.getNodeCount());
+        assertEquals(expected.getEdgeCount(), actual.getEdgeCount());
+        for (int u = 0; u < expected.getNodeCount(); u++) {
+            assertEquals(expected.edgeStart(u), actual.edgeStart(u));
+        }
+        for (int e = 0; e < expected.getEdgeCount(); e++) {
+            assertEquals(expected.target(e), actual.target(e));
+            assertEquals(expected.weight(e), actual.weight(e));
+        }
+    }
+}